@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.util.Locale;
+
+/**
+ * How associations and communication paths are created, trading fidelity to
+ * <tt>Type::createAssociation</tt> for objects and bytes per edge.
+ */
+enum AssociationMode {
+
+	/**
+	 * Through <tt>Type::createAssociation</tt>: ends owned by the associated
+	 * classifiers, with a lower and an upper value each (four literals).
+	 */
+	FULL,
+
+	/**
+	 * Both ends owned and navigable by the association itself, with only the
+	 * lower value literal: the default upper bound is already <tt>1</tt>, so
+	 * the ends keep their <tt>[0..1]</tt> multiplicity with two literals.
+	 */
+	LITE,
+
+	/**
+	 * Like {@link #LITE}, but without any literals, so the ends take the UML
+	 * default multiplicity <tt>[1..1]</tt>.
+	 */
+	BARE;
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if <tt>name</tt> is not one of the modes
+	 */
+	static AssociationMode parse(String name) {
+		try {
+			return valueOf(name.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException iae) {
+			throw new IllegalArgumentException(
+				"Association mode must be full, lite or bare: " + name);
+		}
+	}
+
+	/** Whether the ends get a lower value literal. */
+	boolean hasLowerValue() {
+		return this != BARE;
+	}
+
+	/** Whether the ends get an upper value literal. */
+	boolean hasUpperValue() {
+		return this == FULL;
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Reachability analysis from the elements annotated as exposed to the elements
+ * annotated as assets. A single multi-source, level-synchronous BFS over the
+ * CSR adjacency of the dependency, association and communication-path
+ * relationships gives every reachable asset its shortest path from the
+ * nearest exposed element; the paths are then ranked by risk, that is the
+ * asset value divided by the number of hops an attacker has to make.
+ */
+class AttackPathAnalysis {
+
+	/** Dependencies are followed from client to supplier only. */
+	static final int TRAVERSED_KINDS = (1 << ModelGraph.DEPENDENCY)
+		| (1 << ModelGraph.ASSOCIATION) | (1 << ModelGraph.COMMUNICATION_PATH);
+
+	static final int UNDIRECTED_KINDS = (1 << ModelGraph.ASSOCIATION)
+		| (1 << ModelGraph.COMMUNICATION_PATH);
+
+	/** Frontiers smaller than this are expanded on the calling thread. */
+	private static final int PARALLEL_THRESHOLD = 4096;
+
+	private static final int UNVISITED = -1;
+
+	/**
+	 * The shortest path from an exposed element to an asset.
+	 */
+	static class AttackPath {
+
+		final int asset;
+
+		final int value;
+
+		final int[] path;
+
+		final byte[] kinds;
+
+		AttackPath(int asset, int value, int[] path, byte[] kinds) {
+			this.asset = asset;
+			this.value = value;
+			this.path = path;
+			this.kinds = kinds;
+		}
+
+		int getHops() {
+			return path.length - 1;
+		}
+
+		double getRisk() {
+			return (double) value / Math.max(1, getHops());
+		}
+	}
+
+	private final ModelGraph.Csr csr;
+
+	private final int threads;
+
+	private final AtomicIntegerArray parents;
+
+	private final byte[] parentKinds;
+
+	AttackPathAnalysis(ModelGraph.Csr csr, int threads) {
+		this.csr = csr;
+		this.threads = Math.max(1, threads);
+		this.parents = new AtomicIntegerArray(csr.size());
+		this.parentKinds = new byte[csr.size()];
+	}
+
+	/**
+	 * Computes the shortest attack path to every reachable asset of the
+	 * <tt>graph</tt>, ranked from highest to lowest risk.
+	 */
+	static List<AttackPath> analyze(ModelGraph graph, int threads)
+			throws IOException, InterruptedException {
+
+		ModelGraph.Csr csr = graph.toCsr(TRAVERSED_KINDS, UNDIRECTED_KINDS);
+		AttackPathAnalysis analysis = new AttackPathAnalysis(csr, threads);
+
+		int[] exposed = collect(graph, ModelGraph.EXPOSED);
+		analysis.search(exposed);
+
+		List<AttackPath> result = new ArrayList<AttackPath>();
+		for (int asset : collect(graph, ModelGraph.ASSET)) {
+			if (analysis.parents.get(asset) != UNVISITED) {
+				result.add(analysis.pathTo(asset, graph.getAssetValue(asset)));
+			}
+		}
+
+		Collections.sort(result, new Comparator<AttackPath>() {
+
+			public int compare(AttackPath p1, AttackPath p2) {
+				int byRisk = Double.compare(p2.getRisk(), p1.getRisk());
+				return (byRisk != 0)
+					? byRisk
+					: p1.getHops() - p2.getHops();
+			}
+		});
+
+		return result;
+	}
+
+	private static int[] collect(ModelGraph graph, byte annotation) {
+		int[] result = new int[graph.size()];
+		int count = 0;
+		for (int i = 0; i < graph.size(); i++) {
+			if (graph.getAnnotation(i) == annotation) {
+				result[count++] = i;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Runs the BFS from all of the <tt>sources</tt> at once. A source is its
+	 * own parent, so that the paths can be walked back to it.
+	 */
+	void search(int[] sources)
+			throws InterruptedException {
+
+		for (int i = 0; i < csr.size(); i++) {
+			parents.set(i, UNVISITED);
+		}
+		for (int source : sources) {
+			parents.set(source, source);
+		}
+
+		ExecutorService executor = (threads > 1)
+			? Executors.newFixedThreadPool(threads,
+				GenerationMetrics.workerFactory())
+			: null;
+
+		try {
+			int[] frontier = sources;
+			while (frontier.length > 0) {
+				frontier = (executor == null
+					|| frontier.length < PARALLEL_THRESHOLD)
+						? expand(frontier, 0, frontier.length)
+						: expandInParallel(executor, frontier);
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private int[] expandInParallel(ExecutorService executor,
+			final int[] frontier)
+			throws InterruptedException {
+
+		int chunk = (frontier.length + threads - 1) / threads;
+		List<Callable<int[]>> tasks = new ArrayList<Callable<int[]>>(threads);
+
+		for (int start = 0; start < frontier.length; start += chunk) {
+			final int from = start;
+			final int to = Math.min(frontier.length, start + chunk);
+			tasks.add(new Callable<int[]>() {
+
+				public int[] call() {
+					return expand(frontier, from, to);
+				}
+			});
+		}
+
+		List<int[]> parts = new ArrayList<int[]>(tasks.size());
+		int total = 0;
+		for (Future<int[]> future : executor.invokeAll(tasks)) {
+			try {
+				int[] part = future.get();
+				parts.add(part);
+				total += part.length;
+			} catch (ExecutionException ee) {
+				throw new IllegalStateException(ee.getCause());
+			}
+		}
+
+		int[] next = new int[total];
+		int length = 0;
+		for (int[] part : parts) {
+			System.arraycopy(part, 0, next, length, part.length);
+			length += part.length;
+		}
+		return next;
+	}
+
+	/**
+	 * Visits the neighbours of <tt>frontier[from..to)</tt>. A vertex is
+	 * claimed by whichever thread first sets its parent, so every vertex
+	 * appears in exactly one next frontier.
+	 */
+	private int[] expand(int[] frontier, int from, int to) {
+		int[] next = new int[16];
+		int length = 0;
+
+		for (int i = from; i < to; i++) {
+			int u = frontier[i];
+			for (int e = csr.offsets[u]; e < csr.offsets[u + 1]; e++) {
+				int v = csr.adjacency[e];
+				if (parents.get(v) == UNVISITED
+					&& parents.compareAndSet(v, UNVISITED, u)) {
+
+					parentKinds[v] = csr.kinds[e];
+					if (length == next.length) {
+						next = Arrays.copyOf(next, 2 * length);
+					}
+					next[length++] = v;
+				}
+			}
+		}
+
+		return Arrays.copyOf(next, length);
+	}
+
+	private AttackPath pathTo(int asset, int value) {
+		int hops = 0;
+		for (int v = asset; parents.get(v) != v; v = parents.get(v)) {
+			hops++;
+		}
+
+		int[] path = new int[hops + 1];
+		byte[] kinds = new byte[hops];
+		int v = asset;
+		for (int i = hops; i > 0; i--) {
+			path[i] = v;
+			kinds[i - 1] = parentKinds[v];
+			v = parents.get(v);
+		}
+		path[0] = v;
+
+		return new AttackPath(asset, value, path, kinds);
+	}
+
+	/**
+	 * Prints the <tt>limit</tt> highest-risk paths.
+	 */
+	static void report(ModelGraph graph, List<AttackPath> paths, int limit) {
+		System.out.printf("%d asset(s) reachable from exposed elements.%n",
+			paths.size());
+
+		for (int i = 0; i < Math.min(limit, paths.size()); i++) {
+			AttackPath path = paths.get(i);
+			StringBuilder route = new StringBuilder(
+				graph.getLabel(path.path[0]));
+			for (int j = 1; j < path.path.length; j++) {
+				route.append(" -").append(ModelGraph.KIND_NAMES[path.kinds[j - 1]])
+					.append("-> ").append(graph.getLabel(path.path[j]));
+			}
+
+			System.out.printf("risk %.2f (value %d, %d hop(s)): %s%n",
+				path.getRisk(), path.value, path.getHops(), route);
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+/**
+ * The state of an off-heap generation from which it can be resumed: the key
+ * of the options that it was generated with, the {@link ElementTable}, the number of connection rounds completed, the number
+ * of edges in the {@link EdgeStore} at that point and the state of the random
+ * number generator. The edges themselves are not copied; the store is flushed
+ * before the checkpoint is written, and any edges appended after it are
+ * overwritten on resume.
+ * <p>
+ * A checkpoint is written to a temporary file that then replaces the previous
+ * one, so that a crash while writing leaves the previous checkpoint intact.
+ * </p>
+ */
+class Checkpoint {
+
+	static final int MAGIC = 0x554D4C43; // "UMLC"
+
+	static final int VERSION = 2;
+
+	/**
+	 * The {@link ModelCache#key(GeneratorOptions, int, boolean) key} of the
+	 * options that change the model.
+	 */
+	final String options;
+
+	/** The number of elements and of edges requested. */
+	final int nodes;
+
+	final int edges;
+
+	/** The number of completed rounds of <tt>createConnections</tt>. */
+	final int round;
+
+	final long edgeCount;
+
+	final ElementTable table;
+
+	final Random random;
+
+	private Checkpoint(String options, int nodes, int edges, int round,
+			long edgeCount, ElementTable table, Random random) {
+		this.options = options;
+		this.nodes = nodes;
+		this.edges = edges;
+		this.round = round;
+		this.edgeCount = edgeCount;
+		this.table = table;
+		this.random = random;
+	}
+
+	/**
+	 * Flushes the <tt>store</tt> and records the generation of <tt>edges</tt>
+	 * edges with the options of key <tt>options</tt> as having completed
+	 * <tt>round</tt> rounds.
+	 */
+	static void write(File file, String options, ElementTable table,
+			EdgeStore store, Random random, int edges, int round)
+			throws IOException {
+
+		store.flush();
+
+		File temp = new File(file.getPath() + ".tmp");
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+			new FileOutputStream(temp), 1 << 16));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(options);
+			out.writeInt(table.size());
+			out.writeInt(edges);
+			out.writeInt(round);
+			out.writeLong(store.size());
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			ObjectOutputStream objects = new ObjectOutputStream(bytes);
+			objects.writeObject(random);
+			objects.close();
+			out.writeInt(bytes.size());
+			bytes.writeTo(out);
+
+			table.write(out);
+		} finally {
+			out.close();
+		}
+
+		if (!temp.renameTo(file)) {
+			// some platforms will not rename onto an existing file
+			if (!file.delete() || !temp.renameTo(file)) {
+				throw new IOException("Cannot replace " + file);
+			}
+		}
+	}
+
+	static Checkpoint read(File file)
+			throws IOException {
+
+		DataInputStream in = new DataInputStream(new BufferedInputStream(
+			new FileInputStream(file), 1 << 16));
+		try {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a checkpoint: " + file);
+			}
+			String options = in.readUTF();
+			int nodes = in.readInt();
+			int edges = in.readInt();
+			int round = in.readInt();
+			long edgeCount = in.readLong();
+
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			Random random;
+			try {
+				random = (Random) new ObjectInputStream(
+					new ByteArrayInputStream(bytes)).readObject();
+			} catch (ClassNotFoundException cnfe) {
+				throw new IOException("Not a checkpoint: " + file);
+			}
+
+			ElementTable table = ElementTable.read(in);
+			return new Checkpoint(options, nodes, edges, round, edgeCount, table,
+				random);
+		} finally {
+			in.close();
+		}
+	}
+}
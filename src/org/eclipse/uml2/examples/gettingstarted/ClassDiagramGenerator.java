@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.uml2.uml.Enumeration;
+import org.eclipse.uml2.uml.EnumerationLiteral;
+import org.eclipse.uml2.uml.PrimitiveType;
+import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.Type;
+import org.eclipse.uml2.uml.UMLFactory;
+import org.eclipse.uml2.uml.UMLPackage;
+import org.eclipse.uml2.uml.resource.UMLResource;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+
+/**
+ * Generates the classes of a class diagram, with typed attributes, and the
+ * enumerations that some of them are typed by. The other attributes are typed
+ * by the primitive types of the standard UML library, which is loaded once
+ * for all generations and referred to rather than copied, so that a model
+ * saves them as <tt>href</tt>s to
+ * <tt>pathmap://UML_LIBRARIES/UMLPrimitiveTypes.library.uml</tt> instead of
+ * owning primitive types of its own.
+ * <p>
+ * The elements of a kind are created detached and added to their container
+ * in one batch, and the attributes of a class in one batch, without
+ * multiplicity literals, so that each class costs one object per attribute.
+ * The library is only read once it is loaded, and may be shared by
+ * generations that run at once.
+ * </p>
+ */
+class ClassDiagramGenerator {
+
+	/** The attributes typed by each enumeration, one in so many. */
+	private static final int ENUMERATION_TYPED = 4;
+
+	private static List<PrimitiveType> primitiveTypes;
+
+	private static org.eclipse.uml2.uml.Package library;
+
+	private final List<org.eclipse.uml2.uml.Package> containers;
+
+	private final NamingScheme naming;
+
+	private final GenerationMetrics metrics;
+
+	private final List<org.eclipse.uml2.uml.Class> classes = new ArrayList<org.eclipse.uml2.uml.Class>();
+
+	private final List<Enumeration> enumerations = new ArrayList<Enumeration>();
+
+	private int attributeCount;
+
+	private int literalCount;
+
+	/**
+	 * A generator of the elements of a class diagram into
+	 * <tt>containers</tt>, in contiguous ranges.
+	 */
+	ClassDiagramGenerator(List<org.eclipse.uml2.uml.Package> containers,
+			NamingScheme naming, GenerationMetrics metrics) {
+		this.containers = containers;
+		this.naming = naming;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * The primitive types of the standard UML library, loaded on first use.
+	 */
+	static synchronized List<PrimitiveType> getPrimitiveTypes() {
+		if (primitiveTypes == null) {
+			ResourceSet resourceSet = new ResourceSetImpl();
+			UMLResourcesUtil.init(resourceSet);
+			Resource resource = resourceSet.getResource(
+				URI.createURI(UMLResource.UML_PRIMITIVE_TYPES_LIBRARY_URI), true);
+			library = (org.eclipse.uml2.uml.Package) EcoreUtil.getObjectByType(
+				resource.getContents(), UMLPackage.Literals.PACKAGE);
+
+			List<PrimitiveType> types = new ArrayList<PrimitiveType>();
+			for (Type type : library.getOwnedTypes()) {
+				if (type instanceof PrimitiveType) {
+					types.add((PrimitiveType) type);
+				}
+			}
+			primitiveTypes = types;
+		}
+		return primitiveTypes;
+	}
+
+	/**
+	 * Imports the primitive type library into <tt>package_</tt>, so that
+	 * tools show its types by their names.
+	 */
+	static void importLibrary(org.eclipse.uml2.uml.Package package_) {
+		getPrimitiveTypes();
+		package_.createPackageImport(library);
+	}
+
+	/**
+	 * Creates <tt>enumerationCount</tt> enumerations with
+	 * <tt>literalsPerEnumeration</tt> literals each, then
+	 * <tt>classCount</tt> classes with <tt>attributesPerClass</tt>
+	 * attributes each, every fourth typed by an enumeration if there are any
+	 * and the others by the primitive types in turn.
+	 */
+	void generate(int classCount, int attributesPerClass, int enumerationCount,
+			int literalsPerEnumeration) {
+
+		List<PrimitiveType> types = getPrimitiveTypes();
+		UMLFactory factory = UMLFactory.eINSTANCE;
+
+		for (int container = 0; container < containers.size(); container++) {
+			int first = firstOf(container, enumerationCount);
+			int last = firstOf(container + 1, enumerationCount);
+			List<Enumeration> batch = new ArrayList<Enumeration>(last - first);
+			for (int i = first; i < last; i++) {
+				Enumeration enumeration = factory.createEnumeration();
+				enumeration.setName(naming.getName("enumeration", "en", i));
+				List<EnumerationLiteral> literals = new ArrayList<EnumerationLiteral>(
+					literalsPerEnumeration);
+				for (int j = 0; j < literalsPerEnumeration; j++) {
+					EnumerationLiteral literal = factory.createEnumerationLiteral();
+					literal.setName(naming.getName("literal", "lt", j));
+					literals.add(literal);
+				}
+				enumeration.getOwnedLiterals().addAll(literals);
+				literalCount += literalsPerEnumeration;
+				batch.add(enumeration);
+			}
+			containers.get(container).getPackagedElements().addAll(batch);
+			enumerations.addAll(batch);
+			metrics.step(last - first);
+		}
+
+		List<Property> attributes = new ArrayList<Property>(attributesPerClass);
+		for (int container = 0; container < containers.size(); container++) {
+			int first = firstOf(container, classCount);
+			int last = firstOf(container + 1, classCount);
+			List<org.eclipse.uml2.uml.Class> batch = new ArrayList<org.eclipse.uml2.uml.Class>(
+				last - first);
+			for (int i = first; i < last; i++) {
+				org.eclipse.uml2.uml.Class class_ = factory.createClass();
+				class_.setName(naming.getName("class", "cl", i));
+				attributes.clear();
+				for (int j = 0; j < attributesPerClass; j++) {
+					Property attribute = factory.createProperty();
+					attribute.setName(naming.getName("attribute", "at", j));
+					int n = attributeCount + j;
+					attribute.setType((!enumerations.isEmpty() && n
+						% ENUMERATION_TYPED == ENUMERATION_TYPED - 1)
+						? enumerations.get((n / ENUMERATION_TYPED)
+							% enumerations.size())
+						: types.get(n % types.size()));
+					attributes.add(attribute);
+				}
+				class_.getOwnedAttributes().addAll(attributes);
+				attributeCount += attributesPerClass;
+				batch.add(class_);
+			}
+			containers.get(container).getPackagedElements().addAll(batch);
+			classes.addAll(batch);
+			metrics.step(last - first);
+		}
+	}
+
+	/** The first of <tt>total</tt> elements that goes into a container. */
+	private int firstOf(int container, int total) {
+		return (int) ((long) container * total / containers.size());
+	}
+
+	List<org.eclipse.uml2.uml.Class> getClasses() {
+		return classes;
+	}
+
+	List<Enumeration> getEnumerations() {
+		return enumerations;
+	}
+
+	int getAttributeCount() {
+		return attributeCount;
+	}
+
+	int getLiteralCount() {
+		return literalCount;
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.eclipse.uml2.uml.Artifact;
+import org.eclipse.uml2.uml.Deployment;
+import org.eclipse.uml2.uml.Node;
+
+/**
+ * Deploys artifacts onto execution environments and devices that each have a
+ * capacity, as a deployment topology would be planned rather than drawn at
+ * random. The artifacts have sizes of a long-tailed distribution, a few large
+ * and many small; the locations share a total capacity that the artifacts
+ * fill to a given utilization, in random proportions.
+ * <p>
+ * The artifacts are packed worst-fit decreasing: the largest first, each onto
+ * the location with the most capacity left, which a priority queue keeps at
+ * hand, so that planning <i>n</i> artifacts takes <i>O(n log n)</i> time and
+ * spreads the load over all locations. An artifact that does not fit onto
+ * that location fits nowhere, and is not deployed. Each location that gets
+ * any artifacts gets one deployment of all of them, added in one batch.
+ * </p>
+ */
+class DeploymentPlanner {
+
+	/** The share of the total capacity that the artifacts take, by default. */
+	static final int DEFAULT_UTILIZATION = 80;
+
+	/** The mean size of an artifact, in capacity units. */
+	private static final double MEAN_SIZE = 64;
+
+	private final NamingScheme naming;
+
+	private final GenerationMetrics metrics;
+
+	private final Random random;
+
+	private int deploymentCount;
+
+	private int deployedCount;
+
+	private long used;
+
+	private long capacity;
+
+	DeploymentPlanner(NamingScheme naming, GenerationMetrics metrics,
+			Random random) {
+		this.naming = naming;
+		this.metrics = metrics;
+		this.random = random;
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if <tt>utilization</tt> is not a positive percentage
+	 */
+	static void checkUtilization(int utilization) {
+		if (utilization <= 0) {
+			throw new IllegalArgumentException(
+				"Deployment utilization must be a positive percentage: "
+					+ utilization);
+		}
+	}
+
+	/**
+	 * Deploys as many <tt>artifacts</tt> as fit onto the <tt>locations</tt>,
+	 * whose capacities add up to the sizes of all artifacts divided by
+	 * <tt>utilization</tt> percent.
+	 */
+	void plan(List<? extends Artifact> artifacts,
+			List<? extends Node> locations, int utilization) {
+
+		checkUtilization(utilization);
+		if (artifacts.isEmpty() || locations.isEmpty()) {
+			return;
+		}
+
+		// size in the high word, index in the low: sorted without boxing
+		long[] order = new long[artifacts.size()];
+		long total = 0;
+		for (int i = 0; i < order.length; i++) {
+			long size = 1 + (long) (-MEAN_SIZE * Math.log(1 - random.nextDouble()));
+			order[i] = (size << 32) | i;
+			total += size;
+		}
+		Arrays.sort(order);
+
+		final long[] remaining = new long[locations.size()];
+		double[] weights = new double[remaining.length];
+		double weight = 0;
+		for (int j = 0; j < weights.length; j++) {
+			weights[j] = 0.5 + random.nextDouble();
+			weight += weights[j];
+		}
+		long pool = total * 100 / utilization;
+		for (int j = 0; j < remaining.length; j++) {
+			remaining[j] = Math.max(1, (long) (pool * weights[j] / weight));
+			capacity += remaining[j];
+		}
+
+		PriorityQueue<Integer> roomiest = new PriorityQueue<Integer>(
+			remaining.length, new Comparator<Integer>() {
+
+				public int compare(Integer j, Integer k) {
+					return (remaining[j] > remaining[k])
+						? -1
+						: ((remaining[j] == remaining[k])
+							? 0
+							: 1);
+				}
+			});
+		for (int j = 0; j < remaining.length; j++) {
+			roomiest.add(j);
+		}
+
+		List<List<Artifact>> batches = new ArrayList<List<Artifact>>(
+			remaining.length);
+		for (int j = 0; j < remaining.length; j++) {
+			batches.add(null);
+		}
+		for (int i = order.length - 1; i >= 0; i--) {
+			long size = order[i] >>> 32;
+			Integer j = roomiest.peek();
+			if (remaining[j] >= size) {
+				roomiest.poll();
+				remaining[j] -= size;
+				roomiest.add(j);
+
+				List<Artifact> batch = batches.get(j);
+				if (batch == null) {
+					batch = new ArrayList<Artifact>();
+					batches.set(j, batch);
+				}
+				batch.add(artifacts.get((int) order[i]));
+				used += size;
+				deployedCount++;
+			}
+			metrics.step(1);
+		}
+
+		for (int j = 0; j < batches.size(); j++) {
+			List<Artifact> batch = batches.get(j);
+			if (batch != null) {
+				Deployment deployment = locations.get(j).createDeployment(
+					naming.getName("deployment", "dp", deploymentCount++));
+				deployment.getDeployedArtifacts().addAll(batch);
+			}
+		}
+	}
+
+	int getDeploymentCount() {
+		return deploymentCount;
+	}
+
+	int getDeployedCount() {
+		return deployedCount;
+	}
+
+	/** The capacity taken by the deployed artifacts. */
+	long getUsed() {
+		return used;
+	}
+
+	/** The capacity of all locations. */
+	long getCapacity() {
+		return capacity;
+	}
+}
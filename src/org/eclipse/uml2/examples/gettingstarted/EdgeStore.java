@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * An append-only, memory-mapped file of relationships between the elements of
+ * an {@link ElementTable}. Each edge is one 8-byte record: the relationship
+ * kind (one of the {@link ModelGraph} kinds) in the top 3 bits and the source
+ * index in the low 29 bits of the first int, and the target index in the
+ * second. The edges are numbered in the order in which they were appended.
+ */
+class EdgeStore {
+
+	static final int MAGIC = 0x554D4C45; // "UMLE"
+
+	static final int VERSION = 1;
+
+	static final int HEADER_SIZE = 16;
+
+	static final int RECORD_SIZE = 8;
+
+	static final int MAX_ELEMENTS = 1 << 29;
+
+	private static final int INDEX_MASK = MAX_ELEMENTS - 1;
+
+	/**
+	 * Receives the edges of a store in the order in which they were appended.
+	 */
+	interface EdgeVisitor {
+
+		void visit(long edge, int source, int target, byte kind)
+				throws IOException;
+	}
+
+	private final MappedFile file;
+
+	private final boolean writable;
+
+	private long size;
+
+	private EdgeStore(MappedFile file, boolean writable, long size) {
+		this.file = file;
+		this.writable = writable;
+		this.size = size;
+	}
+
+	/**
+	 * Creates an empty store, replacing any existing <tt>file</tt>.
+	 */
+	static EdgeStore create(File file)
+			throws IOException {
+
+		if (file.exists() && !file.delete()) {
+			throw new IOException("Cannot replace " + file);
+		}
+
+		EdgeStore store = new EdgeStore(new MappedFile(file, true), true, 0);
+		store.file.putInt(0, MAGIC);
+		store.file.putInt(4, VERSION);
+		store.file.putLong(8, 0);
+		return store;
+	}
+
+	/**
+	 * Opens an existing store for appending after its first <tt>size</tt>
+	 * edges, discarding any edges that follow them.
+	 */
+	static EdgeStore reopen(File file, long size)
+			throws IOException {
+
+		MappedFile mapped = new MappedFile(file, true);
+		long length = mapped.length();
+		if (length < HEADER_SIZE + size * RECORD_SIZE
+			|| mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+			|| mapped.getLong(8) < size) {
+			mapped.close(length);
+			throw new IOException("Not an edge store of " + size
+				+ " edges: " + file);
+		}
+
+		EdgeStore store = new EdgeStore(mapped, true, size);
+		store.file.putLong(8, size);
+		return store;
+	}
+
+	/**
+	 * Opens an existing store for reading.
+	 */
+	static EdgeStore open(File file)
+			throws IOException {
+
+		MappedFile mapped = new MappedFile(file, false);
+		if (mapped.length() < HEADER_SIZE || mapped.getInt(0) != MAGIC
+			|| mapped.getInt(4) != VERSION) {
+			mapped.close(0);
+			throw new IOException("Not an edge store: " + file);
+		}
+		return new EdgeStore(mapped, false, mapped.getLong(8));
+	}
+
+	long size() {
+		return size;
+	}
+
+	void append(int source, int target, byte kind)
+			throws IOException {
+
+		if (!writable) {
+			throw new IllegalStateException("Edge store is read-only");
+		}
+		if (source > INDEX_MASK || target > INDEX_MASK) {
+			throw new IllegalArgumentException("Element index out of range");
+		}
+
+		long position = HEADER_SIZE + size * RECORD_SIZE;
+		file.putInt(position, (kind << 29) | source);
+		file.putInt(position + 4, target);
+		size++;
+	}
+
+	int getSource(long edge)
+			throws IOException {
+		return file.getInt(HEADER_SIZE + edge * RECORD_SIZE) & INDEX_MASK;
+	}
+
+	int getTarget(long edge)
+			throws IOException {
+		return file.getInt(HEADER_SIZE + edge * RECORD_SIZE + 4);
+	}
+
+	byte getKind(long edge)
+			throws IOException {
+		return (byte) (file.getInt(HEADER_SIZE + edge * RECORD_SIZE) >>> 29);
+	}
+
+	/**
+	 * Reads all of the edges sequentially.
+	 */
+	void forEach(EdgeVisitor visitor)
+			throws IOException {
+		forEach(0, size, visitor);
+	}
+
+	/**
+	 * Reads the edges from <tt>from</tt> up to <tt>to</tt> sequentially.
+	 */
+	void forEach(long from, long to, EdgeVisitor visitor)
+			throws IOException {
+
+		long position = HEADER_SIZE + from * RECORD_SIZE;
+		for (long edge = from; edge < to; edge++, position += RECORD_SIZE) {
+			int first = file.getInt(position);
+			visitor.visit(edge, first & INDEX_MASK, file.getInt(position + 4),
+				(byte) (first >>> 29));
+		}
+	}
+
+	/**
+	 * Maps all of the edges, after which any number of threads may read them
+	 * at once, as long as none appends.
+	 */
+	void map()
+			throws IOException {
+		file.map(HEADER_SIZE + size * RECORD_SIZE);
+	}
+
+	/**
+	 * Records the current edge count in the header and writes the mapped
+	 * pages back to disk, so that a reader sees every edge appended so far.
+	 */
+	void flush() {
+		if (writable) {
+			try {
+				file.putLong(8, size);
+			} catch (IOException ioe) {
+				throw new IllegalStateException(ioe);
+			}
+			file.force();
+		}
+	}
+
+	void close()
+			throws IOException {
+
+		flush();
+		file.close(HEADER_SIZE + size * RECORD_SIZE);
+	}
+}
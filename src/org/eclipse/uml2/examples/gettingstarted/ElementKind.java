@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.uml2.uml.UMLPackage;
+
+/**
+ * The kinds of packaged element created by the generator, in the order in
+ * which <tt>createNode</tt> creates them in each round.
+ */
+enum ElementKind {
+
+	MODEL("Model", "model", "m", false, false),
+
+	COMPONENT("Component", "component", "c", true, false),
+
+	PACKAGE("Package", "package", "p", false, false),
+
+	INTERFACE("Interface", "interface", "i", true, false),
+
+	DEVICE("Device", "device", "d", true, true),
+
+	NODE("Node", "node", "n", true, true),
+
+	EXECUTION_ENVIRONMENT("ExecutionEnvironment", "executionEnvironment",
+			"e", true, true),
+
+	ARTIFACT("Artifact", "artifact", "a", true, false);
+
+	private final String typeName;
+
+	private final String prefix;
+
+	private final String shortPrefix;
+
+	private final boolean classifier;
+
+	private final boolean node;
+
+	private ElementKind(String typeName, String prefix, String shortPrefix,
+			boolean classifier, boolean node) {
+		this.typeName = typeName;
+		this.prefix = prefix;
+		this.shortPrefix = shortPrefix;
+		this.classifier = classifier;
+		this.node = node;
+	}
+
+	/** The name of the UML metaclass, as used for <tt>xmi:type</tt>. */
+	String getTypeName() {
+		return typeName;
+	}
+
+	/** The prefix of the generated element names. */
+	String getPrefix() {
+		return prefix;
+	}
+
+	/** The prefix of the {@link NamingScheme#SHORT} element names. */
+	String getShortPrefix() {
+		return shortPrefix;
+	}
+
+	/** Whether elements of this kind can be generalized and associated. */
+	boolean isClassifier() {
+		return classifier;
+	}
+
+	/** Whether elements of this kind take part in communication paths. */
+	boolean isNode() {
+		return node;
+	}
+
+	EClass getEClass() {
+		return (EClass) UMLPackage.eINSTANCE.getEClassifier(typeName);
+	}
+
+	private static final ElementKind[] VALUES = values();
+
+	static ElementKind get(int ordinal) {
+		return VALUES[ordinal];
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+/**
+ * Relative weights of the {@link ElementKind}s to generate, parsed from a
+ * specification such as <tt>component:60,interface:20,node:10,artifact:10</tt>.
+ * Kinds that are not mentioned get no elements.
+ */
+class ElementMix {
+
+	private final double[] weights = new double[ElementKind.values().length];
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if the specification names an unknown kind or a weight is
+	 *             not a non-negative number
+	 */
+	static ElementMix parse(String spec) {
+		ElementMix mix = new ElementMix();
+		double total = 0;
+
+		for (String entry : spec.split(",")) {
+			int colon = entry.indexOf(':');
+			if (colon < 0) {
+				throw new IllegalArgumentException("Expected <kind>:<weight>: "
+					+ entry);
+			}
+
+			ElementKind kind = kindNamed(entry.substring(0, colon).trim());
+			double weight;
+			try {
+				weight = Double.parseDouble(entry.substring(colon + 1).trim());
+			} catch (NumberFormatException nfe) {
+				throw new IllegalArgumentException("Not a weight: " + entry);
+			}
+			if (weight < 0) {
+				throw new IllegalArgumentException("Negative weight: " + entry);
+			}
+
+			mix.weights[kind.ordinal()] += weight;
+			total += weight;
+		}
+
+		if (total <= 0) {
+			throw new IllegalArgumentException("Empty element mix: " + spec);
+		}
+		return mix;
+	}
+
+	/**
+	 * Finds a kind by its name prefix (<tt>executionEnvironment</tt>) or enum
+	 * name (<tt>execution_environment</tt>), ignoring case.
+	 */
+	static ElementKind kindNamed(String name) {
+		for (ElementKind kind : ElementKind.values()) {
+			if (kind.getPrefix().equalsIgnoreCase(name)
+				|| kind.name().equalsIgnoreCase(name)) {
+				return kind;
+			}
+		}
+		throw new IllegalArgumentException("Unknown element kind: " + name);
+	}
+
+	double getWeight(ElementKind kind) {
+		return weights[kind.ordinal()];
+	}
+
+	/**
+	 * Apportions <tt>total</tt> elements to the kinds in proportion to their
+	 * weights, giving the remainder to the kinds with the largest fractional
+	 * shares, so that the counts always add up to <tt>total</tt>.
+	 */
+	int[] apportion(int total) {
+		double sum = 0;
+		for (double weight : weights) {
+			sum += weight;
+		}
+
+		int[] counts = new int[weights.length];
+		double[] fractions = new double[weights.length];
+		int assigned = 0;
+		for (int i = 0; i < weights.length; i++) {
+			double share = total * weights[i] / sum;
+			counts[i] = (int) share;
+			fractions[i] = share - counts[i];
+			assigned += counts[i];
+		}
+
+		for (; assigned < total; assigned++) {
+			int largest = -1;
+			for (int i = 0; i < fractions.length; i++) {
+				if (weights[i] > 0
+					&& (largest < 0 || fractions[i] > fractions[largest])) {
+					largest = i;
+				}
+			}
+			counts[largest]++;
+			fractions[largest] = -1;
+		}
+
+		return counts;
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The metadata of the elements of a model generated off-heap: for each element
+ * index, its {@link ElementKind}, its ordinal amongst the elements of that
+ * kind (from which its name is derived) and its exposure/asset annotation.
+ * This is all that the off-heap generator keeps on the heap.
+ */
+class ElementTable {
+
+	private byte[] kinds;
+
+	private int[] ordinals;
+
+	private byte[] annotations;
+
+	private int[] assetValues;
+
+	private final int[] kindCounts = new int[ElementKind.values().length];
+
+	private int size;
+
+	ElementTable(int capacity) {
+		capacity = Math.max(16, capacity);
+		kinds = new byte[capacity];
+		ordinals = new int[capacity];
+		annotations = new byte[capacity];
+		assetValues = new int[capacity];
+	}
+
+	/**
+	 * Adds an element of the given <tt>kind</tt>.
+	 *
+	 * @return the new element's index
+	 */
+	int add(ElementKind kind) {
+		if (size == kinds.length) {
+			int capacity = 2 * size;
+			kinds = Arrays.copyOf(kinds, capacity);
+			ordinals = Arrays.copyOf(ordinals, capacity);
+			annotations = Arrays.copyOf(annotations, capacity);
+			assetValues = Arrays.copyOf(assetValues, capacity);
+		}
+
+		kinds[size] = (byte) kind.ordinal();
+		ordinals[size] = kindCounts[kind.ordinal()]++;
+		return size++;
+	}
+
+	void setExposed(int index) {
+		annotations[index] = ModelGraph.EXPOSED;
+	}
+
+	void setAsset(int index, int value) {
+		annotations[index] = ModelGraph.ASSET;
+		assetValues[index] = value;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int count(ElementKind kind) {
+		return kindCounts[kind.ordinal()];
+	}
+
+	ElementKind getKind(int index) {
+		return ElementKind.get(kinds[index]);
+	}
+
+	int getOrdinal(int index) {
+		return ordinals[index];
+	}
+
+	String getName(int index) {
+		return getKind(index).getPrefix() + Integer.toString(ordinals[index]);
+	}
+
+	byte getAnnotation(int index) {
+		return annotations[index];
+	}
+
+	int getAssetValue(int index) {
+		return assetValues[index];
+	}
+
+	/**
+	 * Writes the elements, for a {@link Checkpoint}.
+	 */
+	void write(DataOutputStream out)
+			throws IOException {
+
+		out.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			out.writeByte(kinds[i]);
+			out.writeInt(ordinals[i]);
+			out.writeByte(annotations[i]);
+			out.writeInt(assetValues[i]);
+		}
+	}
+
+	static ElementTable read(DataInputStream in)
+			throws IOException {
+
+		int size = in.readInt();
+		ElementTable table = new ElementTable(size);
+		for (int i = 0; i < size; i++) {
+			byte kind = in.readByte();
+			table.kinds[i] = kind;
+			table.ordinals[i] = in.readInt();
+			table.annotations[i] = in.readByte();
+			table.assetValues[i] = in.readInt();
+			table.kindCounts[kind]++;
+		}
+		table.size = size;
+		return table;
+	}
+}
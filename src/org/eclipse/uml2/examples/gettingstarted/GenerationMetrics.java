@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Per-phase instrumentation of a generation run: wall time, throughput,
+ * bytes allocated and garbage collections. While a phase runs, a background
+ * timer can print a progress line from the count of items that the phase
+ * reports with {@link #step(long)}. Optionally, every phase is also recorded
+ * as a JFR event. Unless quiet, the start-up time and the measurements of
+ * every phase are printed as they are taken.
+ * <p>
+ * The allocated bytes are those of the generating thread and of the worker
+ * threads of the pools that it creates with {@link #workerFactory()}, as the
+ * JVM counts allocation by thread; those of other threads are not seen.
+ * </p>
+ */
+class GenerationMetrics {
+
+	/**
+	 * The measurements of one phase.
+	 */
+	static class Phase {
+
+		final String name;
+
+		final long expected;
+
+		private final long startNanos;
+
+		private final long startAllocated;
+
+		private final long startGcCount;
+
+		private final long startGcMillis;
+
+		private final Object event;
+
+		long elements;
+
+		long edges;
+
+		long nanos;
+
+		long allocatedBytes;
+
+		long gcCount;
+
+		long gcMillis;
+
+		Phase(String name, long expected, long startAllocated,
+				long startGcCount, long startGcMillis, Object event) {
+			this.name = name;
+			this.expected = expected;
+			this.startNanos = System.nanoTime();
+			this.startAllocated = startAllocated;
+			this.startGcCount = startGcCount;
+			this.startGcMillis = startGcMillis;
+			this.event = event;
+		}
+
+		double getSeconds() {
+			return nanos / 1e9;
+		}
+
+		double perSecond(long count) {
+			return (nanos == 0)
+				? 0
+				: count / getSeconds();
+		}
+	}
+
+	/** The metrics of the phases that the current thread runs. */
+	private static final ThreadLocal<GenerationMetrics> RUNNING = new ThreadLocal<GenerationMetrics>();
+
+	private final List<Phase> phases = new ArrayList<Phase>();
+
+	/** The worker threads that are still running. */
+	private final Set<Thread> workers = new HashSet<Thread>();
+
+	/** The bytes allocated by the worker threads that have finished. */
+	private long finishedWorkerBytes;
+
+	private final boolean jfr;
+
+	private final boolean quiet;
+
+	private Timer timer;
+
+	private volatile Phase current;
+
+	private volatile long progress;
+
+	private long startupMillis = -1;
+
+	private String sharedArchive;
+
+	GenerationMetrics(boolean jfr, boolean quiet) {
+		this.jfr = jfr;
+		this.quiet = quiet;
+	}
+
+	/**
+	 * The time since the JVM started.
+	 */
+	static long uptimeMillis() {
+		return ManagementFactory.getRuntimeMXBean().getUptime();
+	}
+
+	/**
+	 * Records that the JVM took <tt>millis</tt> to reach the generator, and
+	 * the class data sharing archive that it was started with, if any.
+	 */
+	void setStartup(long millis) {
+		RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+		startupMillis = millis;
+		for (String argument : runtime.getInputArguments()) {
+			if (argument.startsWith("-XX:SharedArchiveFile=")) {
+				sharedArchive = argument.substring(argument.indexOf('=') + 1);
+			}
+		}
+
+		if (!quiet) {
+			System.out.printf("startup: %d ms, class data sharing archive: %s%n",
+				millis, (sharedArchive == null)
+					? "default"
+					: sharedArchive);
+		}
+	}
+
+	/**
+	 * Prints a progress line for the running phase every <tt>seconds</tt>,
+	 * unless it has neither an expected count nor any items processed.
+	 */
+	void startProgress(int seconds) {
+		if (seconds <= 0 || timer != null) {
+			return;
+		}
+
+		timer = new Timer("generation-progress", true);
+		timer.scheduleAtFixedRate(new TimerTask() {
+
+			private Phase lastPhase;
+
+			private long lastProgress;
+
+			private long lastNanos;
+
+			@Override
+			public void run() {
+				Phase phase = current;
+				if (phase == null) {
+					return;
+				}
+				if (phase != lastPhase) {
+					lastPhase = phase;
+					lastProgress = 0;
+					lastNanos = phase.startNanos;
+				}
+
+				long now = System.nanoTime();
+				long done = progress;
+				if (phase.expected <= 0 && done == 0) {
+					return;
+				}
+				double rate = (done - lastProgress) / ((now - lastNanos) / 1e9);
+				lastProgress = done;
+				lastNanos = now;
+
+				Runtime runtime = Runtime.getRuntime();
+				long usedMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+				if (phase.expected > 0) {
+					System.out.printf(
+						"[%s] %d/%d (%.1f%%), %.0f/s, heap %d MB%n", phase.name,
+						done, phase.expected, 100.0 * done / phase.expected,
+						rate, usedMb);
+				} else {
+					System.out.printf("[%s] %d, %.0f/s, heap %d MB%n",
+						phase.name, done, rate, usedMb);
+				}
+			}
+		}, 1000L * seconds, 1000L * seconds);
+	}
+
+	void stopProgress() {
+		if (timer != null) {
+			timer.cancel();
+			timer = null;
+		}
+	}
+
+	/**
+	 * Starts a phase that is expected to process <tt>expected</tt> items (or
+	 * an unknown number, if not positive).
+	 */
+	Phase begin(String name, long expected) {
+		RUNNING.set(this);
+		long[] gc = gcTotals();
+		Phase phase = new Phase(name, expected, allocatedBytes(), gc[0], gc[1],
+			jfr
+				? PhaseEvent.begin(name)
+				: null);
+		progress = 0;
+		current = phase;
+		return phase;
+	}
+
+	/**
+	 * Reports <tt>items</tt> more items processed by the running phase.
+	 */
+	void step(long items) {
+		progress += items;
+	}
+
+	void end(Phase phase, long elements, long edges) {
+		phase.nanos = System.nanoTime() - phase.startNanos;
+		phase.elements = elements;
+		phase.edges = edges;
+		phase.allocatedBytes = Math.max(0, allocatedBytes()
+			- phase.startAllocated);
+		long[] gc = gcTotals();
+		phase.gcCount = gc[0] - phase.startGcCount;
+		phase.gcMillis = gc[1] - phase.startGcMillis;
+
+		if (phase.event != null) {
+			PhaseEvent.commit(phase.event, elements, edges,
+				phase.allocatedBytes);
+		}
+
+		if (current == phase) {
+			current = null;
+		}
+		phases.add(phase);
+
+		if (!quiet) {
+			System.out.printf(
+				"%s: %.3f s, %d elements (%.0f/s), %d edges (%.0f/s), %d MB allocated, %d GC(s) %d ms%n",
+				phase.name, phase.getSeconds(), elements,
+				phase.perSecond(elements), edges, phase.perSecond(edges),
+				phase.allocatedBytes >> 20, phase.gcCount, phase.gcMillis);
+		}
+	}
+
+	List<Phase> getPhases() {
+		return phases;
+	}
+
+	/**
+	 * A factory of the threads of a worker pool of the phases that the
+	 * current thread runs, whose allocation is added to that of the phases.
+	 */
+	static ThreadFactory workerFactory() {
+		final ThreadFactory threads = Executors.defaultThreadFactory();
+		final GenerationMetrics metrics = RUNNING.get();
+		if (metrics == null) {
+			return threads;
+		}
+
+		return new ThreadFactory() {
+
+			public Thread newThread(final Runnable runnable) {
+				return threads.newThread(new Runnable() {
+
+					public void run() {
+						Thread worker = Thread.currentThread();
+						metrics.addWorker(worker);
+						try {
+							runnable.run();
+						} finally {
+							metrics.removeWorker(worker);
+						}
+					}
+				});
+			}
+		};
+	}
+
+	private synchronized void addWorker(Thread worker) {
+		workers.add(worker);
+	}
+
+	private synchronized void removeWorker(Thread worker) {
+		finishedWorkerBytes += Math.max(0, allocatedBytes(worker));
+		workers.remove(worker);
+	}
+
+	/**
+	 * The bytes allocated so far by the current thread and the worker
+	 * threads, or <tt>-1</tt> if the JVM cannot measure them.
+	 */
+	private synchronized long allocatedBytes() {
+		long result = allocatedBytes(Thread.currentThread());
+		if (result < 0) {
+			return -1;
+		}
+		result += finishedWorkerBytes;
+		for (Thread worker : workers) {
+			result += Math.max(0, allocatedBytes(worker));
+		}
+		return result;
+	}
+
+	/**
+	 * The bytes allocated so far by <tt>thread</tt>, or <tt>-1</tt> if the
+	 * JVM cannot measure them.
+	 */
+	private static long allocatedBytes(Thread thread) {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+			if (sunThreads.isThreadAllocatedMemorySupported()
+				&& sunThreads.isThreadAllocatedMemoryEnabled()) {
+				return sunThreads.getThreadAllocatedBytes(thread.getId());
+			}
+		}
+		return -1;
+	}
+
+	private static long[] gcTotals() {
+		long count = 0;
+		long millis = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory
+			.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, gc.getCollectionCount());
+			millis += Math.max(0, gc.getCollectionTime());
+		}
+		return new long[]{count, millis};
+	}
+
+	/**
+	 * Writes the phases as a JSON document.
+	 */
+	void writeReport(File file)
+			throws IOException {
+
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			writeReport(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes the phases as a JSON document to <tt>out</tt>, leaving it open.
+	 */
+	void writeReport(Writer out)
+			throws IOException {
+
+		out.write("{\n");
+		if (startupMillis >= 0) {
+			out.write("  \"startupMillis\": " + startupMillis + ",\n");
+			out.write("  \"sharedArchive\": " + ((sharedArchive == null)
+				? "null"
+				: "\"" + sharedArchive.replace("\\", "\\\\") + "\"") + ",\n");
+		}
+		out.write("  \"phases\": [");
+		for (int i = 0; i < phases.size(); i++) {
+			Phase phase = phases.get(i);
+			out.write((i == 0)
+				? "\n"
+				: ",\n");
+			out.write(String.format(Locale.ROOT,
+				"    {\"name\": \"%s\", \"seconds\": %.6f, \"elements\": %d, "
+					+ "\"elementsPerSecond\": %.1f, \"edges\": %d, "
+					+ "\"edgesPerSecond\": %.1f, \"allocatedBytes\": %d, "
+					+ "\"gcCount\": %d, \"gcMillis\": %d}",
+				phase.name, phase.getSeconds(), phase.elements,
+				phase.perSecond(phase.elements), phase.edges,
+				phase.perSecond(phase.edges), phase.allocatedBytes,
+				phase.gcCount, phase.gcMillis));
+		}
+		out.write("\n  ]\n}\n");
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The optional <tt>--key=value</tt> (or bare <tt>--flag</tt>) arguments that
+ * follow the positional arguments of the generator.
+ */
+public class GeneratorOptions {
+
+	private final Map<String, String> values = new LinkedHashMap<String, String>();
+
+	/**
+	 * Parses the options in <tt>args</tt>, starting at index <tt>from</tt>.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if an argument is not of the form <tt>--key[=value]</tt>
+	 */
+	public static GeneratorOptions parse(String[] args, int from) {
+		GeneratorOptions options = new GeneratorOptions();
+
+		for (int i = from; i < args.length; i++) {
+			String arg = args[i];
+			if (!arg.startsWith("--") || arg.length() == 2) {
+				throw new IllegalArgumentException("Not an option: " + arg);
+			}
+
+			int eq = arg.indexOf('=');
+			if (eq < 0) {
+				options.put(arg.substring(2), "true");
+			} else {
+				options.put(arg.substring(2, eq), arg.substring(eq + 1));
+			}
+		}
+
+		return options;
+	}
+
+	public void put(String key, String value) {
+		values.put(key, value);
+	}
+
+	public boolean has(String key) {
+		return values.containsKey(key);
+	}
+
+	public String get(String key, String defaultValue) {
+		String value = values.get(key);
+		return (value == null)
+			? defaultValue
+			: value;
+	}
+
+	public int getInt(String key, int defaultValue) {
+		String value = values.get(key);
+		if (value == null || value.equals("true")) {
+			return defaultValue;
+		}
+
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException nfe) {
+			throw new IllegalArgumentException(
+				"Option --" + key + " expects an integer: " + value);
+		}
+	}
+
+	public boolean getBoolean(String key) {
+		return Boolean.parseBoolean(get(key, "false"));
+	}
+
+	public Map<String, String> asMap() {
+		return values;
+	}
+
+	@Override
+	public String toString() {
+		return values.toString();
+	}
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.uml2.uml.UMLFactory;
+import org.eclipse.uml2.uml.resource.UMLResource;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A long-running generator that accepts requests over HTTP on the loopback
+ * interface, so that a test harness pays for JVM start-up, EMF and UML
+ * package initialization and JIT warm-up once rather than on every model.
+ * <p>
+ * <tt>GET /generate?dir=&lt;dir&gt;&amp;nodes=&lt;n&gt;[&amp;&lt;option&gt;=&lt;value&gt;...]</tt>
+ * generates a model of <tt>n</tt> elements into <tt>dir</tt>; every other
+ * parameter is one of the generator's command-line options (<tt>seed</tt>,
+ * <tt>profile</tt>, <tt>mix</tt>, <tt>depth</tt>, <tt>assoc</tt>, ...). The
+ * response is the JSON report of the phase timings. Requests are generated
+ * off-heap, or in memory with the <tt>heap</tt> parameter; a request with a
+ * parameter that needs the model in memory (<tt>template</tt>,
+ * <tt>ports</tt>, <tt>classes</tt>, <tt>deploy</tt>, <tt>validate</tt> or
+ * <tt>footprint</tt>) but not <tt>heap</tt> is refused with <tt>400</tt>.
+ * A bounded pool of workers runs the requests concurrently; each worker has
+ * a UML2 cache adapter of its own (see
+ * {@link GettingStartedWithUML2#THREAD_LOCAL_CACHE_ADAPTER}). When the pool
+ * and its queue are full, requests are refused with <tt>503</tt>. As a
+ * generation writes files of fixed names into its directory, a request for a
+ * directory that another request is generating into is refused with
+ * <tt>409</tt>.
+ * </p>
+ * <p>
+ * As on the command line, the {@link MemoryPlanner} estimates every request
+ * unless its <tt>plan</tt> is <tt>off</tt>: an in-memory request too large
+ * for the heap is generated off-heap if it can be, and one that does not fit
+ * either way is refused with <tt>413</tt>, unless its <tt>plan</tt> is
+ * <tt>check</tt>.
+ * </p>
+ * <p>
+ * <tt>POST /shutdown?token=&lt;token&gt;</tt> stops the server, given the
+ * token that it prints when it starts, so that only whoever started it can
+ * stop it.
+ * </p>
+ */
+public class GeneratorServer {
+
+	static final int DEFAULT_PORT = 8765;
+
+	static {
+		// before warmUp loads UML2
+		GettingStartedWithUML2.useThreadLocalCacheAdapters();
+	}
+
+	final ThreadPoolExecutor workers;
+
+	/** The directories that requests are generating into. */
+	private final Set<File> busy = new HashSet<File>();
+
+	private final String token;
+
+	private HttpServer server;
+
+	GeneratorServer(int threads, int queue) {
+		workers = new ThreadPoolExecutor(threads, threads, 0L,
+			TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(
+				Math.max(1, queue)));
+
+		byte[] bytes = new byte[16];
+		new SecureRandom().nextBytes(bytes);
+		StringBuilder result = new StringBuilder(2 * bytes.length);
+		for (byte b : bytes) {
+			result.append(Character.forDigit((b >> 4) & 0xf, 16));
+			result.append(Character.forDigit(b & 0xf, 16));
+		}
+		token = result.toString();
+	}
+
+	/**
+	 * Initializes the UML package and the resource factory that saving uses,
+	 * so that the first request does not pay for them.
+	 */
+	static void warmUp() {
+		UMLFactory.eINSTANCE.createModel();
+		UMLResource.Factory.INSTANCE.createResource(URI
+			.createFileURI("warmup." + UMLResource.FILE_EXTENSION));
+	}
+
+	void start(int port)
+			throws IOException {
+
+		server = HttpServer.create(new InetSocketAddress(
+			InetAddress.getByName("127.0.0.1"), port), 0);
+		server.createContext("/generate", new HttpHandler() {
+
+			public void handle(HttpExchange exchange)
+					throws IOException {
+				try {
+					generate(exchange);
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+		server.createContext("/shutdown", new HttpHandler() {
+
+			public void handle(HttpExchange exchange)
+					throws IOException {
+				GeneratorOptions options = parseQuery(exchange.getRequestURI()
+					.getRawQuery());
+				if (!exchange.getRequestMethod().equals("POST")
+					|| !token.equals(options.get("token", null))) {
+					respond(exchange, 403, "Not allowed.\n");
+					exchange.close();
+					return;
+				}
+				respond(exchange, 200, "Shutting down.\n");
+				exchange.close();
+				stop();
+			}
+		});
+		// the handlers only wait for the workers, which are bounded
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+	}
+
+	String getToken() {
+		return token;
+	}
+
+	void stop() {
+		server.stop(0);
+		workers.shutdown();
+		((ExecutorService) server.getExecutor()).shutdown();
+	}
+
+	private void generate(HttpExchange exchange)
+			throws IOException {
+
+		final GeneratorOptions options;
+		final WorkloadProfile profile;
+		final File dir;
+		final int nodes;
+		final boolean offHeap;
+		try {
+			options = parseQuery(exchange.getRequestURI().getRawQuery());
+			profile = GettingStartedWithUML2.loadProfile(options);
+			String path = options.get("dir", null);
+			if (path == null || (!options.has("nodes") && profile.getNodes() < 0)) {
+				throw new IllegalArgumentException(
+					"Expected the dir and nodes parameters");
+			}
+			dir = new File(path).getCanonicalFile();
+			nodes = options.getInt("nodes", profile.getNodes());
+			GettingStartedWithUML2.checkNodes(nodes, options.has("template"));
+			profile.getEdges(nodes);
+			if (!options.has("template")) {
+				NestingPlan.parse(options, nodes);
+			}
+			AssociationMode.parse(options.get("assoc", "full"));
+			// the server's generations do not log every element they create
+			options.put("quiet", "true");
+		} catch (IllegalArgumentException iae) {
+			respond(exchange, 400, iae.getMessage() + "\n");
+			return;
+		}
+		try {
+			offHeap = plan(options, profile, nodes);
+		} catch (MemoryPlanner.OverBudgetException obe) {
+			respond(exchange, 413, obe.getMessage() + "\n");
+			return;
+		} catch (IllegalArgumentException iae) {
+			respond(exchange, 400, iae.getMessage() + "\n");
+			return;
+		}
+		if (!dir.isDirectory() || !dir.canWrite()) {
+			respond(exchange, 400, "Cannot create a file in directory: " + dir
+				+ "\n");
+			return;
+		}
+
+		if (!acquire(dir)) {
+			respond(exchange, 409, "Already generating into directory: " + dir
+				+ "\n");
+			return;
+		}
+
+		Future<GenerationMetrics> result;
+		try {
+			result = workers.submit(new Callable<GenerationMetrics>() {
+
+				public GenerationMetrics call()
+						throws Exception {
+					try {
+						GenerationMetrics metrics = new GenerationMetrics(
+							options.has("jfr"), true);
+						if (offHeap) {
+							GettingStartedWithUML2.generateOffHeap(options,
+								profile, dir, nodes, metrics);
+						} else {
+							new GettingStartedWithUML2(options, profile, dir,
+								nodes, metrics).generate();
+						}
+						return metrics;
+					} finally {
+						release(dir);
+					}
+				}
+			});
+		} catch (RejectedExecutionException ree) {
+			release(dir);
+			respond(exchange, 503, "Too many requests.\n");
+			return;
+		}
+
+		try {
+			StringWriter report = new StringWriter();
+			result.get().writeReport(report);
+			respond(exchange, 200, report.toString());
+		} catch (ExecutionException ee) {
+			respond(exchange, 500, String.valueOf(ee.getCause()) + "\n");
+		} catch (InterruptedException ie) {
+			result.cancel(true);
+			respond(exchange, 503, "Interrupted.\n");
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Estimates the heap of a request as the command line does.
+	 *
+	 * @return whether the request is generated off-heap
+	 * @throws IllegalArgumentException
+	 *             if it is generated off-heap but has an option that needs
+	 *             the model in memory
+	 * @throws MemoryPlanner.OverBudgetException
+	 *             if it does not fit in the heap and its plan is
+	 *             <tt>auto</tt>
+	 */
+	private static boolean plan(GeneratorOptions options,
+			WorkloadProfile profile, int nodes) {
+
+		boolean offHeap = !options.has("heap");
+		String inMemoryOnly = MemoryPlanner.getInMemoryOnlyOption(options);
+		if (offHeap && inMemoryOnly != null) {
+			throw new IllegalArgumentException("The " + inMemoryOnly
+				+ " parameter needs the model in memory; add the heap parameter.");
+		}
+		MemoryPlanner.Mode mode = MemoryPlanner.Mode.parse(options.get("plan",
+			"auto"));
+		if (mode == MemoryPlanner.Mode.OFF) {
+			return offHeap;
+		}
+
+		MemoryPlanner planner = new MemoryPlanner(options, profile, nodes);
+		long budget = MemoryPlanner.getBudget();
+		if (!offHeap && planner.getInMemoryBytes() > budget
+			&& mode == MemoryPlanner.Mode.AUTO
+			&& planner.getInMemoryOnlyOption() == null) {
+			offHeap = true;
+		}
+		long bytes = offHeap
+			? planner.getOffHeapBytes()
+			: planner.getInMemoryBytes();
+		if (bytes > budget && mode == MemoryPlanner.Mode.AUTO) {
+			throw new MemoryPlanner.OverBudgetException(String.format(
+				"The model needs about %d MB of heap, of %d MB available.",
+				bytes >> 20, budget >> 20));
+		}
+		return offHeap;
+	}
+
+	/**
+	 * Reserves <tt>dir</tt> for a generation.
+	 *
+	 * @return whether no other generation was using it
+	 */
+	private boolean acquire(File dir) {
+		synchronized (busy) {
+			return busy.add(dir);
+		}
+	}
+
+	private void release(File dir) {
+		synchronized (busy) {
+			busy.remove(dir);
+		}
+	}
+
+	private static GeneratorOptions parseQuery(String query) {
+		GeneratorOptions options = new GeneratorOptions();
+		if (query == null) {
+			return options;
+		}
+
+		try {
+			for (String parameter : query.split("&")) {
+				if (parameter.length() == 0) {
+					continue;
+				}
+				int eq = parameter.indexOf('=');
+				if (eq < 0) {
+					options.put(URLDecoder.decode(parameter, "UTF-8"), "true");
+				} else {
+					options.put(
+						URLDecoder.decode(parameter.substring(0, eq), "UTF-8"),
+						URLDecoder.decode(parameter.substring(eq + 1), "UTF-8"));
+				}
+			}
+		} catch (UnsupportedEncodingException uee) {
+			throw new IllegalStateException(uee);
+		}
+		return options;
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body)
+			throws IOException {
+
+		byte[] bytes = body.getBytes("UTF-8");
+		exchange.getResponseHeaders().set("Content-Type", (status == 200
+			&& body.startsWith("{"))
+			? "application/json; charset=utf-8"
+			: "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		OutputStream out = exchange.getResponseBody();
+		try {
+			out.write(bytes);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Starts the server.
+	 *
+	 * @param args
+	 *            the optional <tt>--port=&lt;n&gt;</tt>,
+	 *            <tt>--threads=&lt;n&gt;</tt> and <tt>--queue=&lt;n&gt;</tt>
+	 */
+	public static void main(String[] args)
+			throws IOException {
+
+		GeneratorOptions options;
+		int threads;
+		try {
+			options = GeneratorOptions.parse(args, 0);
+			threads = Math.max(1, options.getInt("threads",
+				Runtime.getRuntime().availableProcessors()));
+			options.getInt("port", DEFAULT_PORT);
+			options.getInt("queue", 2 * threads);
+		} catch (IllegalArgumentException iae) {
+			GettingStartedWithUML2.err(iae.getMessage());
+			GettingStartedWithUML2.err(
+				"Usage: java -cp ... %s [--port=<n>] [--threads=<n>] [--queue=<n>]",
+				GeneratorServer.class.getName());
+			System.exit(1);
+			return;
+		}
+
+		warmUp();
+
+		GeneratorServer server = new GeneratorServer(threads,
+			options.getInt("queue", 2 * threads));
+		int port = options.getInt("port", DEFAULT_PORT);
+		server.start(port);
+		System.out.printf(
+			"Generating on http://127.0.0.1:%d/generate with %d worker(s).%n",
+			port, threads);
+		System.out.printf("Shut down with POST /shutdown?token=%s%n",
+			server.getToken());
+	}
+}
@@ -18,14 +18,20 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.uml2.common.util.UML2Util;
 import org.eclipse.uml2.uml.AggregationKind;
 import org.eclipse.uml2.uml.Artifact;
@@ -64,26 +70,121 @@ import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
  * bundle JARs on the classpath) to create the example model illustrated in the
  * <em>Getting Started with UML2</em> article on the Wiki.
  * 
+ * <p>
+ * Start-up time dominates small generations. On Java 13 or later, a run with
+ * <tt>-XX:ArchiveClassesAtExit=generator.jsa</tt> (the
+ * <em>GettingStartedWithUML2 (CDS dump)</em> launch configuration) dumps the
+ * loaded EMF and UML2 classes to a class data sharing archive, and later runs
+ * with <tt>-XX:SharedArchiveFile=generator.jsa</tt> (the
+ * <em>GettingStartedWithUML2 (CDS)</em> launch configuration) map them from
+ * it.
+ * </p>
+ * <p>
+ * Each instance is one generation, with the options, the profile, the
+ * elements created so far, its logging and its random numbers as its state,
+ * so that independent generations may run at once in one JVM, each on its
+ * own thread, and each be repeated with <tt>--seed</tt>. For that, UML2 is
+ * made to give every thread a cache adapter of its own, rather than one for
+ * the whole JVM, before it is first used; see
+ * {@link #THREAD_LOCAL_CACHE_ADAPTER}.
+ * </p>
+ * 
  * @see http://wiki.eclipse.org/MDT/UML2/Getting_Started_with_UML2
  */
 public class GettingStartedWithUML2 {
 
-	public static boolean DEBUG = true;
+	/**
+	 * The system property that makes UML2's CacheAdapter one per thread. The
+	 * cross-references that every containment change records are kept in a
+	 * plain map of the cache adapter, which generations running at once on
+	 * different threads must not share. It is read once, when the
+	 * CacheAdapter class is loaded, so it is set before the first element is
+	 * created, unless it is set on the command line.
+	 */
+	static final String THREAD_LOCAL_CACHE_ADAPTER = "org.eclipse.uml2.common.util.CacheAdapter.ThreadLocal";
+
+	static {
+		useThreadLocalCacheAdapters();
+	}
+
+	private boolean debug = true;
+	private Random random = new Random();
 
-	private static File outputDir;
-	private static int  nodes_num;
-	private static int  edges_num;
+	private File outputDir;
+	private int  nodes_num;
+	private int  edges_num;
+	private GeneratorOptions options;
+	private GenerationMetrics metrics = new GenerationMetrics(false, false);
 	
-	private static ArrayList<Model> models;
-	private static ArrayList<Component> components;
-	private static ArrayList<org.eclipse.uml2.uml.Package> packages;
-	private static ArrayList<Interface> interfaces;
-	private static ArrayList<Node> nodes;
-	private static ArrayList<Device> devices;
-	private static ArrayList<ExecutionEnvironment> executionEnvironments;
-	private static ArrayList<Artifact> artifacts;
+	private ArrayList<Model> models;
+	private ArrayList<Component> components;
+	private ArrayList<org.eclipse.uml2.uml.Package> packages;
+	private ArrayList<Interface> interfaces;
+	private ArrayList<Node> nodes;
+	private ArrayList<Device> devices;
+	private ArrayList<ExecutionEnvironment> executionEnvironments;
+	private ArrayList<Artifact> artifacts;
+	private ArrayList<Port> ports;
 	
-	static void init()
+	private NestingPlan nesting;
+	private List<org.eclipse.uml2.uml.Package> containers;
+	
+	private AssociationMode associationMode = AssociationMode.FULL;
+	
+	private NamingScheme naming = NamingScheme.FULL;
+	private WorkloadProfile profile = WorkloadProfile.DEFAULT;
+	private long nameHeapBytes;
+	
+	/*
+	 * A generation with the options of the command line, which processArgs
+	 * sets
+	 */
+	GettingStartedWithUML2() {
+	}
+	
+	/*
+	 * A generation with the given options rather than those of the command
+	 * line
+	 */
+	GettingStartedWithUML2(GeneratorOptions options, WorkloadProfile profile, File outputDir, int nodes_num, GenerationMetrics metrics) {
+		this.options = options;
+		this.profile = profile;
+		this.outputDir = outputDir;
+		this.nodes_num = nodes_num;
+		this.edges_num = profile.getEdges(nodes_num);
+		this.metrics = metrics;
+		associationMode = AssociationMode.parse(options.get("assoc", "full"));
+		naming = NamingScheme.parse(options.get("naming", "full"));
+		debug = !options.has("quiet");
+		random = newRandom(options);
+	}
+	
+	/*
+	 * the random numbers of a generation, the same on every run with --seed
+	 */
+	static Random newRandom(GeneratorOptions options)
+	{
+		return options.has("seed")
+			? new Random(options.getInt("seed", 0))
+			: new Random();
+	}
+	
+	Random getRandom()
+	{
+		return random;
+	}
+	
+	/*
+	 * give every thread a cache adapter of its own, if UML2 is not loaded yet
+	 */
+	static void useThreadLocalCacheAdapters()
+	{
+		if (System.getProperty(THREAD_LOCAL_CACHE_ADAPTER) == null) {
+			System.setProperty(THREAD_LOCAL_CACHE_ADAPTER, "true");
+		}
+	}
+	
+	void init()
 	{
 		 models = new ArrayList<Model>();
 		 components = new ArrayList<Component>();
@@ -93,6 +194,7 @@ public class GettingStartedWithUML2 {
 		 devices = new ArrayList<Device>();
 		 executionEnvironments = new ArrayList<ExecutionEnvironment>();
 		 artifacts = new ArrayList<Artifact>();
+		 ports = new ArrayList<Port>();
 	}
 	/**
 	 * The main program. It expects one argument, which is the local filesystem
@@ -105,20 +207,170 @@ public class GettingStartedWithUML2 {
 	public static void main(String[] args)
 			throws Exception {
 
-		if (!processArgs(args)) {
+		long startupMillis = GenerationMetrics.uptimeMillis();
+		GettingStartedWithUML2 generator = new GettingStartedWithUML2();
+		if (!generator.processArgs(args)) {
 			System.exit(1);
 		}
-		nodes_num = 30;
-		edges_num = nodes_num * 4;
+		try {
+			generator.run(startupMillis);
+		} catch (MemoryPlanner.OverBudgetException obe) {
+			err(obe.getMessage());
+			System.exit(1);
+		}
+	}
+	
+	/*
+	 * Generate the model of the command line, or reuse it from the cache
+	 */
+	void run(long startupMillis)
+			throws Exception {
+		edges_num = profile.getEdges(nodes_num);
+		
+		debug = !options.has("quiet");
+		random = newRandom(options);
+		metrics = new GenerationMetrics(options.has("jfr"), options.has("quiet"));
+		metrics.setStartup(startupMillis);
+		metrics.startProgress(options.getInt("progress", options.has("quiet")
+			? 0
+			: 5));
+		try {
+			boolean offHeap = isOffHeap(options);
+			MemoryPlanner.Mode plan = MemoryPlanner.Mode.parse(options.get("plan", "auto"));
+			String overBudget = null;
+			if (plan != MemoryPlanner.Mode.OFF) {
+				MemoryPlanner planner = new MemoryPlanner(options, profile, nodes_num);
+				out("%s", planner);
+				long budget = MemoryPlanner.getBudget();
+				if (!offHeap && planner.getInMemoryBytes() > budget) {
+					String option = planner.getInMemoryOnlyOption();
+					if (plan == MemoryPlanner.Mode.AUTO && option == null) {
+						banner("The model does not fit in the heap; generating it off-heap.");
+						offHeap = true;
+					} else {
+						overBudget = String.format(
+							"The model needs about %d MB of heap, of %d MB available%s; raise -Xmx.",
+							planner.getInMemoryBytes() >> 20, budget >> 20,
+							(option == null) ? "" : ", and --" + option + " needs it in memory");
+					}
+				}
+				if (offHeap && planner.getOffHeapBytes() > budget) {
+					overBudget = String.format(
+						"Even off-heap, the generation needs about %d MB of heap, of %d MB available; raise -Xmx.",
+						planner.getOffHeapBytes() >> 20, budget >> 20);
+				}
+			}
+			ModelCache cache = null;
+			String key = null;
+			if (options.has("cache")) {
+				if (options.has("seed")) {
+					cache = ModelCache.open(options);
+					key = ModelCache.key(options, nodes_num, offHeap);
+				} else {
+					err("Not caching the model of a generation without --seed.");
+				}
+			}
+			
+			File outputFile = new File(outputDir,
+				"UML models." + UMLResource.FILE_EXTENSION);
+			boolean cached = false;
+			if (cache != null) {
+				GenerationMetrics.Phase phase = metrics.begin("fetchCached", 0);
+				cached = cache.fetch(key, outputFile);
+				metrics.end(phase, cached ? nodes_num : 0, 0);
+			}
+			if (cached) {
+				out("Reused the cached model %s.", key);
+				for (String option : ModelCache.getSkipped(options)) {
+					err("Not running --%s on the cached model; generate it without --cache for that.", option);
+				}
+			} else {
+				if (overBudget != null) {
+					if (plan == MemoryPlanner.Mode.AUTO) {
+						throw new MemoryPlanner.OverBudgetException(overBudget
+							+ " Not generating; --plan=check generates anyway.");
+					}
+					err(overBudget);
+				}
+				if (offHeap) {
+					generateOffHeap();
+				} else {
+					generate();
+				}
+				if (cache != null) {
+					GenerationMetrics.Phase phase = metrics.begin("storeCached", 0);
+					cache.store(key, outputFile);
+					metrics.end(phase, nodes_num, 0);
+					out("Cached the model as %s in %s.", key,
+						cache.getDirectory().getAbsolutePath());
+				}
+			}
+		} finally {
+			metrics.stopProgress();
+		}
+		
+		if (options.has("metrics")) {
+			String path = options.get("metrics", "true");
+			File report = path.equals("true")
+				? new File(outputDir, "UML models.metrics.json")
+				: new File(path);
+			metrics.writeReport(report);
+			out("Metrics written to %s.", report.getAbsolutePath());
+		}
+	}
+	
+	void generate()
+			throws Exception {
 		init();
+		nameHeapBytes = 0;
 
 		banner("Creating root model package and primitive types.");
 
-		// Create the root package (a model).
+		// Create the root package (a model), which initializes the UML package.
+		GenerationMetrics.Phase phase = metrics.begin("initialize", 0);
 		Model UML2Model = createModel("uml2");
+		metrics.end(phase, 1, 0);
 		
-		createNode(UML2Model, nodes_num);
-		createConnections(edges_num);
+		nesting = null;
+		containers = new ArrayList<org.eclipse.uml2.uml.Package>();
+		containers.add(UML2Model);
+		int edges;
+		if (options.has("template")) {
+			edges = amplify(UML2Model, new File(options.get("template", "")), nodes_num);
+		} else {
+			NestingPlan plan = NestingPlan.parse(options, nodes_num);
+			if (plan != null) {
+				createNamespaces(UML2Model, plan);
+			}
+			
+			if (options.has("mix")) {
+				createNode(UML2Model, nodes_num, ElementMix.parse(options.get("mix", "")));
+			} else {
+				createNode(UML2Model, nodes_num);
+			}
+			out("names: %s, %d KB of heap", naming,
+				nameHeapBytes >> 10);
+			createComments(profile.getCommentRounds(nodes_num));
+			if (options.has("ports")) {
+				int portsPerComponent = options.getInt("ports", 2);
+				createPorts(portsPerComponent,
+					options.getInt("connectors", portsPerComponent));
+			}
+			edges = createConnections(edges_num);
+			if (options.has("deploy")) {
+				planDeployments(options.getInt("deploy",
+					DeploymentPlanner.DEFAULT_UTILIZATION));
+			}
+		}
+		
+		if (options.has("classes")) {
+			createClasses(UML2Model, options.getInt("classes", nodes_num));
+		}
+		
+		if (options.has("footprint")) {
+			banner("Measuring the heap footprint of the generated model.");
+			footprint(UML2Model, options.getInt("footprint", 20));
+		}
 		
 		
 		
@@ -148,19 +400,297 @@ public class GettingStartedWithUML2 {
 				.appendFileExtension(UMLResource.FILE_EXTENSION);
 		
 		banner("Saving the overall UML models to %s.", outputURI.toFileString());
+		phase = metrics.begin("save", 0);
+		// replace rather than overwrite, as it may be linked to a cached model
+		ModelCache.delete(new File(outputURI.toFileString()));
 		save(UML2Model, outputURI);
+		metrics.end(phase, nodes_num, edges);
+		
+		try {
+			if (options.has("validate")) {
+				banner("Validating the generated model.");
+				validate(UML2Model, options.getInt("validate", 10));
+			}
+			
+			if (options.has("index")) {
+				banner("Indexing the relationships of the generated model.");
+				index(ModelGraph.build(UML2Model), metrics);
+			}
+			
+			if (options.has("analyze")) {
+				banner("Analysing attack paths from exposed elements to assets.");
+				analyze(UML2Model, options.getInt("analyze", 20));
+			}
+		} finally {
+			// the CacheAdapter of this thread, which later generations on
+			// it reuse, keeps the cross-references of every element it has
+			// seen; unloading the model releases those of this generation
+			if (UML2Model.eResource() != null) {
+				UML2Model.eResource().unload();
+			}
+		}
 		 
 	}
 	
+	/*
+	 * Fill the root model with nums copies of a template model, made in
+	 * parallel, instead of generated elements, and link the copies with as
+	 * many random relationships as the generator would create; returns the
+	 * number of relationships created
+	 */
+	int amplify(Model model, File template, int nums)
+			throws IOException, InterruptedException {
+		int threads = options.getInt("threads",
+			Runtime.getRuntime().availableProcessors());
+		banner("Copying %s %d times.", template.getAbsolutePath(), nums);
+		GenerationMetrics.Phase phase = metrics.begin("loadTemplate", 0);
+		TemplateAmplifier amplifier = new TemplateAmplifier(
+			TemplateAmplifier.load(template), threads);
+		metrics.end(phase, 1, 0);
+		
+		phase = metrics.begin("copyTemplate", nums);
+		List<TemplateAmplifier.Copy> copies = amplifier.amplify(model, nums, metrics);
+		metrics.end(phase, nums, 0);
+		
+		int links = 5 * (edges_num / 4);
+		phase = metrics.begin("linkCopies", links);
+		int created = TemplateAmplifier.link(this, copies, links, profile.getEdgeCycle(), metrics);
+		metrics.end(phase, 0, created);
+		return created;
+	}
+	
+	void validate(Model model, int limit)
+			throws InterruptedException {
+		int threads = options.getInt("threads",
+			Runtime.getRuntime().availableProcessors());
+		GenerationMetrics.Phase phase = metrics.begin("validate", 0);
+		ModelValidator validator = new ModelValidator(threads);
+		Diagnostic diagnostic = validator.validate(model);
+		metrics.end(phase, nodes_num, 0);
+		validator.report(diagnostic, limit);
+	}
+	
+	/*
+	 * create <count> classes with typed attributes, and enumerations, in the
+	 * containers of the generated elements, typed by the shared primitive
+	 * type library that the root model imports
+	 */
+	void createClasses(org.eclipse.uml2.uml.Package root, int count)
+	{
+		int attributes = options.getInt("attributes", 5);
+		int enumerations = options.getInt("enums", count / 10);
+		int literals = options.getInt("literals", 4);
+		GenerationMetrics.Phase phase = metrics.begin("createClasses", count + enumerations);
+		ClassDiagramGenerator generator = new ClassDiagramGenerator(containers, naming, metrics);
+		ClassDiagramGenerator.importLibrary(root);
+		generator.generate(count, attributes, enumerations, literals);
+		metrics.end(phase, count + enumerations + generator.getAttributeCount()
+			+ generator.getLiteralCount(), 0);
+		out("classes: %d with %d attributes, enumerations: %d with %d literals",
+			count, generator.getAttributeCount(), enumerations,
+			generator.getLiteralCount());
+	}
+	
+	/*
+	 * deploy the artifacts onto the execution environments and devices, each
+	 * with a capacity, so that the artifacts take <utilization> percent of
+	 * the capacity of all of them
+	 */
+	void planDeployments(int utilization)
+	{
+		GenerationMetrics.Phase phase = metrics.begin("planDeployments", artifacts.size());
+		List<Node> locations = new ArrayList<Node>(executionEnvironments);
+		locations.addAll(devices);
+		DeploymentPlanner planner = new DeploymentPlanner(naming, metrics, random);
+		planner.plan(artifacts, locations, utilization);
+		metrics.end(phase, planner.getDeploymentCount(), planner.getDeployedCount());
+		out("deployments: %d artifacts of %d on %d locations of %d, %d%% of capacity used",
+			planner.getDeployedCount(), artifacts.size(),
+			planner.getDeploymentCount(), locations.size(),
+			(planner.getCapacity() == 0) ? 0 : 100 * planner.getUsed() / planner.getCapacity());
+	}
+	
+	void footprint(Model model, int limit) {
+		GenerationMetrics.Phase phase = metrics.begin("footprint", 0);
+		HeapFootprint footprint = HeapFootprint.measure(model);
+		metrics.end(phase, nodes_num, 0);
+		footprint.report(limit);
+	}
+	
+	static void index(ModelGraph graph, GenerationMetrics metrics)
+			throws IOException {
+		GenerationMetrics.Phase phase = metrics.begin("index", 0);
+		RelationshipIndex index = RelationshipIndex.build(graph);
+		metrics.end(phase, index.size(), graph.edgeCount());
+		RelationshipIndex.report(graph, index);
+	}
+	
+	void analyze(Model model, int limit)
+			throws IOException, InterruptedException {
+		analyze(ModelGraph.build(model), limit);
+	}
+	
+	void analyze(ModelGraph graph, int limit)
+			throws IOException, InterruptedException {
+		analyze(graph, limit, options, metrics);
+	}
+	
+	static void analyze(ModelGraph graph, int limit, GeneratorOptions options, GenerationMetrics metrics)
+			throws IOException, InterruptedException {
+		int threads = options.getInt("threads",
+			Runtime.getRuntime().availableProcessors());
+		GenerationMetrics.Phase phase = metrics.begin("analyze", 0);
+		List<AttackPathAnalysis.AttackPath> paths = AttackPathAnalysis.analyze(
+			graph, threads);
+		metrics.end(phase, graph.size(), graph.edgeCount());
+		AttackPathAnalysis.report(graph, paths, limit);
+	}
+	
+	/*
+	 * Generate the same model without building it on the heap: only the
+	 * element metadata is kept in memory, the relationships are appended to a
+	 * memory-mapped edge store and the XMI is streamed from both. With
+	 * --checkpoint the progress is saved next to the edge store, from which
+	 * --resume continues.
+	 */
+	void generateOffHeap()
+			throws IOException, InterruptedException {
+		generateOffHeap(options, profile, outputDir, nodes_num, metrics);
+	}
+	
+	/*
+	 * Generate a model off-heap with the given options rather than those of
+	 * the command line; this needs no generator of its own, as only the
+	 * in-memory generator keeps state in its fields
+	 */
+	static void generateOffHeap(GeneratorOptions options, WorkloadProfile profile, File outputDir, int nodes_num, GenerationMetrics metrics)
+			throws IOException, InterruptedException {
+		int edges_num = profile.getEdges(nodes_num);
+		AssociationMode associationMode = AssociationMode.parse(options.get("assoc", "full"));
+		NamingScheme naming = NamingScheme.parse(options.get("naming", "full"));
+		String storePath = options.get("store", "true");
+		File storeFile = storePath.equals("true")
+			? new File(outputDir, "UML models.edges")
+			: new File(storePath);
+		File checkpointFile = new File(storeFile.getPath() + ".checkpoint");
+		File outputFile = new File(outputDir,
+			"UML models." + UMLResource.FILE_EXTENSION);
+		
+		NestingPlan nesting = NestingPlan.parse(options, nodes_num);
+		
+		// the options that change the model, as the cache keys them
+		String key = ModelCache.key(options, nodes_num, true);
+		Checkpoint checkpoint = null;
+		if (options.has("resume")) {
+			checkpoint = Checkpoint.read(checkpointFile);
+			if (checkpoint.nodes != nodes_num || checkpoint.edges != edges_num) {
+				throw new IOException("Checkpoint " + checkpointFile
+					+ " is of a generation of " + checkpoint.nodes + " elements and "
+					+ checkpoint.edges + " edges");
+			}
+			if (!checkpoint.options.equals(key)) {
+				throw new IOException("Checkpoint " + checkpointFile
+					+ " is of a generation with other options; resume it with the options it was started with");
+			}
+		}
+		
+		ElementTable table;
+		EdgeStore store;
+		Random random;
+		if (checkpoint != null) {
+			table = checkpoint.table;
+			store = EdgeStore.reopen(storeFile, checkpoint.edgeCount);
+			random = checkpoint.random;
+		} else {
+			table = new ElementTable(nodes_num);
+			store = EdgeStore.create(storeFile);
+			random = options.has("seed")
+				? new Random(options.getInt("seed", 0))
+				: new Random();
+		}
+		try {
+			OffHeapGenerator generator = new OffHeapGenerator(table, store,
+				metrics, random, profile);
+			if (options.has("checkpoint") || options.has("resume")) {
+				generator.setCheckpoint(checkpointFile, key,
+					options.getInt("checkpoint", 60));
+			}
+			
+			GenerationMetrics.Phase phase;
+			int firstRound = 0;
+			long firstEdge = 0;
+			if (checkpoint == null) {
+				banner("Generating %d elements off-heap, edges in %s.", nodes_num,
+					storeFile.getAbsolutePath());
+				phase = metrics.begin("createNode", nodes_num);
+				if (options.has("mix")) {
+					generator.createNode(nodes_num,
+						ElementMix.parse(options.get("mix", "")));
+				} else {
+					generator.createNode(nodes_num);
+				}
+				metrics.end(phase, table.size(), 0);
+				generator.checkpoint(edges_num);
+			} else {
+				firstRound = checkpoint.round;
+				firstEdge = checkpoint.edgeCount;
+				// of the write that the crash interrupted, if it got that far
+				StreamingXmiWriter.deleteSlots(outputFile);
+				banner("Resuming from %s after %d edges.",
+					checkpointFile.getAbsolutePath(), checkpoint.edgeCount);
+			}
+			
+			phase = metrics.begin("createConnections",
+				5 * (edges_num / 4 - firstRound));
+			generator.createConnections(edges_num, firstRound);
+			store.flush();
+			metrics.end(phase, 0, store.size() - firstEdge);
+			
+			banner("Writing the overall UML models to %s.", outputFile);
+			phase = metrics.begin("save", 0);
+			// replace rather than overwrite, as it may be linked to a cached model
+			ModelCache.delete(outputFile);
+			int writers = options.has("writers")
+				? options.getInt("writers", Runtime.getRuntime().availableProcessors())
+				: 1;
+			StreamingXmiWriter.write("uml2", table, store, nesting,
+				associationMode, naming, writers, outputFile);
+			metrics.end(phase, table.size(), store.size());
+			checkpointFile.delete();
+			if (!options.has("quiet")) {
+				System.out.println("Done.");
+			}
+			
+			if (options.has("index")) {
+				banner("Indexing the relationships of the generated model.");
+				index(ModelGraph.build(table, store), metrics);
+			}
+			
+			if (options.has("analyze")) {
+				banner("Analysing attack paths from exposed elements to assets.");
+				analyze(ModelGraph.build(table, store),
+					options.getInt("analyze", 20), options, metrics);
+			}
+		} finally {
+			store.close();
+		}
+	}
+	
 	
 
 	//
 	// Model-building utilities
 	//
-	static void createConnections(int nums)
+	/*
+	 * create nums / 4 rounds of relationships, skipping the kinds that no
+	 * element can take part in; returns the number created
+	 */
+	int createConnections(int nums)
 	{
  
 		int each_num = nums / 4;
+		GenerationMetrics.Phase phase = metrics.begin("createConnections",
+			5 * each_num);
 		ArrayList<Namespace> dependElems = new ArrayList<Namespace>() ;
 		ArrayList<Classifier> generalizationElems = new ArrayList<Classifier>() ;
 		ArrayList<Type> associateElems = new ArrayList<Type>() ;
@@ -220,27 +750,97 @@ public class GettingStartedWithUML2 {
 		}
 //		ArrayList<Port> connectElems;//now there is no port
 		
-		for(int i = 0; i < each_num; i++)
+		// a mix without nodes or classifiers leaves the kinds of relationship
+		// between them without elements, so they are skipped
+		boolean[] possible = new boolean[ModelGraph.KIND_NAMES.length];
+		possible[ModelGraph.DEPENDENCY] = !dependElems.isEmpty();
+		possible[ModelGraph.GENERALIZATION] = !generalizationElems.isEmpty();
+		possible[ModelGraph.ASSOCIATION] = !associateElems.isEmpty();
+		possible[ModelGraph.COMMUNICATION_PATH] = !nodeElems.isEmpty();
+		possible[ModelGraph.DEPLOYMENT] = !nodeElems.isEmpty();
+		int created = 0;
+		
+		byte[] cycle = profile.getEdgeCycle();
+		for(int i = 0; cycle != null && i < 5 * each_num; i++)
+		{
+			if(possible[cycle[i % cycle.length]])
+			{
+				createConnection(cycle[i % cycle.length], dependElems, generalizationElems, associateElems, nodeElems);
+				created++;
+			}
+			metrics.step(1);
+		}
+		for(int i = 0; cycle == null && i < each_num; i++)
 		{
-			int j = (int)(Math.random()*dependElems.size());
-			int k = (int)(Math.random()*dependElems.size());
-			createDependencies(dependElems.get(j), dependElems.get(k));
+			int j, k;
+			if(possible[ModelGraph.DEPENDENCY])
+			{
+				j = (int)(random.nextDouble()*dependElems.size());
+				k = (int)(random.nextDouble()*dependElems.size());
+				createDependencies(dependElems.get(j), dependElems.get(k));
+				created++;
+			}
 			
 //			System.out.println(j+k);
 			
-			j = (int)(Math.random()*generalizationElems.size());
-			k = (int)(Math.random()*generalizationElems.size());
-			createGeneralizations(generalizationElems.get(j), generalizationElems.get(k));
-			
-			j = (int)(Math.random()*associateElems.size());
-			k = (int)(Math.random()*associateElems.size());
-			createAssociations(associateElems.get(j), associateElems.get(k));
+			if(possible[ModelGraph.GENERALIZATION])
+			{
+				j = (int)(random.nextDouble()*generalizationElems.size());
+				k = (int)(random.nextDouble()*generalizationElems.size());
+				createGeneralizations(generalizationElems.get(j), generalizationElems.get(k));
+				created++;
+			}
 			
-			j = (int)(Math.random()*nodeElems.size());
-			k = (int)(Math.random()*nodeElems.size());
-			createCommunicationPaths(nodeElems.get(j), nodeElems.get(k));
-			createDeployments(nodeElems.get(j), nodeElems.get(k));
+			if(possible[ModelGraph.ASSOCIATION])
+			{
+				j = (int)(random.nextDouble()*associateElems.size());
+				k = (int)(random.nextDouble()*associateElems.size());
+				createAssociations(associateElems.get(j), associateElems.get(k));
+				created++;
+			}
 			
+			if(possible[ModelGraph.COMMUNICATION_PATH])
+			{
+				j = (int)(random.nextDouble()*nodeElems.size());
+				k = (int)(random.nextDouble()*nodeElems.size());
+				createCommunicationPaths(nodeElems.get(j), nodeElems.get(k));
+				createDeployments(nodeElems.get(j), nodeElems.get(k));
+				created += 2;
+			}
+			metrics.step(5);
+		}
+		metrics.end(phase, 0, created);
+		return created;
+	}
+	
+	/*
+	 * create one relationship of a kind of the profile's relationship cycle
+	 * between two random elements that can take part in it
+	 */
+	void createConnection(byte kind, List<Namespace> dependElems, List<Classifier> generalizationElems, List<Type> associateElems, List<Node> nodeElems)
+	{
+		switch(kind)
+		{
+			case ModelGraph.DEPENDENCY:
+				createDependencies(dependElems.get((int)(random.nextDouble()*dependElems.size())),
+					dependElems.get((int)(random.nextDouble()*dependElems.size())));
+				break;
+			case ModelGraph.GENERALIZATION:
+				createGeneralizations(generalizationElems.get((int)(random.nextDouble()*generalizationElems.size())),
+					generalizationElems.get((int)(random.nextDouble()*generalizationElems.size())));
+				break;
+			case ModelGraph.ASSOCIATION:
+				createAssociations(associateElems.get((int)(random.nextDouble()*associateElems.size())),
+					associateElems.get((int)(random.nextDouble()*associateElems.size())));
+				break;
+			case ModelGraph.COMMUNICATION_PATH:
+				createCommunicationPaths(nodeElems.get((int)(random.nextDouble()*nodeElems.size())),
+					nodeElems.get((int)(random.nextDouble()*nodeElems.size())));
+				break;
+			case ModelGraph.DEPLOYMENT:
+				createDeployments(nodeElems.get((int)(random.nextDouble()*nodeElems.size())),
+					nodeElems.get((int)(random.nextDouble()*nodeElems.size())));
+				break;
 		}
 	}
 	
@@ -253,17 +853,55 @@ public class GettingStartedWithUML2 {
 		specificClassifier.createGeneralization(generalClassifier);
 	}
 	 
-	static void createAssociations(Type type1, Type type2)
+	void createAssociations(Type type1, Type type2)
 	{
+		if(associationMode != AssociationMode.FULL)
+		{
+			createLiteAssociation(UMLPackage.Literals.ASSOCIATION, type1,
+				naming.getEndName(type1.getName()), type2, naming.getEndName(type2.getName()));
+			return;
+		}
 		type1.createAssociation(true, AggregationKind.NONE_LITERAL,
-				type1.getName(), 0, 1,
-				type2, true, AggregationKind.NONE_LITERAL, type2.getName(), 0, 1);
+				naming.getEndName(type1.getName()), 0, 1,
+				type2, true, AggregationKind.NONE_LITERAL, naming.getEndName(type2.getName()), 0, 1);
 	}
 	
-	static void createCommunicationPaths(Node node1, Node node2)
+	void createCommunicationPaths(Node node1, Node node2)
 	{
+		if(associationMode != AssociationMode.FULL)
+		{
+			createLiteAssociation(UMLPackage.Literals.COMMUNICATION_PATH, node1,
+				naming.getEndName("node_"), node2, naming.getEndName("node_"));
+			return;
+		}
 		node1.createCommunicationPath(true, AggregationKind.NONE_LITERAL, 
-				"node_", 0, 1, node2, true, AggregationKind.NONE_LITERAL, "node_", 0, 1);
+				naming.getEndName("node_"), 0, 1, node2, true, AggregationKind.NONE_LITERAL, naming.getEndName("node_"), 0, 1);
+	}
+	
+	/*
+	 * create an association between type1 and type2 that owns both of its
+	 * navigable ends, with only the multiplicity literals of the association
+	 * mode, and add it directly to the packaged elements of type1's package
+	 * rather than through the derived owned types list
+	 */
+	Association createLiteAssociation(EClass eClass, Type type1, String end1Name, Type type2, String end2Name)
+	{
+		Association association = (Association) UMLFactory.eINSTANCE.create(eClass);
+		createLiteEnd(association, end1Name, type2);
+		createLiteEnd(association, end2Name, type1);
+		type1.getNearestPackage().getPackagedElements().add(association);
+		return association;
+	}
+	
+	Property createLiteEnd(Association association, String name, Type type)
+	{
+		Property end = association.createNavigableOwnedEnd(name, type);
+		if(associationMode.hasLowerValue())
+		{
+			end.createLowerValue(null, null, UMLPackage.Literals.LITERAL_INTEGER);
+		}
+		// the default upper bound is already 1, and only FULL ends have upper values
+		return end;
 	}
 	
 	static void createDeployments(Node node1, Node node2)
@@ -278,7 +916,100 @@ public class GettingStartedWithUML2 {
 		 connector.createEnd().setRole(p2);
 	}
 	
-	protected static Generalization createGeneralization(
+	/*
+	 * reject a negative number of ports or connectors per component
+	 */
+	static void checkPorts(int portsPerComponent, int connectorsPerComponent)
+	{
+		if(portsPerComponent < 0)
+		{
+			throw new IllegalArgumentException(
+				"Ports per component must not be negative: " + portsPerComponent);
+		}
+		if(connectorsPerComponent < 0)
+		{
+			throw new IllegalArgumentException(
+				"Connectors per component must not be negative: " + connectorsPerComponent);
+		}
+	}
+	
+	/*
+	 * reject a number of nodes too small for one element of every kind, which
+	 * createConnections needs to find an element for each kind of relationship;
+	 * a template is amplified by copies, so any positive number of them will do
+	 */
+	static void checkNodes(int nodes, boolean template)
+	{
+		int least = template ? 1 : ElementKind.values().length;
+		if(nodes < least)
+		{
+			throw new IllegalArgumentException(
+				"The number of nodes must be at least " + least + ": " + nodes);
+		}
+	}
+	
+	/*
+	 * give every component <portsPerComponent> ports, typed by the interfaces in
+	 * turn, and wire <connectorsPerComponent> connectors between random pairs
+	 * of its ports; the ports and connectors of a component are created
+	 * detached and added to it in one batch each
+	 */
+	void createPorts(int portsPerComponent, int connectorsPerComponent)
+	{
+		checkPorts(portsPerComponent, connectorsPerComponent);
+		int portCount = portsPerComponent * components.size();
+		int connectorCount = (portsPerComponent < 2) ? 0 : connectorsPerComponent * components.size();
+		GenerationMetrics.Phase phase = metrics.begin("createPorts", portCount + connectorCount);
+		UMLFactory factory = UMLFactory.eINSTANCE;
+		ports.ensureCapacity(portCount);
+		List<Port> componentPorts = new ArrayList<Port>(portsPerComponent);
+		List<Connector> connectors = new ArrayList<Connector>(connectorsPerComponent);
+		int connectorIndex = 0;
+		
+		for(Component component : components)
+		{
+			componentPorts.clear();
+			for(int i = 0; i < portsPerComponent; i++)
+			{
+				Port port = factory.createPort();
+				port.setName(naming.getName("port", "pt", ports.size()));
+				if(!interfaces.isEmpty())
+				{
+					port.setType(interfaces.get(ports.size() % interfaces.size()));
+				}
+				componentPorts.add(port);
+				ports.add(port);
+			}
+			component.getOwnedAttributes().addAll(componentPorts);
+			
+			if(portsPerComponent < 2)
+			{
+				metrics.step(portsPerComponent);
+				continue;
+			}
+			
+			connectors.clear();
+			for(int i = 0; i < connectorsPerComponent; i++)
+			{
+				int j = (int)(random.nextDouble()*portsPerComponent);
+				int k = (int)(random.nextDouble()*(portsPerComponent - 1));
+				if(k >= j)
+				{
+					k++;
+				}
+				Connector connector = factory.createConnector();
+				connector.setName(naming.getName("connector", "cn", connectorIndex++));
+				connector.createEnd().setRole(componentPorts.get(j));
+				connector.createEnd().setRole(componentPorts.get(k));
+				connectors.add(connector);
+			}
+			component.getOwnedConnectors().addAll(connectors);
+			metrics.step(portsPerComponent + connectorsPerComponent);
+		}
+		metrics.end(phase, portCount, connectorCount);
+	}
+	
+	protected Generalization createGeneralization(
 			Classifier specificClassifier, Classifier generalClassifier) {
 
 		Generalization generalization = specificClassifier
@@ -291,66 +1022,191 @@ public class GettingStartedWithUML2 {
 		return generalization;
 	}
 	/*
-	 * create all nodes and add comments to node
+	 * create all nodes
 	 * 
 	 */
-	protected static void  createNode(Model model, int nums)
+	protected void  createNode(Model model, int nums)
 	{
 		int each_num = nums / 8;
+		int k = 0;
+		GenerationMetrics.Phase phase = metrics.begin("createNode", nums);
 		for(int i = 0; i < each_num; i++)
 		{
-			models.add((Model) create_model(model, "model"+Integer.toString(i)));
-			components.add((Component)create_component(model, "component"+Integer.toString(i)));
-			packages.add((org.eclipse.uml2.uml.Package) create_package(model, "package"+Integer.toString(i)));
-			interfaces.add((Interface) create_interface(model, "interface"+Integer.toString(i)));
-			devices.add((Device) create_device(model, "device"+Integer.toString(i)));
-			nodes.add((Node) create_node(model, "node"+Integer.toString(i)));
-			executionEnvironments.add((ExecutionEnvironment) create_execution_environment(model, "executionEnvironment"+Integer.toString(i)));
-			artifacts.add((Artifact) create_artifact(model, "artifact"+Integer.toString(i)));
-			
-			creatComments(i);
-			
+			models.add((Model) create_model(containerOf(k++, nums), name(ElementKind.MODEL, i)));
+			components.add((Component)create_component(containerOf(k++, nums), name(ElementKind.COMPONENT, i)));
+			packages.add((org.eclipse.uml2.uml.Package) create_package(containerOf(k++, nums), name(ElementKind.PACKAGE, i)));
+			interfaces.add((Interface) create_interface(containerOf(k++, nums), name(ElementKind.INTERFACE, i)));
+			devices.add((Device) create_device(containerOf(k++, nums), name(ElementKind.DEVICE, i)));
+			nodes.add((Node) create_node(containerOf(k++, nums), name(ElementKind.NODE, i)));
+			executionEnvironments.add((ExecutionEnvironment) create_execution_environment(containerOf(k++, nums), name(ElementKind.EXECUTION_ENVIRONMENT, i)));
+			artifacts.add((Artifact) create_artifact(containerOf(k++, nums), name(ElementKind.ARTIFACT, i)));
+			metrics.step(8);
 		}
 		for(int i = 0; i < nums- 8*each_num; i++)
 		{
-			components.add((Component)create_component(model, "component"+Integer.toString(i+each_num))); 
+			components.add((Component)create_component(containerOf(k++, nums), name(ElementKind.COMPONENT, i+each_num))); 
+			metrics.step(1);
+		}
+		metrics.end(phase, nums, 0);
+	}
+	
+	/*
+	 * create all nodes kind by kind, in the proportions of the element mix
+	 * 
+	 */
+	protected void createNode(Model model, int nums, ElementMix mix)
+	{
+		int[] counts = mix.apportion(nums);
+		GenerationMetrics.Phase phase = metrics.begin("createNode", nums);
+		for(org.eclipse.uml2.uml.Package container : containers)
+		{
+			EList<org.eclipse.uml2.uml.PackageableElement> packagedElements = container.getPackagedElements();
+			((BasicEList<?>) packagedElements).grow(packagedElements.size() + nums / containers.size() + 1);
 		}
 		
-		
+		int start = 0;
+		for(ElementKind kind : ElementKind.values())
+		{
+			int end = start + counts[kind.ordinal()];
+			for(int k = start; k < end; )
+			{
+				int container = containerIndexOf(k, nums);
+				int next = Math.min(end, firstIndexOf(container + 1, nums));
+				create_kind(containers.get(container), kind, k - start, next - k);
+				k = next;
+			}
+			metrics.step(end - start);
+			start = end;
+		}
+		metrics.end(phase, nums, 0);
+	}
+	
+	void create_kind(org.eclipse.uml2.uml.Package container, ElementKind kind, int first, int count)
+	{
+		switch(kind)
+		{
+			case MODEL:
+				models.addAll(create_elements(container, kind, first, count, Model.class));
+				break;
+			case COMPONENT:
+				components.addAll(create_elements(container, kind, first, count, Component.class));
+				break;
+			case PACKAGE:
+				packages.addAll(create_elements(container, kind, first, count, org.eclipse.uml2.uml.Package.class));
+				break;
+			case INTERFACE:
+				interfaces.addAll(create_elements(container, kind, first, count, Interface.class));
+				break;
+			case DEVICE:
+				devices.addAll(create_elements(container, kind, first, count, Device.class));
+				break;
+			case NODE:
+				nodes.addAll(create_elements(container, kind, first, count, Node.class));
+				break;
+			case EXECUTION_ENVIRONMENT:
+				executionEnvironments.addAll(create_elements(container, kind, first, count, ExecutionEnvironment.class));
+				break;
+			case ARTIFACT:
+				artifacts.addAll(create_elements(container, kind, first, count, Artifact.class));
+				break;
+		}
+	}
+	
+	/*
+	 * create the tree of nested namespaces of the nesting plan under the root
+	 * model; the generated elements go into its leaves
+	 * 
+	 */
+	void createNamespaces(org.eclipse.uml2.uml.Package root, NestingPlan plan)
+	{
+		nesting = plan;
+		containers = new ArrayList<org.eclipse.uml2.uml.Package>(plan.getLeafCount());
+		createNamespaces(root, null, 1, plan);
+	}
+	
+	private void createNamespaces(org.eclipse.uml2.uml.Package parent, String parentName, int level, NestingPlan plan)
+	{
+		if(level > plan.getDepth())
+		{
+			containers.add(parent);
+			return;
+		}
+		for(int i = 0; i < plan.getFanout(); i++)
+		{
+			String name = plan.getName(parentName, i);
+			org.eclipse.uml2.uml.Package child = plan.isModel(level)
+				? (org.eclipse.uml2.uml.Package) create_model(parent, name)
+				: (org.eclipse.uml2.uml.Package) create_package(parent, name);
+			createNamespaces(child, name, level + 1, plan);
+		}
 	}
 	
-	 static void creatComments( int i)
+	/*
+	 * the namespace that holds the index-th of total generated elements
+	 */
+	org.eclipse.uml2.uml.Package containerOf(int index, int total)
+	{
+		return containers.get(containerIndexOf(index, total));
+	}
+	
+	int containerIndexOf(int index, int total)
+	{
+		return (nesting == null) ? 0 : nesting.leafOf(index, total);
+	}
+	
+	int firstIndexOf(int container, int total)
+	{
+		if (nesting == null) {
+			return (container == 0) ? 0 : total;
+		}
+		return nesting.firstOf(container, total);
+	}
+	
+	/*
+	 * add comments to the nodes of the first <rounds> rounds of createNode
+	 * 
+	 */
+	void createComments(int rounds)
+	{
+		GenerationMetrics.Phase phase = metrics.begin("createComments", rounds);
+		for(int i = 0; i < rounds; i++)
+		{
+			creatComments(i);
+			metrics.step(1);
+		}
+		metrics.end(phase, rounds, 0);
+	}
+	
+	 void creatComments( int i)
 	 {
-		 int j = (int) (Math.random()*7);
-		 int selector = (int)(Math.random()*2);
-//		 System.out.println("selector"+selector);
-		 if(selector < 1)
+		 int j = profile.getCommentKind(random.nextDouble());
+		 if(profile.isExposure(random.nextDouble()))
 		 {
 			 switch(j)
 				{
 					case 0:
-						creatExposureComments(models.get(i));
+						creatExposureComments(pick(models, i));
 						break;
 					case 1:
-						creatExposureComments(components.get(i));
+						creatExposureComments(pick(components, i));
 						break;
 					case 2:
-						creatExposureComments(packages.get(i));
+						creatExposureComments(pick(packages, i));
 						break;
 					case 3:
-						creatExposureComments(interfaces.get(i));
+						creatExposureComments(pick(interfaces, i));
 						break;
 					case 4:
-						creatExposureComments(devices.get(i));
+						creatExposureComments(pick(devices, i));
 						break;
 					case 5:
-						creatExposureComments(nodes.get(i));
+						creatExposureComments(pick(nodes, i));
 						break;
 					case 6:
-						creatExposureComments(executionEnvironments.get(i));
+						creatExposureComments(pick(executionEnvironments, i));
 						break;
 					case 7:
-						creatExposureComments(artifacts.get(i));
+						creatExposureComments(pick(artifacts, i));
 						break;
 					default : 
 						break;
@@ -361,28 +1217,28 @@ public class GettingStartedWithUML2 {
 			 switch(j)
 				{
 					case 0:
-						creatAssetComments(models.get(i), i);
+						creatAssetComments(pick(models, i), i);
 						break;
 					case 1:
-						creatAssetComments(components.get(i), i);
+						creatAssetComments(pick(components, i), i);
 						break;
 					case 2:
-						creatAssetComments(packages.get(i), i);
+						creatAssetComments(pick(packages, i), i);
 						break;
 					case 3:
-						creatAssetComments(interfaces.get(i), i);
+						creatAssetComments(pick(interfaces, i), i);
 						break;
 					case 4:
-						creatAssetComments(devices.get(i), i);
+						creatAssetComments(pick(devices, i), i);
 						break;
 					case 5:
-						creatAssetComments(nodes.get(i), i);
+						creatAssetComments(pick(nodes, i), i);
 						break;
 					case 6:
-						creatAssetComments(executionEnvironments.get(i), i);
+						creatAssetComments(pick(executionEnvironments, i), i);
 						break;
 					case 7:
-						creatAssetComments(artifacts.get(i), i);
+						creatAssetComments(pick(artifacts, i), i);
 						break;
 					default : 
 						break;
@@ -393,19 +1249,41 @@ public class GettingStartedWithUML2 {
 			
 	 }
 	
+	/*
+	 * the name of the ordinal-th element of a kind in the naming scheme,
+	 * counting the heap that the names take
+	 */
+	String name(ElementKind kind, int ordinal)
+	{
+		String name = naming.getName(kind, ordinal);
+		nameHeapBytes += NamingScheme.heapBytes(name);
+		return name;
+	}
+	
+	/*
+	 * the i-th element of a list, wrapping around when the element mix
+	 * created fewer elements of that kind than there are rounds
+	 */
+	static <T> T pick(List<T> list, int i)
+	{
+		return list.isEmpty() ? null : list.get(i % list.size());
+	}
+	
     static void creatExposureComments(Namespace p)
     {
+    	if (p == null) return;
     	p.createOwnedComment().setBody("{\"exposure\":true}");
     }
     
     static void creatAssetComments(Namespace p, int value)
     {
+    	if (p == null) return;
     	p.createOwnedComment().setBody("{\n"
 				+ "\"value\":"+ Integer.toString(value)+ "\n"
 				+ "}");
     }
     
-	protected static Model createModel(String name) {
+	protected Model createModel(String name) {
 		Model model = UMLFactory.eINSTANCE.createModel();
 		model.setName(name);
 
@@ -414,7 +1292,7 @@ public class GettingStartedWithUML2 {
 		return model;
 	}
 
-	protected static org.eclipse.uml2.uml.Package createPackage(
+	protected org.eclipse.uml2.uml.Package createPackage(
 			org.eclipse.uml2.uml.Package nestingPackage, String name) {
 
 		org.eclipse.uml2.uml.Package package_ = nestingPackage
@@ -423,7 +1301,7 @@ public class GettingStartedWithUML2 {
 		return package_;
 	}
 
-	protected static PrimitiveType createPrimitiveType(
+	protected PrimitiveType createPrimitiveType(
 			org.eclipse.uml2.uml.Package package_, String name) {
 
 		PrimitiveType primitiveType = package_.createOwnedPrimitiveType(name);
@@ -433,7 +1311,7 @@ public class GettingStartedWithUML2 {
 		return primitiveType;
 	}
 
-	protected static Enumeration createEnumeration(
+	protected Enumeration createEnumeration(
 			org.eclipse.uml2.uml.Package package_, String name) {
 
 		Enumeration enumeration = package_.createOwnedEnumeration(name);
@@ -443,7 +1321,7 @@ public class GettingStartedWithUML2 {
 		return enumeration;
 	}
 
-	protected static EnumerationLiteral createEnumerationLiteral(
+	protected EnumerationLiteral createEnumerationLiteral(
 			Enumeration enumeration, String name) {
 
 		EnumerationLiteral enumerationLiteral = enumeration
@@ -460,7 +1338,7 @@ public class GettingStartedWithUML2 {
  * */
 	
 	
-	protected static org.eclipse.uml2.uml.PackageableElement create_model(org.eclipse.uml2.uml.Package package_, String name) {
+	protected org.eclipse.uml2.uml.PackageableElement create_model(org.eclipse.uml2.uml.Package package_, String name) {
 
 		EClass eClass = UMLPackage.Literals.MODEL;
 		org.eclipse.uml2.uml.PackageableElement model_ = package_.createPackagedElement(name, eClass);
@@ -470,7 +1348,7 @@ public class GettingStartedWithUML2 {
 		return model_;
 	}
 	
-	protected static org.eclipse.uml2.uml.PackageableElement create_package(org.eclipse.uml2.uml.Package package_, String name) {
+	protected org.eclipse.uml2.uml.PackageableElement create_package(org.eclipse.uml2.uml.Package package_, String name) {
 
 		EClass eClass = UMLPackage.Literals.PACKAGE;
 //		package_.createNestedPackage("fdsa");
@@ -481,7 +1359,7 @@ public class GettingStartedWithUML2 {
 		return package_in_diagram;
 	}
 	
-	protected static org.eclipse.uml2.uml.PackageableElement create_artifact(org.eclipse.uml2.uml.Package package_, String name) {
+	protected org.eclipse.uml2.uml.PackageableElement create_artifact(org.eclipse.uml2.uml.Package package_, String name) {
 
 		EClass eClass = UMLPackage.Literals.ARTIFACT;
 		org.eclipse.uml2.uml.PackageableElement artifact_ = package_.createPackagedElement(name, eClass);
@@ -491,7 +1369,7 @@ public class GettingStartedWithUML2 {
 		return artifact_;
 	}
 	
-	protected static org.eclipse.uml2.uml.PackageableElement create_device(org.eclipse.uml2.uml.Package package_, String name) {
+	protected org.eclipse.uml2.uml.PackageableElement create_device(org.eclipse.uml2.uml.Package package_, String name) {
 
 		EClass eClass = UMLPackage.Literals.DEVICE;
 		org.eclipse.uml2.uml.PackageableElement device_ = package_.createPackagedElement(name, eClass);
@@ -501,7 +1379,7 @@ public class GettingStartedWithUML2 {
 		return device_;
 	}
 	
-	protected static org.eclipse.uml2.uml.PackageableElement create_execution_environment(org.eclipse.uml2.uml.Package package_, String name) {
+	protected org.eclipse.uml2.uml.PackageableElement create_execution_environment(org.eclipse.uml2.uml.Package package_, String name) {
 
 		EClass eClass = UMLPackage.Literals.EXECUTION_ENVIRONMENT;
 		org.eclipse.uml2.uml.PackageableElement execution_environment_ = package_.createPackagedElement(name, eClass);
@@ -511,7 +1389,7 @@ public class GettingStartedWithUML2 {
 		return execution_environment_;
 	}
 	
-	protected static org.eclipse.uml2.uml.PackageableElement create_node(org.eclipse.uml2.uml.Package package_, String name) {
+	protected org.eclipse.uml2.uml.PackageableElement create_node(org.eclipse.uml2.uml.Package package_, String name) {
 
 		EClass eClass = UMLPackage.Literals.NODE;
 		org.eclipse.uml2.uml.PackageableElement node_ = package_.createPackagedElement(name, eClass);
@@ -521,7 +1399,7 @@ public class GettingStartedWithUML2 {
 		return node_;
 	}
 	
-	protected static org.eclipse.uml2.uml.PackageableElement create_component(org.eclipse.uml2.uml.Package package_, String name) {
+	protected org.eclipse.uml2.uml.PackageableElement create_component(org.eclipse.uml2.uml.Package package_, String name) {
 
 		EClass eClass = UMLPackage.Literals.COMPONENT;
 		org.eclipse.uml2.uml.PackageableElement component_ = package_.createPackagedElement(name, eClass);
@@ -531,7 +1409,7 @@ public class GettingStartedWithUML2 {
 		return component_;
 	}
 	
-	protected static org.eclipse.uml2.uml.PackageableElement create_interface(org.eclipse.uml2.uml.Package package_, String name) {
+	protected org.eclipse.uml2.uml.PackageableElement create_interface(org.eclipse.uml2.uml.Package package_, String name) {
 
 		EClass eClass = UMLPackage.Literals.INTERFACE;
 		org.eclipse.uml2.uml.PackageableElement interface_ = package_.createPackagedElement(name, eClass);
@@ -541,19 +1419,41 @@ public class GettingStartedWithUML2 {
 		return interface_;
 	}
 	
+	/*
+	 * create <count> elements of one kind, numbered from <first>, with a single
+	 * factory lookup and add
+	 * them to the package in one batch, so that its packagedElement list grows
+	 * once per kind instead of once per element
+	 */
+	protected <T extends org.eclipse.uml2.uml.PackageableElement> List<T> create_elements(org.eclipse.uml2.uml.Package package_, ElementKind kind, int first, int count, Class<T> type) {
+
+		EClass eClass = kind.getEClass();
+		UMLFactory factory = UMLFactory.eINSTANCE;
+		List<T> elements = new ArrayList<T>(count);
+		for(int i = 0; i < count; i++) {
+			T element = type.cast(factory.create(eClass));
+			element.setName(name(kind, first + i));
+			elements.add(element);
+			out("%s %s created.", kind.getTypeName(), element.getName());
+		}
+		package_.getPackagedElements().addAll(elements);
+		
+		return elements;
+	}
+	
 	/*
 	 * Methods for creating edges in diagrams
 	 * 
 	 * */
-	protected static void create_edges_InDiagram(org.eclipse.uml2.uml.Package package_, int edges_num) {
+	protected void create_edges_InDiagram(org.eclipse.uml2.uml.Package package_, int edges_num) {
 
 		int i, len, index_1, index_2;
 		Type t1, t2;
 		EList<Type> elist = package_.getOwnedTypes();
 		len = elist.size();
 		for(i = 0;i<edges_num;i++) {
-			index_1 = (int)(Math.random()*len);
-			index_2 = (int)(Math.random()*len);
+			index_1 = (int)(random.nextDouble()*len);
+			index_2 = (int)(random.nextDouble()*len);
 			t1 = elist.get(index_1);
 			t2 = elist.get(index_2);
 			createAssociation(t1,
@@ -567,7 +1467,7 @@ public class GettingStartedWithUML2 {
 	
 	
 	
-	protected static org.eclipse.uml2.uml.Class createClass(
+	protected org.eclipse.uml2.uml.Class createClass(
 			org.eclipse.uml2.uml.Package package_, String name,
 			boolean isAbstract) {
 
@@ -581,7 +1481,7 @@ public class GettingStartedWithUML2 {
 
 	
 
-	protected static Property createAttribute(
+	protected Property createAttribute(
 			org.eclipse.uml2.uml.Class class_, String name, Type type,
 			int lowerBound, int upperBound) {
 
@@ -599,7 +1499,7 @@ public class GettingStartedWithUML2 {
 		return attribute;
 	}
 
-	protected static Association createAssociation(Type type1,
+	protected Association createAssociation(Type type1,
 			boolean end1IsNavigable, AggregationKind end1Aggregation,
 			String end1Name, int end1LowerBound, int end1UpperBound,
 			Type type2, boolean end2IsNavigable,
@@ -644,7 +1544,8 @@ public class GettingStartedWithUML2 {
 	 * Methods for generating package program
 	 */
 	
-	protected static void generate_package_diagram(int num, org.eclipse.uml2.uml.Package package_) {
+	protected void generate_package_diagram(int num, org.eclipse.uml2.uml.Package package_) {
+		GenerationMetrics.Phase phase = metrics.begin("generate_package_diagram", num);
 		int i, index, random;
 		int[] end1 = new int[2];
 		int[] end2 = new int[2];
@@ -656,47 +1557,47 @@ public class GettingStartedWithUML2 {
 		edge_types.add("Dependency");
 		//edges in package diagram
 		for(i = 0;i < num; i++) {
-			index = (int)(Math.random()*edge_types.size());
+			index = (int)(this.random.nextDouble()*edge_types.size());
 			type = edge_types.get(index);
 			for(int j : end1) j=-1;
 			for(int j : end2) j=-1;
 			
 			if(type.equals("Dependency")) {
-				random = (int)(Math.random()*2);
+				random = (int)(this.random.nextDouble()*2);
 				switch(random) {
 					case 0 :if(packages.size() == 0) {
 								org.eclipse.uml2.uml.PackageableElement p = create_package(package_, "package_"+packages.size());
 								packages.add(p);
 								end1[1] = 0;
 							}
-							else end1[1] = (int)(Math.random()*packages.size());
+							else end1[1] = (int)(this.random.nextDouble()*packages.size());
 							end1[0] = random; break;
 					case 1 :if(models.size() == 0) {
 								org.eclipse.uml2.uml.PackageableElement m = create_model(package_, "model_"+models.size());
 								models.add(m);
 								end1[1] = 0;
 							}
-							else end1[1] = (int)(Math.random()*models.size());
+							else end1[1] = (int)(this.random.nextDouble()*models.size());
 							end1[0] = random; break;
 					
 					default: break;
 				}
 				
-				random = (int)(Math.random()*2);
+				random = (int)(this.random.nextDouble()*2);
 				switch(random) {
 					case 0 :if(packages.size() == 0) {
 								org.eclipse.uml2.uml.PackageableElement p = create_package(package_, "package_"+packages.size());
 								packages.add(p);
 								end2[1] = 0;
 							}
-							else end2[1] = (int)(Math.random()*packages.size());
+							else end2[1] = (int)(this.random.nextDouble()*packages.size());
 							end2[0] = random; break;
 					case 1 :if(models.size() == 0) {
 								org.eclipse.uml2.uml.PackageableElement m = create_model(package_, "model_"+models.size());
 								models.add(m);
 								end2[1] = 0;
 							}
-							else end2[1] = (int)(Math.random()*models.size());
+							else end2[1] = (int)(this.random.nextDouble()*models.size());
 							end2[0] = random; break;
 					
 					default: break;
@@ -715,7 +1616,7 @@ public class GettingStartedWithUML2 {
 			switch(i) {
 			case 0:
 				for(org.eclipse.uml2.uml.PackageableElement pe:packages) {
-					random = (int)(Math.random()*2);
+					random = (int)(this.random.nextDouble()*2);
 					Comment cmt = pe.createOwnedComment();
 					if(random == 0) cmt.setBody("{\"exposure\":true}");
 					else cmt.setBody("{\n"
@@ -725,7 +1626,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 1:
 				for(org.eclipse.uml2.uml.PackageableElement pe:models) {
-					random = (int)(Math.random()*2);
+					random = (int)(this.random.nextDouble()*2);
 					Comment cmt = pe.createOwnedComment();
 					if(random == 0) cmt.setBody("{\"exposure\":true}");
 					else cmt.setBody("{\n"
@@ -735,6 +1636,7 @@ public class GettingStartedWithUML2 {
 				break;
 			}
 		}
+		metrics.end(phase, package_.getPackagedElements().size(), num);
 		System.out.println("Package diagram created.");
 		
 	}
@@ -742,7 +1644,8 @@ public class GettingStartedWithUML2 {
 	/*
 	 * 
 	 */
-	protected static void generate_deployment_diagram(int num, org.eclipse.uml2.uml.Package package_) {
+	protected void generate_deployment_diagram(int num, org.eclipse.uml2.uml.Package package_) {
+		GenerationMetrics.Phase phase = metrics.begin("generate_deployment_diagram", num);
 		int i, index, random1, random2, index1, index2;
 		String type;
 		ArrayList<String> edge_types = new ArrayList<String>();
@@ -761,7 +1664,7 @@ public class GettingStartedWithUML2 {
 		edge_types.add("Association");
 		
 		for(i = 0;i < num;i++) {
-			index = (int)(Math.random()*edge_types.size());
+			index = (int)(random.nextDouble()*edge_types.size());
 			type = edge_types.get(index);
 			
 			if (type.equals("CommunicationPath")) {
@@ -769,12 +1672,12 @@ public class GettingStartedWithUML2 {
 					Node n = (Node)create_node(package_, "node_"+nodes.size());
 					nodes.add(n);
 				}
-				index1 = (int)(Math.random()*nodes.size());
-				index2 = (int)(Math.random()*nodes.size());
+				index1 = (int)(random.nextDouble()*nodes.size());
+				index2 = (int)(random.nextDouble()*nodes.size());
 				nodes.get(index1).createCommunicationPath(true, AggregationKind.NONE_LITERAL, "node_"+index1, 0, 1, nodes.get(index2), true, AggregationKind.NONE_LITERAL, "node_"+index2, 0, 1);
 			}
 			else if(type.equals("Dependency")) {
-				random1 = (int)(Math.random()*6);
+				random1 = (int)(random.nextDouble()*6);
 				switch(random1) {
 					case 0: 
 						if(devices.size() == 0) {
@@ -782,8 +1685,8 @@ public class GettingStartedWithUML2 {
 							devices.add(d);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*devices.size());
-						random2 = (int)(Math.random()*6);
+						else index1 = (int)(random.nextDouble()*devices.size());
+						random2 = (int)(random.nextDouble()*6);
 						switch(random2) {
 							case 0:
 								if(devices.size() == 0) {
@@ -791,7 +1694,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								devices.get(index1).createDependency(devices.get(index2));
 								break;
 							case 1:
@@ -800,7 +1703,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								devices.get(index1).createDependency(nodes.get(index2));
 								break;
 							case 2:
@@ -809,7 +1712,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								devices.get(index1).createDependency(execution_environments.get(index2));
 								break;
 							case 3:
@@ -818,7 +1721,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								devices.get(index1).createDependency(artifacts.get(index2));
 								break;
 							case 4:
@@ -827,7 +1730,7 @@ public class GettingStartedWithUML2 {
 									packages.add(p);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*packages.size());
+								else index2 = (int)(random.nextDouble()*packages.size());
 								devices.get(index1).createDependency(packages.get(index2));
 								break;
 							case 5:
@@ -836,7 +1739,7 @@ public class GettingStartedWithUML2 {
 									models.add(m);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*models.size());
+								else index2 = (int)(random.nextDouble()*models.size());
 								devices.get(index1).createDependency(models.get(index2));
 								break;
 						}
@@ -847,8 +1750,8 @@ public class GettingStartedWithUML2 {
 							nodes.add(n);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*nodes.size());
-						random2 = (int)(Math.random()*6);
+						else index1 = (int)(random.nextDouble()*nodes.size());
+						random2 = (int)(random.nextDouble()*6);
 						switch(random2) {
 							case 0:
 								if(devices.size() == 0) {
@@ -856,7 +1759,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								nodes.get(index1).createDependency(devices.get(index2));
 								break;
 							case 1:
@@ -865,7 +1768,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								nodes.get(index1).createDependency(nodes.get(index2));
 								break;
 							case 2:
@@ -874,7 +1777,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								nodes.get(index1).createDependency(execution_environments.get(index2));
 								break;
 							case 3:
@@ -883,7 +1786,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								nodes.get(index1).createDependency(artifacts.get(index2));
 								break;
 							case 4:
@@ -892,7 +1795,7 @@ public class GettingStartedWithUML2 {
 									packages.add(p);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*packages.size());
+								else index2 = (int)(random.nextDouble()*packages.size());
 								nodes.get(index1).createDependency(packages.get(index2));
 								break;
 							case 5:
@@ -901,7 +1804,7 @@ public class GettingStartedWithUML2 {
 									models.add(m);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*models.size());
+								else index2 = (int)(random.nextDouble()*models.size());
 								nodes.get(index1).createDependency(models.get(index2));
 								break;
 						}
@@ -912,8 +1815,8 @@ public class GettingStartedWithUML2 {
 							execution_environments.add(e);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*execution_environments.size());
-						random2 = (int)(Math.random()*6);
+						else index1 = (int)(random.nextDouble()*execution_environments.size());
+						random2 = (int)(random.nextDouble()*6);
 						switch(random2) {
 							case 0:
 								if(devices.size() == 0) {
@@ -921,7 +1824,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								execution_environments.get(index1).createDependency(devices.get(index2));
 								break;
 							case 1:
@@ -930,7 +1833,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								execution_environments.get(index1).createDependency(nodes.get(index2));
 								break;
 							case 2:
@@ -939,7 +1842,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								execution_environments.get(index1).createDependency(execution_environments.get(index2));
 								break;
 							case 3:
@@ -948,7 +1851,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								execution_environments.get(index1).createDependency(artifacts.get(index2));
 								break;
 							case 4:
@@ -957,7 +1860,7 @@ public class GettingStartedWithUML2 {
 									packages.add(p);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*packages.size());
+								else index2 = (int)(random.nextDouble()*packages.size());
 								execution_environments.get(index1).createDependency(packages.get(index2));
 								break;
 							case 5:
@@ -966,7 +1869,7 @@ public class GettingStartedWithUML2 {
 									models.add(m);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*models.size());
+								else index2 = (int)(random.nextDouble()*models.size());
 								execution_environments.get(index1).createDependency(models.get(index2));
 								break;
 						}
@@ -977,8 +1880,8 @@ public class GettingStartedWithUML2 {
 							artifacts.add(a);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*artifacts.size());
-						random2 = (int)(Math.random()*6);
+						else index1 = (int)(random.nextDouble()*artifacts.size());
+						random2 = (int)(random.nextDouble()*6);
 						switch(random2) {
 							case 0:
 								if(devices.size() == 0) {
@@ -986,7 +1889,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								artifacts.get(index1).createDependency(devices.get(index2));
 								break;
 							case 1:
@@ -995,7 +1898,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								artifacts.get(index1).createDependency(nodes.get(index2));
 								break;
 							case 2:
@@ -1004,7 +1907,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								artifacts.get(index1).createDependency(execution_environments.get(index2));
 								break;
 							case 3:
@@ -1013,7 +1916,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								artifacts.get(index1).createDependency(artifacts.get(index2));
 								break;
 							case 4:
@@ -1022,7 +1925,7 @@ public class GettingStartedWithUML2 {
 									packages.add(p);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*packages.size());
+								else index2 = (int)(random.nextDouble()*packages.size());
 								artifacts.get(index1).createDependency(packages.get(index2));
 								break;
 							case 5:
@@ -1031,7 +1934,7 @@ public class GettingStartedWithUML2 {
 									models.add(m);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*models.size());
+								else index2 = (int)(random.nextDouble()*models.size());
 								artifacts.get(index1).createDependency(models.get(index2));
 								break;
 						}
@@ -1042,8 +1945,8 @@ public class GettingStartedWithUML2 {
 							packages.add(p);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*packages.size());
-						random2 = (int)(Math.random()*6);
+						else index1 = (int)(random.nextDouble()*packages.size());
+						random2 = (int)(random.nextDouble()*6);
 						switch(random2) {
 							case 0:
 								if(devices.size() == 0) {
@@ -1051,7 +1954,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								packages.get(index1).createDependency(devices.get(index2));
 								break;
 							case 1:
@@ -1060,7 +1963,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								packages.get(index1).createDependency(nodes.get(index2));
 								break;
 							case 2:
@@ -1069,7 +1972,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								packages.get(index1).createDependency(execution_environments.get(index2));
 								break;
 							case 3:
@@ -1078,7 +1981,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								packages.get(index1).createDependency(artifacts.get(index2));
 								break;
 							case 4:
@@ -1087,7 +1990,7 @@ public class GettingStartedWithUML2 {
 									packages.add(p);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*packages.size());
+								else index2 = (int)(random.nextDouble()*packages.size());
 								packages.get(index1).createDependency(packages.get(index2));
 								break;
 							case 5:
@@ -1096,7 +1999,7 @@ public class GettingStartedWithUML2 {
 									models.add(m);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*models.size());
+								else index2 = (int)(random.nextDouble()*models.size());
 								packages.get(index1).createDependency(models.get(index2));
 								break;
 						}
@@ -1107,8 +2010,8 @@ public class GettingStartedWithUML2 {
 							models.add(m);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*models.size());
-						random2 = (int)(Math.random()*6);
+						else index1 = (int)(random.nextDouble()*models.size());
+						random2 = (int)(random.nextDouble()*6);
 						switch(random2) {
 							case 0:
 								if(devices.size() == 0) {
@@ -1116,7 +2019,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								models.get(index1).createDependency(devices.get(index2));
 								break;
 							case 1:
@@ -1125,7 +2028,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								models.get(index1).createDependency(nodes.get(index2));
 								break;
 							case 2:
@@ -1134,7 +2037,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								models.get(index1).createDependency(execution_environments.get(index2));
 								break;
 							case 3:
@@ -1143,7 +2046,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								models.get(index1).createDependency(artifacts.get(index2));
 								break;
 							case 4:
@@ -1152,7 +2055,7 @@ public class GettingStartedWithUML2 {
 									packages.add(p);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*packages.size());
+								else index2 = (int)(random.nextDouble()*packages.size());
 								models.get(index1).createDependency(packages.get(index2));
 								break;
 							case 5:
@@ -1161,7 +2064,7 @@ public class GettingStartedWithUML2 {
 									models.add(m);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*models.size());
+								else index2 = (int)(random.nextDouble()*models.size());
 								models.get(index1).createDependency(models.get(index2));
 								break;
 						}
@@ -1170,7 +2073,7 @@ public class GettingStartedWithUML2 {
 				}
 			}
 			else if(type.equals("Deployment")) {
-				random1 = (int)(Math.random()*3);
+				random1 = (int)(random.nextDouble()*3);
 				switch(random1) {
 					case 0: 
 						if(devices.size() == 0) {
@@ -1178,7 +2081,7 @@ public class GettingStartedWithUML2 {
 							devices.add(d);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*devices.size());
+						else index1 = (int)(random.nextDouble()*devices.size());
 						devices.get(index1).createDeployment("deployment_"+i);
 						break;
 					case 1: 
@@ -1187,7 +2090,7 @@ public class GettingStartedWithUML2 {
 							nodes.add(n);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*nodes.size());
+						else index1 = (int)(random.nextDouble()*nodes.size());
 						nodes.get(index1).createDeployment("deployment_"+i);
 						break;
 					case 2: 
@@ -1196,14 +2099,14 @@ public class GettingStartedWithUML2 {
 							execution_environments.add(e);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*execution_environments.size());
+						else index1 = (int)(random.nextDouble()*execution_environments.size());
 						execution_environments.get(index1).createDeployment("deployment_"+i);
 						break;
 					default: break;
 				}
 			}
 			else if(type.equals("Generalization")) {
-				random1 = (int)(Math.random()*4);
+				random1 = (int)(random.nextDouble()*4);
 				switch(random1) {
 					case 0: 
 						if(devices.size() == 0) {
@@ -1211,8 +2114,8 @@ public class GettingStartedWithUML2 {
 							devices.add(d);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*devices.size());
-						random2 = (int)(Math.random()*4);
+						else index1 = (int)(random.nextDouble()*devices.size());
+						random2 = (int)(random.nextDouble()*4);
 						switch(random2) {
 							case 0 :
 								if(devices.size() == 0) {
@@ -1220,7 +2123,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								devices.get(index1).createGeneralization(devices.get(index2));
 								break;
 							case 1:
@@ -1229,7 +2132,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								devices.get(index1).createGeneralization(nodes.get(index2));
 								break;
 							case 2:
@@ -1238,7 +2141,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								devices.get(index1).createGeneralization(execution_environments.get(index2));
 								break;
 							case 3:
@@ -1247,7 +2150,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								devices.get(index1).createGeneralization(artifacts.get(index2));
 								break;
 						}
@@ -1258,8 +2161,8 @@ public class GettingStartedWithUML2 {
 							nodes.add(n);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*nodes.size());
-						random2 = (int)(Math.random()*4);
+						else index1 = (int)(random.nextDouble()*nodes.size());
+						random2 = (int)(random.nextDouble()*4);
 						switch(random2) {
 							case 0 :
 								if(devices.size() == 0) {
@@ -1267,7 +2170,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								nodes.get(index1).createGeneralization(devices.get(index2));
 								break;
 							case 1:
@@ -1276,7 +2179,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								nodes.get(index1).createGeneralization(nodes.get(index2));
 								break;
 							case 2:
@@ -1285,7 +2188,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								nodes.get(index1).createGeneralization(execution_environments.get(index2));
 								break;
 							case 3:
@@ -1294,7 +2197,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								nodes.get(index1).createGeneralization(artifacts.get(index2));
 								break;
 						}
@@ -1305,8 +2208,8 @@ public class GettingStartedWithUML2 {
 							execution_environments.add(e);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*execution_environments.size());
-						random2 = (int)(Math.random()*4);
+						else index1 = (int)(random.nextDouble()*execution_environments.size());
+						random2 = (int)(random.nextDouble()*4);
 						switch(random2) {
 							case 0 :
 								if(devices.size() == 0) {
@@ -1314,7 +2217,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								execution_environments.get(index1).createGeneralization(devices.get(index2));
 								break;
 							case 1:
@@ -1323,7 +2226,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								execution_environments.get(index1).createGeneralization(nodes.get(index2));
 								break;
 							case 2:
@@ -1332,7 +2235,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								execution_environments.get(index1).createGeneralization(execution_environments.get(index2));
 								break;
 							case 3:
@@ -1341,7 +2244,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								execution_environments.get(index1).createGeneralization(artifacts.get(index2));
 								break;
 						}
@@ -1352,8 +2255,8 @@ public class GettingStartedWithUML2 {
 							artifacts.add(a);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*artifacts.size());
-						random2 = (int)(Math.random()*4);
+						else index1 = (int)(random.nextDouble()*artifacts.size());
+						random2 = (int)(random.nextDouble()*4);
 						switch(random2) {
 							case 0 :
 								if(devices.size() == 0) {
@@ -1361,7 +2264,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								artifacts.get(index1).createGeneralization(devices.get(index2));
 								break;
 							case 1:
@@ -1370,7 +2273,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								artifacts.get(index1).createGeneralization(nodes.get(index2));
 								break;
 							case 2:
@@ -1379,7 +2282,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								artifacts.get(index1).createGeneralization(execution_environments.get(index2));
 								break;
 							case 3:
@@ -1388,7 +2291,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								artifacts.get(index1).createGeneralization(artifacts.get(index2));
 								break;
 						}
@@ -1397,7 +2300,7 @@ public class GettingStartedWithUML2 {
 				}
 			}
 			else if(type.equals("Association")) {
-				random1 = (int)(Math.random()*4);
+				random1 = (int)(random.nextDouble()*4);
 				switch(random1) {
 					case 0: 
 						if(devices.size() == 0) {
@@ -1405,8 +2308,8 @@ public class GettingStartedWithUML2 {
 							devices.add(d);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*devices.size());
-						random2 = (int)(Math.random()*4);
+						else index1 = (int)(random.nextDouble()*devices.size());
+						random2 = (int)(random.nextDouble()*4);
 						switch(random2) {
 							case 0 :
 								if(devices.size() == 0) {
@@ -1414,7 +2317,7 @@ public class GettingStartedWithUML2 {
 									devices.add(d);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*devices.size());
+								else index2 = (int)(random.nextDouble()*devices.size());
 								devices.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "device_"+index2, 0, 1, devices.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 								break;
 							case 1:
@@ -1423,7 +2326,7 @@ public class GettingStartedWithUML2 {
 									nodes.add(n);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*nodes.size());
+								else index2 = (int)(random.nextDouble()*nodes.size());
 								devices.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "node_"+index2, 0, 1, nodes.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 								break;
 							case 2:
@@ -1432,7 +2335,7 @@ public class GettingStartedWithUML2 {
 									execution_environments.add(e);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*execution_environments.size());
+								else index2 = (int)(random.nextDouble()*execution_environments.size());
 								devices.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "execution_environment_"+index2, 0, 1, execution_environments.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 								break;
 							case 3:
@@ -1441,7 +2344,7 @@ public class GettingStartedWithUML2 {
 									artifacts.add(a);
 									index2 = 0;
 								}
-								else index2 = (int)(Math.random()*artifacts.size());
+								else index2 = (int)(random.nextDouble()*artifacts.size());
 								devices.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "artifact_"+index2, 0, 1, artifacts.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 								break;
 						}
@@ -1452,8 +2355,8 @@ public class GettingStartedWithUML2 {
 							nodes.add(n);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*nodes.size());
-						random2 = (int)(Math.random()*4);
+						else index1 = (int)(random.nextDouble()*nodes.size());
+						random2 = (int)(random.nextDouble()*4);
 						switch(random2) {
 						case 0 :
 							if(devices.size() == 0) {
@@ -1461,7 +2364,7 @@ public class GettingStartedWithUML2 {
 								devices.add(d);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*devices.size());
+							else index2 = (int)(random.nextDouble()*devices.size());
 							nodes.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "device_"+index2, 0, 1, devices.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 1:
@@ -1470,7 +2373,7 @@ public class GettingStartedWithUML2 {
 								nodes.add(n);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*nodes.size());
+							else index2 = (int)(random.nextDouble()*nodes.size());
 							nodes.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "node_"+index2, 0, 1, nodes.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 2:
@@ -1479,7 +2382,7 @@ public class GettingStartedWithUML2 {
 								execution_environments.add(e);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*execution_environments.size());
+							else index2 = (int)(random.nextDouble()*execution_environments.size());
 							nodes.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "execution_environment_"+index2, 0, 1, execution_environments.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 3:
@@ -1488,7 +2391,7 @@ public class GettingStartedWithUML2 {
 								artifacts.add(a);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*artifacts.size());
+							else index2 = (int)(random.nextDouble()*artifacts.size());
 							nodes.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "artifact_"+index2, 0, 1, artifacts.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						}
@@ -1499,8 +2402,8 @@ public class GettingStartedWithUML2 {
 							execution_environments.add(e);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*execution_environments.size());
-						random2 = (int)(Math.random()*4);
+						else index1 = (int)(random.nextDouble()*execution_environments.size());
+						random2 = (int)(random.nextDouble()*4);
 						switch(random2) {
 						case 0 :
 							if(devices.size() == 0) {
@@ -1508,7 +2411,7 @@ public class GettingStartedWithUML2 {
 								devices.add(d);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*devices.size());
+							else index2 = (int)(random.nextDouble()*devices.size());
 							execution_environments.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "device_"+index2, 0, 1, devices.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 1:
@@ -1517,7 +2420,7 @@ public class GettingStartedWithUML2 {
 								nodes.add(n);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*nodes.size());
+							else index2 = (int)(random.nextDouble()*nodes.size());
 							execution_environments.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "node_"+index2, 0, 1, nodes.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 2:
@@ -1526,7 +2429,7 @@ public class GettingStartedWithUML2 {
 								execution_environments.add(e);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*execution_environments.size());
+							else index2 = (int)(random.nextDouble()*execution_environments.size());
 							execution_environments.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "execution_environment_"+index2, 0, 1, execution_environments.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 3:
@@ -1535,7 +2438,7 @@ public class GettingStartedWithUML2 {
 								artifacts.add(a);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*artifacts.size());
+							else index2 = (int)(random.nextDouble()*artifacts.size());
 							execution_environments.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "artifact_"+index2, 0, 1, artifacts.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						}
@@ -1546,8 +2449,8 @@ public class GettingStartedWithUML2 {
 							artifacts.add(a);
 							index1 = 0;
 						}
-						else index1 = (int)(Math.random()*artifacts.size());
-						random2 = (int)(Math.random()*4);
+						else index1 = (int)(random.nextDouble()*artifacts.size());
+						random2 = (int)(random.nextDouble()*4);
 						switch(random2) {
 						case 0 :
 							if(devices.size() == 0) {
@@ -1555,7 +2458,7 @@ public class GettingStartedWithUML2 {
 								devices.add(d);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*devices.size());
+							else index2 = (int)(random.nextDouble()*devices.size());
 							artifacts.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "device_"+index2, 0, 1, devices.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 1:
@@ -1564,7 +2467,7 @@ public class GettingStartedWithUML2 {
 								nodes.add(n);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*nodes.size());
+							else index2 = (int)(random.nextDouble()*nodes.size());
 							artifacts.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "node_"+index2, 0, 1, nodes.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 2:
@@ -1573,7 +2476,7 @@ public class GettingStartedWithUML2 {
 								execution_environments.add(e);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*execution_environments.size());
+							else index2 = (int)(random.nextDouble()*execution_environments.size());
 							artifacts.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "execution_environment_"+index2, 0, 1, execution_environments.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						case 3:
@@ -1582,7 +2485,7 @@ public class GettingStartedWithUML2 {
 								artifacts.add(a);
 								index2 = 0;
 							}
-							else index2 = (int)(Math.random()*artifacts.size());
+							else index2 = (int)(random.nextDouble()*artifacts.size());
 							artifacts.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "artifact_"+index2, 0, 1, artifacts.get(index2), true, AggregationKind.NONE_LITERAL, "device_"+index1, 0, 1);
 							break;
 						}
@@ -1597,7 +2500,7 @@ public class GettingStartedWithUML2 {
 			switch(i) {
 			case 0:
 				for(org.eclipse.uml2.uml.Package p:packages) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = p.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -1607,7 +2510,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 1:
 				for(Model m:models) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = m.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -1617,7 +2520,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 2:
 				for(Artifact a:artifacts) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = a.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -1627,7 +2530,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 3:
 				for(Device d:devices) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = d.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -1637,7 +2540,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 4:
 				for(ExecutionEnvironment e:execution_environments) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = e.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -1647,7 +2550,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 5:
 				for(Node n:nodes) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = n.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -1657,6 +2560,7 @@ public class GettingStartedWithUML2 {
 				break;
 			}
 		}
+		metrics.end(phase, package_.getPackagedElements().size(), num);
 		System.out.println("Deployment diagram created.");
 		
 	}
@@ -1664,7 +2568,8 @@ public class GettingStartedWithUML2 {
 	/*
 	 * 
 	 */
-	protected static void generate_component_diagram(int num, org.eclipse.uml2.uml.Package package_) {
+	protected void generate_component_diagram(int num, org.eclipse.uml2.uml.Package package_) {
+		GenerationMetrics.Phase phase = metrics.begin("generate_component_diagram", num);
 		int i, index, random1, random2, index1, index2;
 		String type;
 		ArrayList<String> edge_types = new ArrayList<String>();
@@ -1680,7 +2585,7 @@ public class GettingStartedWithUML2 {
 		edge_types.add("Association");
 		
 		for(i = 0;i < num;i++) {
-			index = (int)(Math.random()*edge_types.size());
+			index = (int)(random.nextDouble()*edge_types.size());
 			type = edge_types.get(index);
 			
 			if (type.equals("Connector")) {
@@ -1688,12 +2593,12 @@ public class GettingStartedWithUML2 {
 					Component c = (Component)create_component(package_, "component_"+components.size());
 					components.add(c);
 				}
-				index1 = (int)(Math.random()*components.size());
-				index2 = (int)(Math.random()*components.size());
+				index1 = (int)(random.nextDouble()*components.size());
+				index2 = (int)(random.nextDouble()*components.size());
 				components.get(index1).createOwnedConnector("connector_"+i);
 			}
 			else if(type.equals("Dependency")) {
-				random1 = (int)(Math.random()*4);
+				random1 = (int)(random.nextDouble()*4);
 				switch(random1) {
 				case 0:
 					if(packages.size() == 0) {
@@ -1701,8 +2606,8 @@ public class GettingStartedWithUML2 {
 						packages.add(p);
 						index1 = 0;
 					}
-					else index1 = (int)(Math.random()*packages.size());
-					random2 = (int)(Math.random()*4);
+					else index1 = (int)(random.nextDouble()*packages.size());
+					random2 = (int)(random.nextDouble()*4);
 					switch(random2) {
 					case 0:
 						if(packages.size() == 0) {
@@ -1710,7 +2615,7 @@ public class GettingStartedWithUML2 {
 							packages.add(p);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*packages.size());
+						else index2 = (int)(random.nextDouble()*packages.size());
 						packages.get(index1).createDependency(packages.get(index2));
 						break;
 					case 1:
@@ -1719,7 +2624,7 @@ public class GettingStartedWithUML2 {
 							models.add(m);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*models.size());
+						else index2 = (int)(random.nextDouble()*models.size());
 						packages.get(index1).createDependency(models.get(index2));
 						break;
 					case 2:
@@ -1728,7 +2633,7 @@ public class GettingStartedWithUML2 {
 							interfaces.add(f);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*interfaces.size());
+						else index2 = (int)(random.nextDouble()*interfaces.size());
 						packages.get(index1).createDependency(interfaces.get(index2));
 						break;
 					case 3:
@@ -1737,7 +2642,7 @@ public class GettingStartedWithUML2 {
 							components.add(c);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*components.size());
+						else index2 = (int)(random.nextDouble()*components.size());
 						packages.get(index1).createDependency(components.get(index2));
 						break;
 					}
@@ -1748,8 +2653,8 @@ public class GettingStartedWithUML2 {
 						models.add(m);
 						index1 = 0;
 					}
-					else index1 = (int)(Math.random()*models.size());
-					random2 = (int)(Math.random()*4);
+					else index1 = (int)(random.nextDouble()*models.size());
+					random2 = (int)(random.nextDouble()*4);
 					switch(random2) {
 					case 0:
 						if(packages.size() == 0) {
@@ -1757,7 +2662,7 @@ public class GettingStartedWithUML2 {
 							packages.add(p);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*packages.size());
+						else index2 = (int)(random.nextDouble()*packages.size());
 						models.get(index1).createDependency(packages.get(index2));
 						break;
 					case 1:
@@ -1766,7 +2671,7 @@ public class GettingStartedWithUML2 {
 							models.add(m);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*models.size());
+						else index2 = (int)(random.nextDouble()*models.size());
 						models.get(index1).createDependency(models.get(index2));
 						break;
 					case 2:
@@ -1775,7 +2680,7 @@ public class GettingStartedWithUML2 {
 							interfaces.add(f);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*interfaces.size());
+						else index2 = (int)(random.nextDouble()*interfaces.size());
 						models.get(index1).createDependency(interfaces.get(index2));
 						break;
 					case 3:
@@ -1784,7 +2689,7 @@ public class GettingStartedWithUML2 {
 							components.add(c);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*components.size());
+						else index2 = (int)(random.nextDouble()*components.size());
 						models.get(index1).createDependency(components.get(index2));
 						break;
 					}
@@ -1795,8 +2700,8 @@ public class GettingStartedWithUML2 {
 						interfaces.add(f);
 						index1 = 0;
 					}
-					else index1 = (int)(Math.random()*interfaces.size());
-					random2 = (int)(Math.random()*4);
+					else index1 = (int)(random.nextDouble()*interfaces.size());
+					random2 = (int)(random.nextDouble()*4);
 					switch(random2) {
 					case 0:
 						if(packages.size() == 0) {
@@ -1804,7 +2709,7 @@ public class GettingStartedWithUML2 {
 							packages.add(p);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*packages.size());
+						else index2 = (int)(random.nextDouble()*packages.size());
 						interfaces.get(index1).createDependency(packages.get(index2));
 						break;
 					case 1:
@@ -1813,7 +2718,7 @@ public class GettingStartedWithUML2 {
 							models.add(m);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*models.size());
+						else index2 = (int)(random.nextDouble()*models.size());
 						interfaces.get(index1).createDependency(models.get(index2));
 						break;
 					case 2:
@@ -1822,7 +2727,7 @@ public class GettingStartedWithUML2 {
 							interfaces.add(f);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*interfaces.size());
+						else index2 = (int)(random.nextDouble()*interfaces.size());
 						interfaces.get(index1).createDependency(interfaces.get(index2));
 						break;
 					case 3:
@@ -1831,7 +2736,7 @@ public class GettingStartedWithUML2 {
 							components.add(c);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*components.size());
+						else index2 = (int)(random.nextDouble()*components.size());
 						interfaces.get(index1).createDependency(components.get(index2));
 						break;
 					}
@@ -1842,8 +2747,8 @@ public class GettingStartedWithUML2 {
 						components.add(c);
 						index1 = 0;
 					}
-					else index1 = (int)(Math.random()*components.size());
-					random2 = (int)(Math.random()*4);
+					else index1 = (int)(random.nextDouble()*components.size());
+					random2 = (int)(random.nextDouble()*4);
 					switch(random2) {
 					case 0:
 						if(packages.size() == 0) {
@@ -1851,7 +2756,7 @@ public class GettingStartedWithUML2 {
 							packages.add(p);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*packages.size());
+						else index2 = (int)(random.nextDouble()*packages.size());
 						components.get(index1).createDependency(packages.get(index2));
 						break;
 					case 1:
@@ -1860,7 +2765,7 @@ public class GettingStartedWithUML2 {
 							models.add(m);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*models.size());
+						else index2 = (int)(random.nextDouble()*models.size());
 						components.get(index1).createDependency(models.get(index2));
 						break;
 					case 2:
@@ -1869,7 +2774,7 @@ public class GettingStartedWithUML2 {
 							interfaces.add(f);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*interfaces.size());
+						else index2 = (int)(random.nextDouble()*interfaces.size());
 						components.get(index1).createDependency(interfaces.get(index2));
 						break;
 					case 3:
@@ -1878,7 +2783,7 @@ public class GettingStartedWithUML2 {
 							components.add(c);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*components.size());
+						else index2 = (int)(random.nextDouble()*components.size());
 						components.get(index1).createDependency(components.get(index2));
 						break;
 					}
@@ -1887,7 +2792,7 @@ public class GettingStartedWithUML2 {
 				}
 			}
 			else if(type.equals("Generalization")) {
-				random1 = (int)(Math.random()*2);
+				random1 = (int)(random.nextDouble()*2);
 				switch(random1) {
 				case 0:
 					if(interfaces.size() == 0) {
@@ -1895,8 +2800,8 @@ public class GettingStartedWithUML2 {
 						interfaces.add(f);
 						index1 = 0;
 					}
-					else index1 = (int)(Math.random()*interfaces.size());
-					random2 = (int)(Math.random()*2);
+					else index1 = (int)(random.nextDouble()*interfaces.size());
+					random2 = (int)(random.nextDouble()*2);
 					switch(random2) {
 					case 0:
 						if(interfaces.size() == 0) {
@@ -1904,7 +2809,7 @@ public class GettingStartedWithUML2 {
 							interfaces.add(f);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*interfaces.size());
+						else index2 = (int)(random.nextDouble()*interfaces.size());
 						interfaces.get(index1).createGeneralization(interfaces.get(index2));
 						break;
 					case 1:
@@ -1913,7 +2818,7 @@ public class GettingStartedWithUML2 {
 							components.add(c);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*components.size());
+						else index2 = (int)(random.nextDouble()*components.size());
 						interfaces.get(index1).createGeneralization(components.get(index2));
 						break;
 					}
@@ -1924,8 +2829,8 @@ public class GettingStartedWithUML2 {
 						components.add(c);
 						index1 = 0;
 					}
-					else index1 = (int)(Math.random()*components.size());
-					random2 = (int)(Math.random()*2);
+					else index1 = (int)(random.nextDouble()*components.size());
+					random2 = (int)(random.nextDouble()*2);
 					switch(random2) {
 					case 0:
 						if(interfaces.size() == 0) {
@@ -1933,7 +2838,7 @@ public class GettingStartedWithUML2 {
 							interfaces.add(f);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*interfaces.size());
+						else index2 = (int)(random.nextDouble()*interfaces.size());
 						components.get(index1).createGeneralization(interfaces.get(index2));
 						break;
 					case 1:
@@ -1942,7 +2847,7 @@ public class GettingStartedWithUML2 {
 							components.add(c);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*components.size());
+						else index2 = (int)(random.nextDouble()*components.size());
 						components.get(index1).createGeneralization(components.get(index2));
 						break;
 					}
@@ -1951,7 +2856,7 @@ public class GettingStartedWithUML2 {
 				}
 			}
 			else if(type.equals("Association")) {
-				random1 = (int)(Math.random()*2);
+				random1 = (int)(random.nextDouble()*2);
 				switch(random1) {
 				case 0:
 					if(interfaces.size() == 0) {
@@ -1959,8 +2864,8 @@ public class GettingStartedWithUML2 {
 						interfaces.add(f);
 						index1 = 0;
 					}
-					else index1 = (int)(Math.random()*interfaces.size());
-					random2 = (int)(Math.random()*2);
+					else index1 = (int)(random.nextDouble()*interfaces.size());
+					random2 = (int)(random.nextDouble()*2);
 					switch(random2) {
 					case 0:
 						if(interfaces.size() == 0) {
@@ -1968,7 +2873,7 @@ public class GettingStartedWithUML2 {
 							interfaces.add(f);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*interfaces.size());
+						else index2 = (int)(random.nextDouble()*interfaces.size());
 						interfaces.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "interface_"+index2, 0, 1, interfaces.get(index2), true, AggregationKind.NONE_LITERAL, "interface_"+index1, 0, 1);
 						break;
 					case 1:
@@ -1977,7 +2882,7 @@ public class GettingStartedWithUML2 {
 							components.add(c);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*components.size());
+						else index2 = (int)(random.nextDouble()*components.size());
 						interfaces.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "component_"+index2, 0, 1, components.get(index2), true, AggregationKind.NONE_LITERAL, "interface_"+index1, 0, 1);
 						break;
 					}
@@ -1988,8 +2893,8 @@ public class GettingStartedWithUML2 {
 						components.add(c);
 						index1 = 0;
 					}
-					else index1 = (int)(Math.random()*components.size());
-					random2 = (int)(Math.random()*2);
+					else index1 = (int)(random.nextDouble()*components.size());
+					random2 = (int)(random.nextDouble()*2);
 					switch(random2) {
 					case 0:
 						if(interfaces.size() == 0) {
@@ -1997,7 +2902,7 @@ public class GettingStartedWithUML2 {
 							interfaces.add(f);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*interfaces.size());
+						else index2 = (int)(random.nextDouble()*interfaces.size());
 						components.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "interface_"+index2, 0, 1, interfaces.get(index2), true, AggregationKind.NONE_LITERAL, "component_"+index1, 0, 1);
 						break;
 					case 1:
@@ -2006,7 +2911,7 @@ public class GettingStartedWithUML2 {
 							components.add(c);
 							index2 = 0;
 						}
-						else index2 = (int)(Math.random()*components.size());
+						else index2 = (int)(random.nextDouble()*components.size());
 						components.get(index1).createAssociation(true, AggregationKind.NONE_LITERAL, "component_"+index2, 0, 1, components.get(index2), true, AggregationKind.NONE_LITERAL, "component_"+index1, 0, 1);
 						break;
 					}
@@ -2020,7 +2925,7 @@ public class GettingStartedWithUML2 {
 			switch(i) {
 			case 0:
 				for(org.eclipse.uml2.uml.Package p:packages) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = p.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -2030,7 +2935,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 1:
 				for(Model m:models) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = m.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -2040,7 +2945,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 2:
 				for(Interface f:interfaces) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = f.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -2050,7 +2955,7 @@ public class GettingStartedWithUML2 {
 				break;
 			case 3:
 				for(Component c:components) {
-					random1 = (int)(Math.random()*3);
+					random1 = (int)(random.nextDouble()*3);
 					if(random1 > 0) {
 						Comment cmt = c.createOwnedComment();
 						if(random1 == 1) cmt.setBody("{\"exposure\":true}");
@@ -2060,6 +2965,7 @@ public class GettingStartedWithUML2 {
 				break;
 			}
 		}
+		metrics.end(phase, package_.getPackagedElements().size(), num);
 		System.out.println("Component diagram created.");
 	}
 	
@@ -2069,19 +2975,65 @@ public class GettingStartedWithUML2 {
 	// Program control
 	//
 
-	private static boolean processArgs(String[] args)
+	boolean processArgs(String[] args)
 			throws IOException {
 
-		if (args.length != 2) {
-			err("Expected 2 argument.");
-			err("Usage: java -jar ... %s <dir>",
-				GettingStartedWithUML2.class.getSimpleName());
-			err("where");
-			err("<dir> - path to output folder in which to save the UML model");
+		int first = (args.length > 1 && !args[1].startsWith("--")) ? 2 : 1;
+		if (args.length < 1 || (first == 1 && !hasProfile(args))) {
+			err("Expected at least 2 arguments.");
+			usage();
 			return false;
 		}
 
-		nodes_num = Integer.parseInt(args[1]);
+		try {
+			options = GeneratorOptions.parse(args, first);
+			profile = loadProfile(options);
+			associationMode = AssociationMode.parse(options.get("assoc", "full"));
+			naming = NamingScheme.parse(options.get("naming", "full"));
+			MemoryPlanner.Mode.parse(options.get("plan", "auto"));
+			DeploymentPlanner.checkUtilization(options.getInt("deploy",
+				DeploymentPlanner.DEFAULT_UTILIZATION));
+			if (options.has("ports")) {
+				int ports = options.getInt("ports", 2);
+				checkPorts(ports, options.getInt("connectors", ports));
+			}
+		} catch (IllegalArgumentException iae) {
+			err(iae.getMessage());
+			return false;
+		}
+
+		if (first == 2) {
+			try {
+				nodes_num = Integer.parseInt(args[1]);
+			} catch (NumberFormatException nfe) {
+				err("Not a number of nodes: %s", args[1]);
+				usage();
+				return false;
+			}
+		} else {
+			nodes_num = profile.getNodes();
+			if (nodes_num < 0) {
+				err("The profile does not give the number of nodes.");
+				return false;
+			}
+		}
+		try {
+			checkNodes(nodes_num, options.has("template"));
+			profile.getEdges(nodes_num);
+			if (!options.has("template")) {
+				NestingPlan.parse(options, nodes_num);
+			}
+		} catch (IllegalArgumentException iae) {
+			err(iae.getMessage());
+			return false;
+		}
+		String inMemoryOnly = MemoryPlanner.getInMemoryOnlyOption(options);
+		if (inMemoryOnly != null && isOffHeap(options)) {
+			err("--%s needs the model in memory; it cannot be combined with --store, --checkpoint or --resume.",
+				inMemoryOnly);
+			usage();
+			return false;
+		}
 		outputDir = new File(args[0]).getCanonicalFile();
 		if (!outputDir.exists()) {
 			err("No such directory: %s", outputDir.getAbsolutePath());
@@ -2102,21 +3054,106 @@ public class GettingStartedWithUML2 {
 		return true;
 	}
 
-	protected static void save(org.eclipse.uml2.uml.Package package_, URI uri) {
+	private static void usage() {
+		err("Usage: java -jar ... %s <dir> <nodes> [options]",
+			GettingStartedWithUML2.class.getSimpleName());
+		err("where");
+		err("<dir> - path to output folder in which to save the UML model");
+		err("<nodes> - number of elements to generate, if the profile does not say");
+		err("--profile=<file> - properties file of the workload and option defaults");
+		err("--analyze[=<n>] - report the <n> highest-risk attack paths");
+		err("--index - index the incoming and outgoing relationships of every element");
+		err("--validate[=<n>] - validate the model, reporting the <n> slowest constraints");
+		err("--footprint[=<n>] - report the heap of the <n> metaclasses that take the most");
+		err("--threads=<n> - number of worker threads for the analysis and validation");
+		err("--store[=<file>] - keep the edges off-heap in a memory-mapped file");
+		err("--writers[=<n>] - write the off-heap XMI with <n> threads at once");
+		err("--checkpoint[=<seconds>] - save the off-heap progress every <seconds>");
+		err("--resume - continue an off-heap generation from its last checkpoint");
+		err("--seed=<n> - seed of the random numbers, so that every run generates the same model");
+		err("--cache[=<dir>] - reuse the model of an earlier generation with the same --seed");
+		err("--cache-size=<MB> - size beyond which the least recently used models are evicted");
+		err("--plan=auto|check|off - stream or refuse a model too large for the heap, only warn, or neither");
+		err("--template=<file> - copy a seed model <nodes> times instead of generating elements");
+		err("--mix=<kind>:<weight>,... - element kind mix instead of round-robin");
+		err("--depth=<d> [--fanout=<f>] - nest the elements in a tree of namespaces, of at most <nodes> leaves");
+		err("--ports=<n> [--connectors=<m>] - ports and connectors per component");
+		err("--deploy[=<percent>] - deploy the artifacts onto execution environments and devices filled to <percent>");
+		err("--classes[=<n>] [--attributes=<m>] [--enums=<k>] [--literals=<l>] - a class diagram typed by the UML primitive types");
+		err("--assoc=full|lite|bare - multiplicity literals of association ends");
+		err("--naming=full|short|none - names of the elements and association ends");
+		err("--quiet - do not log every element created");
+		err("--progress=<seconds> - interval of progress lines, 0 for none (the default with --quiet)");
+		err("--metrics[=<file>] - write a JSON report of the phase timings");
+		err("--jfr - record every phase as a JFR event");
+	}
+
+	/*
+	 * Whether the options ask for the off-heap generator
+	 */
+	private static boolean isOffHeap(GeneratorOptions options) {
+		return options.has("store") || options.has("checkpoint")
+			|| options.has("resume");
+	}
+
+	private static boolean hasProfile(String[] args) {
+		for (String arg : args) {
+			if (arg.startsWith("--profile=")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Loads the workload profile named by the <tt>profile</tt> option, if any,
+	 * and adds the option defaults that it sets to <tt>options</tt>.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the profile cannot be read or is invalid
+	 */
+	static WorkloadProfile loadProfile(GeneratorOptions options) {
+		if (!options.has("profile")) {
+			return WorkloadProfile.DEFAULT;
+		}
+
+		String path = options.get("profile", null);
+		WorkloadProfile result;
+		try {
+			result = WorkloadProfile.load(new File(path));
+		} catch (IOException ioe) {
+			throw new IllegalArgumentException("Cannot read profile " + path
+				+ ": " + ioe.getMessage());
+		}
+		result.applyTo(options);
+		return result;
+	}
+
+	protected void save(org.eclipse.uml2.uml.Package package_, URI uri) {
 		// Create a resource-set to contain the resource(s) that we are saving
 		ResourceSet resourceSet = new ResourceSetImpl();
 
-		// Initialize registrations of resource factories, library models,
-		// profiles, Ecore metadata, and other dependencies required for
-		// serializing and working with UML resources. This is only necessary in
-		// applications that are not hosted in the Eclipse platform run-time, in
-		// which case these registrations are discovered automatically from
-		// Eclipse extension points.
-		UMLResourcesUtil.init(resourceSet);
+		// Saving a self-contained model only needs the UML resource factory.
+		// The registrations of library models, profiles, Ecore metadata, and
+		// other dependencies required for working with UML resources are only
+		// made if the model applies profiles, as they take much longer than
+		// generating a small model. This is only necessary in applications
+		// that are not hosted in the Eclipse platform run-time, in which case
+		// these registrations are discovered automatically from Eclipse
+		// extension points.
+		if (package_.getProfileApplications().isEmpty()) {
+			resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+				.put(UMLResource.FILE_EXTENSION, UMLResource.Factory.INSTANCE);
+		} else {
+			UMLResourcesUtil.init(resourceSet);
+		}
 
 		// Create the output resource and add our model package to it.
 		Resource resource = resourceSet.createResource(uri);
 		resource.getContents().add(package_);
+		if (options != null && options.has("seed")) {
+			numberIds((XMLResource) resource);
+		}
 
 		// And save
 		try {
@@ -2127,6 +3164,24 @@ public class GettingStartedWithUML2 {
 		}
 	}
 
+	/*
+	 * Replaces the fresh UUIDs that the resource gave its objects with ids
+	 * numbered in document order, _e<n> for elements and _r<n> for
+	 * relationships as the off-heap generator numbers them, so that models of
+	 * the same seed get the same ids and can be compared with ModelDiff
+	 */
+	static void numberIds(XMLResource resource) {
+		int elements = 0;
+		int relationships = 0;
+		for (TreeIterator<EObject> contents = resource.getAllContents(); contents
+			.hasNext();) {
+			EObject object = contents.next();
+			resource.setID(object, (object instanceof Relationship)
+				? "_r" + relationships++
+				: "_e" + elements++);
+		}
+	}
+
 	//
 	// Logging utilities
 	//
@@ -2148,8 +3203,8 @@ public class GettingStartedWithUML2 {
 		System.out.println("------------------------------------");
 	}
 
-	protected static void out(String format, Object... args) {
-		if (DEBUG) {
+	protected void out(String format, Object... args) {
+		if (debug) {
 			System.out.printf(format, args);
 			if (!format.endsWith("%n")) {
 				System.out.println();
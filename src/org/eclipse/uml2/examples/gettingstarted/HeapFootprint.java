@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * The heap taken by the objects of a model, by {@link EClass}: how many
+ * instances there are, their shallow size, their retained size and the
+ * capacity of their lists that holds nothing.
+ * <p>
+ * The shallow size of an object is computed from the instance fields of its
+ * implementation class, as a 64-bit JVM with compressed references lays them
+ * out (a 12-byte header, 4-byte references, rounded up to 8 bytes). Its
+ * retained size adds what only it refers to: the lists of its many-valued
+ * features and their arrays, and its strings. The objects that it contains
+ * are counted under their own classes, and adapters are not counted at all.
+ * Only the features that are stored, rather than derived, are looked at, and
+ * lists that were never created are not created.
+ * </p>
+ */
+class HeapFootprint {
+
+	private static final int HEADER_BYTES = 12;
+
+	private static final int ARRAY_HEADER_BYTES = 16;
+
+	private static final int REFERENCE_BYTES = 4;
+
+	private final Map<Class<?>, Long> shallowSizes = new HashMap<Class<?>, Long>();
+
+	private final Map<EClass, Footprint> footprints = new HashMap<EClass, Footprint>();
+
+	/** The instances of one class and the heap they take. */
+	static class Footprint {
+
+		final EClass eClass;
+
+		long count;
+
+		long shallowBytes;
+
+		long retainedBytes;
+
+		long wastedBytes;
+
+		Footprint(EClass eClass) {
+			this.eClass = eClass;
+		}
+	}
+
+	/** Walks <tt>root</tt> and everything that it contains. */
+	static HeapFootprint measure(EObject root) {
+		HeapFootprint result = new HeapFootprint();
+		result.add(root);
+		for (Iterator<EObject> contents = root.eAllContents(); contents
+			.hasNext();) {
+			result.add(contents.next());
+		}
+		return result;
+	}
+
+	private void add(EObject object) {
+		EClass eClass = object.eClass();
+		Footprint footprint = footprints.get(eClass);
+		if (footprint == null) {
+			footprint = new Footprint(eClass);
+			footprints.put(eClass, footprint);
+		}
+
+		long shallow = shallowSize(object.getClass());
+		long retained = shallow;
+		for (EStructuralFeature feature : eClass.getEAllStructuralFeatures()) {
+			if (feature.isDerived() || feature.isTransient()
+				|| !object.eIsSet(feature)) {
+				continue;
+			}
+			Object value = object.eGet(feature, false);
+			if (value instanceof BasicEList<?>) {
+				BasicEList<?> list = (BasicEList<?>) value;
+				Object[] data = list.data();
+				int capacity = (data == null)
+					? 0
+					: data.length;
+				retained += shallowSize(list.getClass())
+					+ arraySize(capacity, REFERENCE_BYTES);
+				footprint.wastedBytes += (long) (capacity - list.size())
+					* REFERENCE_BYTES;
+			} else if (value instanceof String) {
+				retained += NamingScheme.heapBytes((String) value);
+			}
+		}
+
+		footprint.count++;
+		footprint.shallowBytes += shallow;
+		footprint.retainedBytes += retained;
+	}
+
+	/** The size of an instance of <tt>type</tt>, from its fields. */
+	long shallowSize(Class<?> type) {
+		Long size = shallowSizes.get(type);
+		if (size == null) {
+			long bytes = HEADER_BYTES;
+			for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+				for (Field field : c.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers())) {
+						bytes += fieldSize(field.getType());
+					}
+				}
+			}
+			size = align(bytes);
+			shallowSizes.put(type, size);
+		}
+		return size;
+	}
+
+	private static int fieldSize(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		} else if (type == int.class || type == float.class) {
+			return 4;
+		} else if (type == short.class || type == char.class) {
+			return 2;
+		} else if (type == byte.class || type == boolean.class) {
+			return 1;
+		}
+		return REFERENCE_BYTES;
+	}
+
+	private static long arraySize(int length, int elementBytes) {
+		return align(ARRAY_HEADER_BYTES + (long) length * elementBytes);
+	}
+
+	private static long align(long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+
+	/** The footprints of the classes, those that retain the most first. */
+	List<Footprint> getFootprints() {
+		List<Footprint> result = new ArrayList<Footprint>(footprints.values());
+		Collections.sort(result, new Comparator<Footprint>() {
+
+			public int compare(Footprint f1, Footprint f2) {
+				return (f1.retainedBytes > f2.retainedBytes)
+					? -1
+					: ((f1.retainedBytes == f2.retainedBytes)
+						? 0
+						: 1);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Prints the footprints of the <tt>limit</tt> classes that retain the
+	 * most and the totals of all of them.
+	 */
+	void report(int limit) {
+		List<Footprint> sorted = getFootprints();
+		System.out.printf("%-28s %12s %12s %12s %12s%n", "EClass", "instances",
+			"shallow KB", "retained KB", "wasted KB");
+		long count = 0;
+		long shallow = 0;
+		long retained = 0;
+		long wasted = 0;
+		for (int i = 0; i < sorted.size(); i++) {
+			Footprint footprint = sorted.get(i);
+			if (i < limit) {
+				System.out.printf("%-28s %12d %12d %12d %12d%n",
+					footprint.eClass.getName(), footprint.count,
+					footprint.shallowBytes >> 10, footprint.retainedBytes >> 10,
+					footprint.wastedBytes >> 10);
+			}
+			count += footprint.count;
+			shallow += footprint.shallowBytes;
+			retained += footprint.retainedBytes;
+			wasted += footprint.wastedBytes;
+		}
+		System.out.printf("%-28s %12d %12d %12d %12d%n", "(all)", count,
+			shallow >> 10, retained >> 10, wasted >> 10);
+	}
+}
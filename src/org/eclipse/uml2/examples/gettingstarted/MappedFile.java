@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A file accessed through memory-mapped segments, so that it can be addressed
+ * with <tt>long</tt> positions beyond the 2 GB limit of a single
+ * {@link MappedByteBuffer}. Segments are mapped on first access; the file grows
+ * as segments past its end are mapped for writing, and is truncated to the
+ * length of its content once they are unmapped on close.
+ */
+class MappedFile {
+
+	/** Segment size; a multiple of every record size that is stored. */
+	static final int SEGMENT_SIZE = 1 << 30;
+
+	/** <tt>sun.misc.Unsafe.invokeCleaner</tt>, or <tt>null</tt> if it is not available. */
+	private static final Method INVOKE_CLEANER;
+
+	private static final Object UNSAFE;
+
+	static {
+		Method invokeCleaner = null;
+		Object unsafe = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner",
+				ByteBuffer.class);
+		} catch (Exception e) {
+			invokeCleaner = null;
+		}
+		INVOKE_CLEANER = invokeCleaner;
+		UNSAFE = unsafe;
+	}
+
+	private final RandomAccessFile file;
+
+	private final FileChannel channel;
+
+	private final boolean writable;
+
+	private final List<MappedByteBuffer> segments = new ArrayList<MappedByteBuffer>();
+
+	MappedFile(File file, boolean writable)
+			throws IOException {
+
+		this.file = new RandomAccessFile(file, writable
+			? "rw"
+			: "r");
+		this.channel = this.file.getChannel();
+		this.writable = writable;
+	}
+
+	long length()
+			throws IOException {
+		return channel.size();
+	}
+
+	private MappedByteBuffer segment(long position)
+			throws IOException {
+
+		int index = (int) (position / SEGMENT_SIZE);
+		while (segments.size() <= index) {
+			segments.add(null);
+		}
+
+		MappedByteBuffer segment = segments.get(index);
+		if (segment == null) {
+			long start = (long) index * SEGMENT_SIZE;
+			long size = writable
+				? SEGMENT_SIZE
+				: Math.min(SEGMENT_SIZE, channel.size() - start);
+			segment = channel.map(writable
+				? FileChannel.MapMode.READ_WRITE
+				: FileChannel.MapMode.READ_ONLY, start, size);
+			segments.set(index, segment);
+		}
+		return segment;
+	}
+
+	/**
+	 * Maps the segments of the first <tt>length</tt> bytes, so that reading
+	 * them no longer changes the state of this file and is safe from several
+	 * threads.
+	 */
+	void map(long length)
+			throws IOException {
+
+		for (long position = 0; position < length; position += SEGMENT_SIZE) {
+			segment(position);
+		}
+	}
+
+	byte get(long position)
+			throws IOException {
+		return segment(position).get((int) (position % SEGMENT_SIZE));
+	}
+
+	void put(long position, byte value)
+			throws IOException {
+		segment(position).put((int) (position % SEGMENT_SIZE), value);
+	}
+
+	int getInt(long position)
+			throws IOException {
+		return segment(position).getInt((int) (position % SEGMENT_SIZE));
+	}
+
+	void putInt(long position, int value)
+			throws IOException {
+		segment(position).putInt((int) (position % SEGMENT_SIZE), value);
+	}
+
+	long getLong(long position)
+			throws IOException {
+		return segment(position).getLong((int) (position % SEGMENT_SIZE));
+	}
+
+	void putLong(long position, long value)
+			throws IOException {
+		segment(position).putLong((int) (position % SEGMENT_SIZE), value);
+	}
+
+	/**
+	 * Writes the mapped segments back to the file.
+	 */
+	void force() {
+		for (MappedByteBuffer segment : segments) {
+			if (segment != null) {
+				segment.force();
+			}
+		}
+	}
+
+	/**
+	 * Unmaps the segments, rather than leaving them to the garbage collector,
+	 * so that the file can be truncated or deleted on platforms such as
+	 * Windows that refuse to while a mapping is open.
+	 * 
+	 * @return whether every segment was unmapped
+	 */
+	private boolean unmap() {
+		boolean unmapped = INVOKE_CLEANER != null;
+		for (MappedByteBuffer segment : segments) {
+			if (segment != null && unmapped) {
+				try {
+					INVOKE_CLEANER.invoke(UNSAFE, segment);
+				} catch (Exception e) {
+					unmapped = false;
+				}
+			}
+		}
+		segments.clear();
+		return unmapped;
+	}
+
+	/**
+	 * Closes the file, truncating it to <tt>length</tt> bytes if it was
+	 * opened for writing. If the segments cannot be unmapped, the file keeps
+	 * the length of its mapped segments instead; the stores that use it record
+	 * the length of their content in their header.
+	 */
+	void close(long length)
+			throws IOException {
+
+		if (writable) {
+			force();
+		}
+		if (unmap() && writable) {
+			channel.truncate(length);
+		}
+		file.close();
+	}
+}
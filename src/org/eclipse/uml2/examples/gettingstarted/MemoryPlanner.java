@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.util.Locale;
+
+import org.eclipse.emf.ecore.util.EObjectResolvingEList;
+
+/**
+ * Estimates, before anything is generated, the heap that a generation needs
+ * in memory and off-heap, so that a generation too large for the heap can be
+ * streamed instead, or refused, rather than failing with an
+ * <tt>OutOfMemoryError</tt> hours into the run.
+ * <p>
+ * The in-memory estimate adds up the objects of the EMF graph: each packaged
+ * element and relationship is counted as the UML2 implementation objects it
+ * takes (an association with full ends is seven: itself, two properties and
+ * four literals) at the shallow sizes of those classes, as
+ * {@link HeapFootprint} lays them out for a 64-bit JVM with compressed
+ * references, plus, for every object, the adapter list of UML2's
+ * cache adapter and the UUID entries of the resource's id maps on save. The
+ * off-heap estimate is that of the primitive arrays of the element table,
+ * the writer and, if asked for, the relationship graph.
+ * </p>
+ */
+class MemoryPlanner {
+
+	/** What to do with a generation that does not fit. */
+	enum Mode {
+
+		/** Stream it if it can be, else refuse it. */
+		AUTO,
+
+		/** Only warn. */
+		CHECK,
+
+		/** Do not estimate at all. */
+		OFF;
+
+		/**
+		 * @throws IllegalArgumentException
+		 *             if <tt>name</tt> is not one of the modes
+		 */
+		static Mode parse(String name) {
+			try {
+				return valueOf(name.toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException iae) {
+				throw new IllegalArgumentException(
+					"Memory plan must be auto, check or off: " + name);
+			}
+		}
+	}
+
+	/** A generation that is refused as it does not fit in the heap. */
+	static class OverBudgetException
+			extends IllegalStateException {
+
+		private static final long serialVersionUID = 1L;
+
+		OverBudgetException(String message) {
+			super(message);
+		}
+	}
+
+	/** The options that need the model in memory. */
+	private static final String[] IN_MEMORY_ONLY = {"template", "ports",
+		"validate", "footprint", "classes", "deploy"};
+
+	/** The share of the free heap that the estimate may take. */
+	static final double HEADROOM = 0.8;
+
+	/** The adapter list that UML2's cache adapter adds to every object. */
+	private static final int ADAPTERS_BYTES = 64;
+
+	/** The UUID string and id map entries of every object, on save. */
+	private static final int SAVE_BYTES = 160;
+
+	/** The cross-reference entry of either end of a reference. */
+	private static final int REFERENCE_BYTES = 48;
+
+	/** The package of the UML2 implementation classes. */
+	private static final String IMPL_PACKAGE = "org.eclipse.uml2.uml.internal.impl.";
+
+	/**
+	 * The shallow sizes of the UML2 implementation classes, as
+	 * {@link HeapFootprint} measures them. The classes are loaded, but not
+	 * initialized, so that estimating an off-heap generation does not
+	 * initialize the UML package.
+	 */
+	private static class Sizes {
+
+		private static final HeapFootprint FOOTPRINT = new HeapFootprint();
+
+		static final long[] ELEMENT = new long[ElementKind.values().length];
+
+		static {
+			for (ElementKind kind : ElementKind.values()) {
+				ELEMENT[kind.ordinal()] = of(kind.getTypeName());
+			}
+		}
+
+		static final long PACKAGE = of("Package");
+
+		static final long CLASS = of("Class");
+
+		static final long ENUMERATION = of("Enumeration");
+
+		static final long DEPENDENCY = of("Dependency");
+
+		static final long GENERALIZATION = of("Generalization");
+
+		static final long ASSOCIATION = of("Association");
+
+		static final long COMMUNICATION_PATH = of("CommunicationPath");
+
+		static final long DEPLOYMENT = of("Deployment");
+
+		static final long PROPERTY = of("Property");
+
+		static final long PORT = of("Port");
+
+		static final long CONNECTOR = of("Connector");
+
+		static final long CONNECTOR_END = of("ConnectorEnd");
+
+		static final long LOWER_VALUE = of("LiteralInteger");
+
+		static final long UPPER_VALUE = of("LiteralUnlimitedNatural");
+
+		static final long ENUMERATION_LITERAL = of("EnumerationLiteral");
+
+		static final long COMMENT = of("Comment");
+
+		/**
+		 * A reference list, such as the clients of a dependency, with an
+		 * array of a few references.
+		 */
+		static final long LIST = FOOTPRINT.shallowSize(EObjectResolvingEList.class)
+			+ 32;
+
+		private static long of(String typeName) {
+			try {
+				return FOOTPRINT.shallowSize(Class.forName(IMPL_PACKAGE
+					+ typeName + "Impl", false, MemoryPlanner.class
+					.getClassLoader()));
+			} catch (ClassNotFoundException cnfe) {
+				throw new IllegalStateException(cnfe);
+			}
+		}
+	}
+
+	/** The element table, writer and generator arrays, per element. */
+	private static final int OFF_HEAP_ELEMENT_BYTES = 32;
+
+	/** The arrays of the relationship graph, per element and edge. */
+	private static final int GRAPH_ELEMENT_BYTES = 48;
+
+	private static final int GRAPH_EDGE_BYTES = 36;
+
+	/** The heap of a copy of a template, per byte of its XMI file. */
+	private static final int TEMPLATE_BYTES_PER_BYTE = 4;
+
+	private final long inMemoryBytes;
+
+	private final long offHeapBytes;
+
+	private final long objects;
+
+	private final String inMemoryOnly;
+
+	MemoryPlanner(GeneratorOptions options, WorkloadProfile profile, int nodes) {
+		// createConnections makes a quarter as many rounds as the edge factor
+		// says, each of five relationships, one of every kind
+		long edges = 5 * ((long) nodes * profile.getEdgeFactor() / 4);
+		long[] edgeCounts = apportionEdges(profile.getEdgeCycle(), edges);
+		AssociationMode associationMode = AssociationMode.parse(options.get(
+			"assoc", "full"));
+		NamingScheme naming = NamingScheme.parse(options.get("naming", "full"));
+
+		long bytes = 0;
+		long count = 0;
+		if (options.has("template")) {
+			bytes += (long) nodes * TEMPLATE_BYTES_PER_BYTE
+				* new File(options.get("template", "")).length();
+		} else {
+			int[] kinds = options.has("mix")
+				? ElementMix.parse(options.get("mix", "")).apportion(nodes)
+				: roundRobin(nodes);
+			for (ElementKind kind : ElementKind.values()) {
+				long n = kinds[kind.ordinal()];
+				bytes += n * (Sizes.ELEMENT[kind.ordinal()]
+					+ NamingScheme.heapBytes(naming.getName(kind,
+						Math.max(0, nodes - 1))));
+				count += n;
+			}
+			NestingPlan nesting = NestingPlan.parse(options, nodes);
+			if (nesting != null) {
+				// named at most as long as the deepest namespaces
+				String name = null;
+				for (int level = 0; level < nesting.getDepth(); level++) {
+					name = nesting.getName(name, nesting.getFanout() - 1);
+				}
+				bytes += nesting.getNamespaceCount()
+					* (Sizes.PACKAGE + NamingScheme.heapBytes(name));
+				count += nesting.getNamespaceCount();
+			}
+			long comments = profile.getCommentRounds(nodes);
+			// the bodies are shared literals; the owner's list is not
+			bytes += comments * (Sizes.COMMENT + Sizes.LIST);
+			count += comments;
+
+			if (options.has("ports")) {
+				long components = kinds[ElementKind.COMPONENT.ordinal()];
+				int ports = options.getInt("ports", 2);
+				long connectors = (ports < 2)
+					? 0
+					: components * options.getInt("connectors", ports);
+				bytes += components * ports * (Sizes.PORT + REFERENCE_BYTES);
+				count += components * ports;
+				bytes += connectors
+					* (Sizes.CONNECTOR + 2 * (Sizes.CONNECTOR_END + REFERENCE_BYTES));
+				count += 3 * connectors;
+			}
+
+			if (options.has("deploy")) {
+				// at most one deployment per location, of all its artifacts
+				long deployments = kinds[ElementKind.EXECUTION_ENVIRONMENT.ordinal()]
+					+ kinds[ElementKind.DEVICE.ordinal()];
+				bytes += deployments
+					* (Sizes.DEPLOYMENT + 2 * (Sizes.LIST + REFERENCE_BYTES))
+					+ kinds[ElementKind.ARTIFACT.ordinal()] * 2 * REFERENCE_BYTES;
+				count += deployments;
+			}
+		}
+
+		if (options.has("classes")) {
+			long classes = options.getInt("classes", nodes);
+			long attributes = classes * options.getInt("attributes", 5);
+			long enumerations = options.getInt("enums", (int) (classes / 10));
+			long literals = enumerations * options.getInt("literals", 4);
+			bytes += classes * Sizes.CLASS + enumerations * Sizes.ENUMERATION
+				+ attributes * (Sizes.PROPERTY + REFERENCE_BYTES)
+				+ literals * Sizes.ENUMERATION_LITERAL;
+			count += classes + enumerations + attributes + literals;
+		}
+
+		long ends = 2 * Sizes.PROPERTY + (associationMode.hasLowerValue()
+			? 2 * Sizes.LOWER_VALUE
+			: 0) + (associationMode.hasUpperValue()
+			? 2 * Sizes.UPPER_VALUE
+			: 0);
+		int literals = (associationMode.hasLowerValue()
+			? 2
+			: 0) + (associationMode.hasUpperValue()
+			? 2
+			: 0);
+		for (int kind = 0; kind < edgeCounts.length; kind++) {
+			long n = edgeCounts[kind];
+			switch (kind) {
+				case ModelGraph.DEPENDENCY :
+					bytes += n
+						* (Sizes.DEPENDENCY + 2 * (Sizes.LIST + REFERENCE_BYTES));
+					count += n;
+					break;
+				case ModelGraph.DEPLOYMENT :
+					bytes += n
+						* (Sizes.DEPLOYMENT + 2 * (Sizes.LIST + REFERENCE_BYTES));
+					count += n;
+					break;
+				case ModelGraph.GENERALIZATION :
+					bytes += n * (Sizes.GENERALIZATION + 2 * REFERENCE_BYTES);
+					count += n;
+					break;
+				default :
+					// an association or communication path and its ends
+					bytes += n * (((kind == ModelGraph.ASSOCIATION)
+						? Sizes.ASSOCIATION
+						: Sizes.COMMUNICATION_PATH) + Sizes.LIST + ends
+						+ 4 * REFERENCE_BYTES);
+					count += n * (3 + literals);
+					break;
+			}
+		}
+
+		long graph = (options.has("index") || options.has("analyze"))
+			? (long) nodes * GRAPH_ELEMENT_BYTES + edges * GRAPH_EDGE_BYTES
+			: 0;
+		this.objects = count;
+		this.inMemoryBytes = bytes + count * (ADAPTERS_BYTES + SAVE_BYTES)
+			+ graph;
+		this.offHeapBytes = (long) nodes * OFF_HEAP_ELEMENT_BYTES + graph;
+		this.inMemoryOnly = getInMemoryOnlyOption(options);
+	}
+
+	private static int[] roundRobin(int nodes) {
+		int[] counts = new int[ElementKind.values().length];
+		for (int kind = 0; kind < counts.length; kind++) {
+			counts[kind] = nodes / 8;
+		}
+		counts[ElementKind.COMPONENT.ordinal()] += nodes - 8 * (nodes / 8);
+		return counts;
+	}
+
+	private static long[] apportionEdges(byte[] cycle, long edges) {
+		long[] counts = new long[ModelGraph.KIND_NAMES.length];
+		if (cycle == null) {
+			for (int kind = 0; kind < counts.length; kind++) {
+				counts[kind] = edges / counts.length;
+			}
+		} else {
+			for (byte kind : cycle) {
+				counts[kind] += edges / cycle.length;
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * The heap that may still be taken: a share of what is neither in use
+	 * nor beyond the maximum heap size.
+	 */
+	static long getBudget() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		return (long) ((runtime.maxMemory() - used) * HEADROOM);
+	}
+
+	long getInMemoryBytes() {
+		return inMemoryBytes;
+	}
+
+	long getOffHeapBytes() {
+		return offHeapBytes;
+	}
+
+	/**
+	 * The option that only the in-memory generator supports, or
+	 * <code>null</code> if the generation can be streamed.
+	 */
+	String getInMemoryOnlyOption() {
+		return inMemoryOnly;
+	}
+
+	/**
+	 * The first of <tt>options</tt> that only the in-memory generator
+	 * supports, or <code>null</code> if there is none.
+	 */
+	static String getInMemoryOnlyOption(GeneratorOptions options) {
+		for (String option : IN_MEMORY_ONLY) {
+			if (options.has(option)) {
+				return option;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+			"Estimated heap: %d MB in memory (%d objects), %d MB off-heap, of %d MB available",
+			inMemoryBytes >> 20, objects, offHeapBytes >> 20, getBudget() >> 20);
+	}
+}
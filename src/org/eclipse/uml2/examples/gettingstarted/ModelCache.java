@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A directory of generated models, shared by the generations of a machine,
+ * named by a hash of everything that determines the model: the version of
+ * the generator, the number of elements, the options that change the output,
+ * including the seed of its random numbers, and the contents of the profile
+ * and template files that they name. A generation whose model is in the
+ * cache links it into its output directory instead of generating it again.
+ * <p>
+ * Only generations with a seed are cached, as only they make the same model
+ * on every run. A model generated in memory is the same up to the
+ * <tt>xmi:id</tt>s that EMF gives its elements on save, which differ from
+ * run to run.
+ * </p>
+ * <p>
+ * The cache is bounded by the total size of its models; the least recently
+ * used are deleted first, as told by their modification times, which are
+ * touched on every hit. Models are added under a temporary name and renamed,
+ * so that concurrent generations see either none or all of a model. They are
+ * read-only, so that nothing can write through a link to one of them; the
+ * generators delete their output rather than overwrite it.
+ * </p>
+ */
+class ModelCache {
+
+	/**
+	 * Part of every key; to be changed whenever the same options generate a
+	 * different model.
+	 */
+	static final String GENERATOR_VERSION = "5.5.0-2";
+
+	static final long DEFAULT_LIMIT_MB = 4096;
+
+	/** The options that do not change the model, only how it is made. */
+	private static final Set<String> IGNORED = new HashSet<String>(
+		Arrays.asList("cache", "cache-size", "quiet", "progress", "metrics",
+			"jfr", "threads", "writers", "store", "checkpoint", "resume",
+			"analyze", "index", "validate", "footprint", "plan", "profile",
+			"template"));
+
+	/** The options that work on the generated model, which a hit skips. */
+	private static final List<String> SKIPPED = Arrays.asList("analyze",
+		"index", "validate", "footprint");
+
+	private static final String SUFFIX = ".uml";
+
+	private final File dir;
+
+	private final long limit;
+
+	ModelCache(File dir, long limit) {
+		this.dir = dir;
+		this.limit = limit;
+	}
+
+	/**
+	 * Opens the cache named by the <tt>cache</tt> option, by default
+	 * <tt>~/.uml2-generator-cache</tt>.
+	 */
+	static ModelCache open(GeneratorOptions options)
+			throws IOException {
+
+		String path = options.get("cache", "true");
+		File dir = path.equals("true")
+			? new File(System.getProperty("user.home"), ".uml2-generator-cache")
+			: new File(path);
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Cannot create cache directory " + dir);
+		}
+		return new ModelCache(dir, options.getInt("cache-size",
+			(int) DEFAULT_LIMIT_MB) * (1L << 20));
+	}
+
+	/**
+	 * The options of <tt>options</tt> that are not run on a model that is
+	 * reused from the cache, as they need the generator's model in memory.
+	 */
+	static List<String> getSkipped(GeneratorOptions options) {
+		List<String> result = new ArrayList<String>();
+		for (String option : SKIPPED) {
+			if (options.has(option)) {
+				result.add(option);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The key of the model of <tt>nodes</tt> elements that <tt>options</tt>
+	 * generate, off-heap or not.
+	 */
+	static String key(GeneratorOptions options, int nodes, boolean offHeap)
+			throws IOException {
+
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException nsae) {
+			throw new IllegalStateException(nsae);
+		}
+		update(digest, "version", GENERATOR_VERSION);
+		update(digest, "nodes", String.valueOf(nodes));
+		update(digest, "offHeap", String.valueOf(offHeap));
+		// sorted, so that the order of the arguments does not matter
+		for (Map.Entry<String, String> entry : new TreeMap<String, String>(
+			options.asMap()).entrySet()) {
+			if (!IGNORED.contains(entry.getKey())) {
+				update(digest, entry.getKey(), entry.getValue());
+			}
+		}
+		for (String option : new String[]{"profile", "template"}) {
+			if (options.has(option)) {
+				update(digest, option, "");
+				updateContents(digest, new File(options.get(option, "")));
+			}
+		}
+
+		StringBuilder result = new StringBuilder(64);
+		for (byte b : digest.digest()) {
+			result.append(Character.forDigit((b >> 4) & 0xf, 16));
+			result.append(Character.forDigit(b & 0xf, 16));
+		}
+		return result.toString();
+	}
+
+	private static void update(MessageDigest digest, String key, String value)
+			throws IOException {
+
+		digest.update(key.getBytes("UTF-8"));
+		digest.update((byte) '=');
+		digest.update(value.getBytes("UTF-8"));
+		digest.update((byte) 0);
+	}
+
+	private static void updateContents(MessageDigest digest, File file)
+			throws IOException {
+
+		InputStream in = new FileInputStream(file);
+		try {
+			byte[] buffer = new byte[1 << 16];
+			for (int read; (read = in.read(buffer)) > 0;) {
+				digest.update(buffer, 0, read);
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Puts the cached model of a <tt>key</tt>, if any, in place of
+	 * <tt>file</tt>: as a hard link to it if the file system allows,
+	 * otherwise as a copy.
+	 *
+	 * @return whether the model was in the cache
+	 */
+	boolean fetch(String key, File file)
+			throws IOException {
+
+		File entry = new File(dir, key + SUFFIX);
+		if (!entry.isFile()) {
+			return false;
+		}
+		entry.setLastModified(System.currentTimeMillis());
+
+		// never write through an earlier link to the cache
+		delete(file);
+		try {
+			Files.createLink(file.toPath(), entry.toPath());
+		} catch (IOException ioe) {
+			copy(entry, file);
+		} catch (UnsupportedOperationException uoe) {
+			copy(entry, file);
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a copy of the model <tt>file</tt> as that of a <tt>key</tt> and
+	 * deletes the least recently used models beyond the size of the cache.
+	 */
+	void store(String key, File file)
+			throws IOException {
+
+		File temp = File.createTempFile(key, ".tmp", dir);
+		try {
+			copy(file, temp);
+			temp.setReadOnly();
+			File entry = new File(dir, key + SUFFIX);
+			if (!temp.renameTo(entry)) {
+				delete(entry);
+				if (!temp.renameTo(entry)) {
+					throw new IOException("Cannot add " + entry + " to the cache");
+				}
+			}
+		} finally {
+			delete(temp);
+		}
+		evict();
+	}
+
+	/** Deletes the least recently used models beyond the limit. */
+	void evict() {
+		File[] entries = dir.listFiles();
+		if (entries == null) {
+			return;
+		}
+		final long[] times = new long[entries.length];
+		long total = 0;
+		for (int i = 0; i < entries.length; i++) {
+			times[i] = entries[i].lastModified();
+			if (entries[i].getName().endsWith(SUFFIX)) {
+				total += entries[i].length();
+			}
+		}
+		Integer[] order = new Integer[entries.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+
+			public int compare(Integer i, Integer j) {
+				return (times[i] < times[j])
+					? -1
+					: ((times[i] == times[j])
+						? 0
+						: 1);
+			}
+		});
+
+		for (int i = 0; i < order.length && total > limit; i++) {
+			File entry = entries[order[i]];
+			if (entry.getName().endsWith(SUFFIX)) {
+				long length = entry.length();
+				if (delete(entry)) {
+					total -= length;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Deletes <tt>file</tt>, which may be a cached model or a link to one. On
+	 * file systems that refuse to delete a read-only file, it is made writable
+	 * first; a link shares the attributes of the model that it links to.
+	 *
+	 * @return whether the file was deleted
+	 */
+	static boolean delete(File file) {
+		if (file.delete()) {
+			return true;
+		}
+		return file.exists() && file.setWritable(true) && file.delete();
+	}
+
+	private static void copy(File from, File to)
+			throws IOException {
+
+		FileChannel in = new FileInputStream(from).getChannel();
+		try {
+			FileChannel out = new FileOutputStream(to).getChannel();
+			try {
+				long size = in.size();
+				for (long position = 0; position < size;) {
+					position += in.transferTo(position, size - position, out);
+				}
+			} finally {
+				out.close();
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	File getDirectory() {
+		return dir;
+	}
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Compares two generated XMI files by <tt>xmi:id</tt> without loading either
+ * of them as a model. Each file is parsed once into records, one per XML
+ * element with an id, holding its type, its containing element and its
+ * attributes (and those of its id-less children, such as comment bodies).
+ * The records are sorted by id in runs of at most <tt>spill</tt> records;
+ * full runs are written to temporary files and merged back, so that memory
+ * stays bounded whatever the size of the models. The two sorted streams are
+ * then merged to find the added, removed and changed elements and
+ * relationships.
+ * <p>
+ * The comparison is only meaningful if the ids are deterministic, as those
+ * of the off-heap generator and of in-memory generations with a seed are.
+ * A file with EMF's UUIDs, which are fresh on every run, is refused.
+ * </p>
+ */
+class ModelDiff {
+
+	static final int DEFAULT_SPILL = 1 << 20;
+
+	/** The XMI types (or tags, if untyped) that are relationships. */
+	private static final Set<String> RELATIONSHIPS = new HashSet<String>(
+		Arrays.asList(ModelGraph.KIND_NAMES));
+
+	/** The ids that EMF generates, which differ on every save. */
+	private static final Pattern UUID = Pattern.compile("_[A-Za-z0-9_-]{22}");
+
+	private static final Comparator<Record> BY_ID = new Comparator<Record>() {
+
+		public int compare(Record r1, Record r2) {
+			return r1.id.compareTo(r2.id);
+		}
+	};
+
+	/**
+	 * One element with an id: its id and its content, prefixed by
+	 * <tt>E</tt> for an element or <tt>R</tt> for a relationship.
+	 */
+	static class Record {
+
+		final String id;
+
+		final String text;
+
+		Record(String id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+
+		boolean isRelationship() {
+			return text.charAt(0) == 'R';
+		}
+	}
+
+	/**
+	 * The number of differences of each kind.
+	 */
+	static class Summary {
+
+		long addedElements;
+
+		long removedElements;
+
+		long changedElements;
+
+		long addedRelationships;
+
+		long removedRelationships;
+
+		long changedRelationships;
+
+		boolean isEmpty() {
+			return addedElements + removedElements + changedElements
+				+ addedRelationships + removedRelationships
+				+ changedRelationships == 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+				"elements: +%d -%d ~%d, relationships: +%d -%d ~%d",
+				addedElements, removedElements, changedElements,
+				addedRelationships, removedRelationships, changedRelationships);
+		}
+	}
+
+	private final int spill;
+
+	private final File tempDir;
+
+	ModelDiff(int spill, File tempDir) {
+		this.spill = Math.max(1, spill);
+		this.tempDir = tempDir;
+	}
+
+	/**
+	 * Writes the differences between <tt>oldFile</tt> and <tt>newFile</tt> to
+	 * <tt>out</tt>, one per line: <tt>+</tt> or <tt>-</tt>, the id and the
+	 * record of an added or removed element or relationship. A changed one is
+	 * written as its old record followed by its new one.
+	 */
+	Summary diff(File oldFile, File newFile, Writer out)
+			throws IOException {
+
+		RecordSorter oldRecords = sort(oldFile);
+		try {
+			RecordSorter newRecords = sort(newFile);
+			try {
+				return merge(oldRecords.iterator(), newRecords.iterator(), out);
+			} finally {
+				newRecords.dispose();
+			}
+		} finally {
+			oldRecords.dispose();
+		}
+	}
+
+	private RecordSorter sort(File file)
+			throws IOException {
+
+		RecordSorter sorter = new RecordSorter();
+		try {
+			SAXParserFactory.newInstance().newSAXParser()
+				.parse(file, new RecordHandler(sorter));
+		} catch (ParserConfigurationException pce) {
+			sorter.dispose();
+			throw new IllegalStateException(pce);
+		} catch (SAXException se) {
+			sorter.dispose();
+			if (se.getException() instanceof IOException) {
+				throw (IOException) se.getException();
+			}
+			throw new IOException(file + ": " + se.getMessage());
+		}
+		return sorter;
+	}
+
+	private Summary merge(RecordCursor oldRecords, RecordCursor newRecords,
+			Writer out)
+			throws IOException {
+
+		Summary summary = new Summary();
+		Record oldRecord = oldRecords.next();
+		Record newRecord = newRecords.next();
+
+		while (oldRecord != null || newRecord != null) {
+			int order = (oldRecord == null)
+				? 1
+				: ((newRecord == null)
+					? -1
+					: oldRecord.id.compareTo(newRecord.id));
+
+			if (order < 0) {
+				write(out, '-', oldRecord);
+				if (oldRecord.isRelationship()) {
+					summary.removedRelationships++;
+				} else {
+					summary.removedElements++;
+				}
+				oldRecord = oldRecords.next();
+			} else if (order > 0) {
+				write(out, '+', newRecord);
+				if (newRecord.isRelationship()) {
+					summary.addedRelationships++;
+				} else {
+					summary.addedElements++;
+				}
+				newRecord = newRecords.next();
+			} else {
+				if (!oldRecord.text.equals(newRecord.text)) {
+					write(out, '-', oldRecord);
+					write(out, '+', newRecord);
+					if (newRecord.isRelationship()) {
+						summary.changedRelationships++;
+					} else {
+						summary.changedElements++;
+					}
+				}
+				oldRecord = oldRecords.next();
+				newRecord = newRecords.next();
+			}
+		}
+
+		return summary;
+	}
+
+	private static void write(Writer out, char change, Record record)
+			throws IOException {
+
+		out.write(change);
+		out.write(record.text, 0, 1);
+		out.write(' ');
+		out.write(record.id);
+		out.write(record.text, 1, record.text.length() - 1);
+		out.write('\n');
+	}
+
+	/**
+	 * Reads records in ascending order of id.
+	 */
+	interface RecordCursor {
+
+		/**
+		 * @return the next record, or <code>null</code> if there are no more
+		 */
+		Record next()
+				throws IOException;
+	}
+
+	/**
+	 * Collects records into sorted runs, spilling each full run to a
+	 * temporary file, and merges the runs on iteration.
+	 */
+	private class RecordSorter {
+
+		private final List<Record> buffer = new ArrayList<Record>();
+
+		private final List<File> runs = new ArrayList<File>();
+
+		private final List<DataInputStream> inputs = new ArrayList<DataInputStream>();
+
+		void add(Record record)
+				throws IOException {
+
+			buffer.add(record);
+			if (buffer.size() >= spill) {
+				spill();
+			}
+		}
+
+		private void spill()
+				throws IOException {
+
+			Collections.sort(buffer, BY_ID);
+			File run = File.createTempFile("diff", ".run", tempDir);
+			runs.add(run);
+			DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(run), 1 << 16));
+			try {
+				for (Record record : buffer) {
+					writeString(out, record.id);
+					writeString(out, record.text);
+				}
+			} finally {
+				out.close();
+			}
+			buffer.clear();
+		}
+
+		RecordCursor iterator()
+				throws IOException {
+
+			Collections.sort(buffer, BY_ID);
+			final List<RecordCursor> cursors = new ArrayList<RecordCursor>();
+			cursors.add(new RecordCursor() {
+
+				private int next;
+
+				public Record next() {
+					return (next < buffer.size())
+						? buffer.get(next++)
+						: null;
+				}
+			});
+			for (File run : runs) {
+				final DataInputStream in = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(run), 1 << 16));
+				inputs.add(in);
+				cursors.add(new RecordCursor() {
+
+					public Record next()
+							throws IOException {
+						String id;
+						try {
+							id = readString(in);
+						} catch (EOFException eofe) {
+							return null;
+						}
+						return new Record(id, readString(in));
+					}
+				});
+			}
+
+			return (cursors.size() == 1)
+				? cursors.get(0)
+				: new MergingCursor(cursors);
+		}
+
+		void dispose() {
+			for (DataInputStream in : inputs) {
+				try {
+					in.close();
+				} catch (IOException ioe) {
+					// nothing more to read from it anyway
+				}
+			}
+			for (File run : runs) {
+				run.delete();
+			}
+		}
+	}
+
+	/*
+	 * Writes the length and the UTF-8 bytes of the string, as writeUTF does
+	 * not take strings of more than 64 KB, such as the record of a deployment
+	 * of thousands of artifacts
+	 */
+	private static void writeString(DataOutputStream out, String string)
+			throws IOException {
+
+		byte[] bytes = string.getBytes("UTF-8");
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in)
+			throws IOException {
+
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, "UTF-8");
+	}
+
+	/**
+	 * Merges sorted cursors with a heap of their current records.
+	 */
+	private static class MergingCursor
+			implements RecordCursor {
+
+		private final List<RecordCursor> cursors;
+
+		private final PriorityQueue<int[]> heap;
+
+		private final Record[] heads;
+
+		MergingCursor(List<RecordCursor> cursors)
+				throws IOException {
+
+			this.cursors = cursors;
+			this.heads = new Record[cursors.size()];
+			this.heap = new PriorityQueue<int[]>(cursors.size(),
+				new Comparator<int[]>() {
+
+					public int compare(int[] c1, int[] c2) {
+						return heads[c1[0]].id.compareTo(heads[c2[0]].id);
+					}
+				});
+			for (int i = 0; i < heads.length; i++) {
+				advance(i);
+			}
+		}
+
+		private void advance(int cursor)
+				throws IOException {
+
+			heads[cursor] = cursors.get(cursor).next();
+			if (heads[cursor] != null) {
+				heap.add(new int[]{cursor});
+			}
+		}
+
+		public Record next()
+				throws IOException {
+
+			int[] top = heap.poll();
+			if (top == null) {
+				return null;
+			}
+			Record result = heads[top[0]];
+			advance(top[0]);
+			return result;
+		}
+	}
+
+	/**
+	 * Turns every XML element with an <tt>xmi:id</tt> into a record: its type,
+	 * its parent's id and its attributes, followed by the attributes and text
+	 * of its children that have no id of their own.
+	 */
+	private static class RecordHandler
+			extends DefaultHandler {
+
+		private final RecordSorter sorter;
+
+		/** For each open element, its record, or <code>null</code>. */
+		private final List<StringBuilder> texts = new ArrayList<StringBuilder>();
+
+		private final List<String> ids = new ArrayList<String>();
+
+		RecordHandler(RecordSorter sorter) {
+			this.sorter = sorter;
+		}
+
+		private StringBuilder current() {
+			for (int i = texts.size() - 1; i >= 0; i--) {
+				if (texts.get(i) != null) {
+					return texts.get(i);
+				}
+			}
+			return null;
+		}
+
+		private String parentId() {
+			for (int i = ids.size() - 1; i >= 0; i--) {
+				if (ids.get(i) != null) {
+					return ids.get(i);
+				}
+			}
+			return "";
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName,
+				Attributes attributes)
+				throws SAXException {
+
+			String id = attributes.getValue("xmi:id");
+			if (id != null && UUID.matcher(id).matches()) {
+				throw new SAXException("Not comparing a model with UUIDs ("
+					+ id + "); generate it with --seed or off-heap");
+			}
+			if (id == null) {
+				StringBuilder text = current();
+				if (text != null) {
+					appendAttributes(text, qName + ".", attributes);
+				}
+				texts.add(null);
+				ids.add(null);
+				return;
+			}
+
+			String type = attributes.getValue("xmi:type");
+			type = (type == null)
+				? Character.toUpperCase(qName.charAt(0)) + qName.substring(1)
+				: type.substring(type.indexOf(':') + 1);
+
+			StringBuilder text = new StringBuilder();
+			text.append(RELATIONSHIPS.contains(type)
+				? 'R'
+				: 'E');
+			text.append(' ').append(type);
+			text.append(" in=").append(parentId());
+			appendAttributes(text, "", attributes);
+
+			texts.add(text);
+			ids.add(id);
+		}
+
+		private static void appendAttributes(StringBuilder text, String prefix,
+				Attributes attributes) {
+
+			for (int i = 0; i < attributes.getLength(); i++) {
+				String name = attributes.getQName(i);
+				if (!name.startsWith("xmi:") && !name.startsWith("xmlns")) {
+					text.append(' ').append(prefix).append(name).append('=')
+						.append(attributes.getValue(i));
+				}
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) {
+			StringBuilder text = current();
+			if (text != null) {
+				for (int i = start; i < start + length; i++) {
+					char c = ch[i];
+					if (!Character.isWhitespace(c)) {
+						text.append(c);
+					}
+				}
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName)
+				throws SAXException {
+
+			int last = texts.size() - 1;
+			StringBuilder text = texts.remove(last);
+			String id = ids.remove(last);
+			if (text != null) {
+				try {
+					sorter.add(new Record(id, text.toString()));
+				} catch (IOException ioe) {
+					throw new SAXException(ioe);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compares two XMI files and prints the differences.
+	 *
+	 * @param args
+	 *            the old and new files, followed by the optional
+	 *            <tt>--out=&lt;file&gt;</tt>, <tt>--spill=&lt;n&gt;</tt> and
+	 *            <tt>--tmp=&lt;dir&gt;</tt>
+	 */
+	public static void main(String[] args)
+			throws IOException {
+
+		if (args.length < 2) {
+			GettingStartedWithUML2.err("Expected at least 2 arguments.");
+			GettingStartedWithUML2.err(
+				"Usage: java -cp ... %s <old.uml> <new.uml> [options]",
+				ModelDiff.class.getName());
+			GettingStartedWithUML2.err("--out=<file> - write the differences to a file instead of the console");
+			GettingStartedWithUML2.err("--spill=<n> - number of records to sort in memory before spilling a run");
+			GettingStartedWithUML2.err("--tmp=<dir> - folder for the spilled runs");
+			System.exit(1);
+		}
+
+		GeneratorOptions options;
+		try {
+			options = GeneratorOptions.parse(args, 2);
+			options.getInt("spill", DEFAULT_SPILL);
+		} catch (IllegalArgumentException iae) {
+			GettingStartedWithUML2.err(iae.getMessage());
+			System.exit(1);
+			return;
+		}
+
+		File tempDir = options.has("tmp")
+			? new File(options.get("tmp", null))
+			: null;
+		ModelDiff diff = new ModelDiff(options.getInt("spill", DEFAULT_SPILL),
+			tempDir);
+
+		Writer out = options.has("out")
+			? new BufferedWriter(new OutputStreamWriter(new FileOutputStream(
+				options.get("out", null)), "UTF-8"), 1 << 16)
+			: new PrintWriter(System.out);
+		Summary summary;
+		try {
+			summary = diff.diff(new File(args[0]), new File(args[1]), out);
+		} finally {
+			out.close();
+		}
+		System.err.println(summary.isEmpty()
+			? "No differences."
+			: summary.toString());
+	}
+}
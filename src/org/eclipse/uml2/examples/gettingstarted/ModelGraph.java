@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.uml2.uml.Association;
+import org.eclipse.uml2.uml.CommunicationPath;
+import org.eclipse.uml2.uml.Comment;
+import org.eclipse.uml2.uml.Dependency;
+import org.eclipse.uml2.uml.DeployedArtifact;
+import org.eclipse.uml2.uml.Deployment;
+import org.eclipse.uml2.uml.Element;
+import org.eclipse.uml2.uml.Generalization;
+import org.eclipse.uml2.uml.NamedElement;
+import org.eclipse.uml2.uml.Namespace;
+import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.Type;
+
+/**
+ * A compact, index-based view of the relationships of a generated model. Every
+ * element taking part in a relationship (or carrying an exposure/asset
+ * comment) gets a dense integer index, and the relationships are kept as
+ * parallel primitive arrays, or in an {@link EdgeStore} for models generated
+ * off-heap, that can be turned into a CSR adjacency.
+ */
+class ModelGraph {
+
+	static final byte DEPENDENCY = 0;
+
+	static final byte GENERALIZATION = 1;
+
+	static final byte ASSOCIATION = 2;
+
+	static final byte COMMUNICATION_PATH = 3;
+
+	static final byte DEPLOYMENT = 4;
+
+	static final String[] KIND_NAMES = {"Dependency", "Generalization",
+		"Association", "CommunicationPath", "Deployment"};
+
+	/** Annotation of an element with no exposure/asset comment. */
+	static final byte NONE = 0;
+
+	static final byte EXPOSED = 1;
+
+	static final byte ASSET = 2;
+
+	private final List<NamedElement> elements = new ArrayList<NamedElement>();
+
+	private final Map<EObject, Integer> indices = new HashMap<EObject, Integer>();
+
+	private byte[] annotations = new byte[64];
+
+	private int[] assetValues = new int[64];
+
+	private int[] sources = new int[256];
+
+	private int[] targets = new int[256];
+
+	private byte[] kinds = new byte[256];
+
+	private int edgeCount;
+
+	private ElementTable table;
+
+	private EdgeStore store;
+
+	/**
+	 * Builds the graph of all dependencies, generalizations, associations,
+	 * communication paths and deployments contained in <tt>root</tt>.
+	 */
+	static ModelGraph build(Namespace root) {
+		ModelGraph graph = new ModelGraph();
+
+		for (Iterator<EObject> contents = root.eAllContents(); contents
+			.hasNext();) {
+
+			EObject next = contents.next();
+
+			if (next instanceof Comment) {
+				graph.annotate((Comment) next);
+			} else if (next instanceof Generalization) {
+				Generalization generalization = (Generalization) next;
+				graph.addEdge(generalization.getSpecific(),
+					generalization.getGeneral(), GENERALIZATION);
+			} else if (next instanceof Deployment) {
+				Deployment deployment = (Deployment) next;
+				for (NamedElement client : deployment.getClients()) {
+					if (client != deployment.getLocation()) {
+						graph.addEdge(client, deployment.getLocation(),
+							DEPLOYMENT);
+					}
+				}
+				for (DeployedArtifact artifact : deployment
+					.getDeployedArtifacts()) {
+					graph.addEdge(artifact, deployment.getLocation(),
+						DEPLOYMENT);
+				}
+			} else if (next instanceof Dependency) {
+				Dependency dependency = (Dependency) next;
+				for (NamedElement client : dependency.getClients()) {
+					for (NamedElement supplier : dependency.getSuppliers()) {
+						graph.addEdge(client, supplier, DEPENDENCY);
+					}
+				}
+			} else if (next instanceof Association) {
+				byte kind = (next instanceof CommunicationPath)
+					? COMMUNICATION_PATH
+					: ASSOCIATION;
+				EList<Property> ends = ((Association) next).getMemberEnds();
+				for (int i = 1; i < ends.size(); i++) {
+					Type type1 = ends.get(i - 1).getType();
+					Type type2 = ends.get(i).getType();
+					if (type1 != null && type2 != null) {
+						graph.addEdge(type1, type2, kind);
+					}
+				}
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Views a model generated off-heap as a graph. The relationships are not
+	 * copied: they are read from the <tt>store</tt> whenever they are needed.
+	 */
+	static ModelGraph build(ElementTable table, EdgeStore store) {
+		ModelGraph graph = new ModelGraph();
+		graph.table = table;
+		graph.store = store;
+		return graph;
+	}
+
+	/**
+	 * The index of <tt>element</tt>, or <tt>-1</tt> if it is not in the
+	 * graph.
+	 */
+	int indexOf(NamedElement element) {
+		Integer index = indices.get(element);
+		return (index == null)
+			? -1
+			: index.intValue();
+	}
+
+	/** The index of <tt>element</tt>, which is added if not in the graph. */
+	private int add(NamedElement element) {
+		Integer index = indices.get(element);
+		if (index == null) {
+			index = Integer.valueOf(elements.size());
+			indices.put(element, index);
+			elements.add(element);
+
+			if (index.intValue() == annotations.length) {
+				annotations = Arrays.copyOf(annotations, 2 * index.intValue());
+				assetValues = Arrays.copyOf(assetValues, 2 * index.intValue());
+			}
+		}
+		return index.intValue();
+	}
+
+	void addEdge(NamedElement source, NamedElement target, byte kind) {
+		addEdge(add(source), add(target), kind);
+	}
+
+	void addEdge(int source, int target, byte kind) {
+		if (edgeCount == sources.length) {
+			sources = Arrays.copyOf(sources, 2 * edgeCount);
+			targets = Arrays.copyOf(targets, 2 * edgeCount);
+			kinds = Arrays.copyOf(kinds, 2 * edgeCount);
+		}
+		sources[edgeCount] = source;
+		targets[edgeCount] = target;
+		kinds[edgeCount] = kind;
+		edgeCount++;
+	}
+
+	private void annotate(Comment comment) {
+		Element owner = comment.getOwner();
+		String body = comment.getBody();
+		if (!(owner instanceof NamedElement) || body == null) {
+			return;
+		}
+
+		int index = add((NamedElement) owner);
+		if (body.indexOf("\"exposure\":true") >= 0) {
+			annotations[index] = EXPOSED;
+		} else {
+			int value = body.indexOf("\"value\":");
+			if (value >= 0) {
+				annotations[index] = ASSET;
+				assetValues[index] = parseValue(body, value + 8);
+			}
+		}
+	}
+
+	private static int parseValue(String body, int start) {
+		int end = start;
+		while (end < body.length()
+			&& (Character.isDigit(body.charAt(end)) || body.charAt(end) == '-')) {
+			end++;
+		}
+		return (end > start)
+			? Integer.parseInt(body.substring(start, end))
+			: 0;
+	}
+
+	int size() {
+		return (table != null)
+			? table.size()
+			: elements.size();
+	}
+
+	long edgeCount() {
+		return (store != null)
+			? store.size()
+			: edgeCount;
+	}
+
+	NamedElement getElement(int index) {
+		return elements.get(index);
+	}
+
+	String getLabel(int index) {
+		if (table != null) {
+			return table.getName(index);
+		}
+
+		NamedElement element = elements.get(index);
+		String name = element.getQualifiedName();
+		return (name == null)
+			? element.eClass().getName() + "#" + index
+			: name;
+	}
+
+	byte getAnnotation(int index) {
+		return (table != null)
+			? table.getAnnotation(index)
+			: annotations[index];
+	}
+
+	int getAssetValue(int index) {
+		return (table != null)
+			? table.getAssetValue(index)
+			: assetValues[index];
+	}
+
+	/**
+	 * Builds a CSR adjacency over the relationships whose kind is selected by
+	 * <tt>mask</tt> (bit <tt>1 &lt;&lt; kind</tt>). Relationships of the kinds
+	 * selected by <tt>undirectedMask</tt> are traversable in both directions.
+	 */
+	Csr toCsr(final int mask, final int undirectedMask)
+			throws IOException {
+
+		int n = size();
+		final int[] offsets = new int[n + 1];
+
+		forEachEdge(new EdgeStore.EdgeVisitor() {
+
+			public void visit(long edge, int source, int target, byte kind) {
+				int bit = 1 << kind;
+				if ((mask & bit) != 0) {
+					offsets[source + 1]++;
+					if ((undirectedMask & bit) != 0) {
+						offsets[target + 1]++;
+					}
+				}
+			}
+		});
+		for (int i = 0; i < n; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+
+		final int[] adjacency = new int[offsets[n]];
+		final byte[] adjacencyKinds = new byte[offsets[n]];
+		final int[] fill = Arrays.copyOf(offsets, n);
+
+		forEachEdge(new EdgeStore.EdgeVisitor() {
+
+			public void visit(long edge, int source, int target, byte kind) {
+				int bit = 1 << kind;
+				if ((mask & bit) != 0) {
+					int slot = fill[source]++;
+					adjacency[slot] = target;
+					adjacencyKinds[slot] = kind;
+					if ((undirectedMask & bit) != 0) {
+						slot = fill[target]++;
+						adjacency[slot] = source;
+						adjacencyKinds[slot] = kind;
+					}
+				}
+			}
+		});
+
+		return new Csr(offsets, adjacency, adjacencyKinds);
+	}
+
+	/**
+	 * Visits every relationship, reading them sequentially from the edge store
+	 * if this graph is backed by one.
+	 */
+	void forEachEdge(EdgeStore.EdgeVisitor visitor)
+			throws IOException {
+
+		if (store != null) {
+			store.forEach(visitor);
+		} else {
+			for (int e = 0; e < edgeCount; e++) {
+				visitor.visit(e, sources[e], targets[e], kinds[e]);
+			}
+		}
+	}
+
+	/**
+	 * Compressed sparse row adjacency: the neighbours of vertex <tt>v</tt> are
+	 * <tt>adjacency[offsets[v]] .. adjacency[offsets[v + 1] - 1]</tt>.
+	 */
+	static class Csr {
+
+		final int[] offsets;
+
+		final int[] adjacency;
+
+		final byte[] kinds;
+
+		Csr(int[] offsets, int[] adjacency, byte[] kinds) {
+			this.offsets = offsets;
+			this.adjacency = adjacency;
+			this.kinds = kinds;
+		}
+
+		int size() {
+			return offsets.length - 1;
+		}
+	}
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.common.util.DiagnosticChain;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EValidator;
+import org.eclipse.emf.ecore.util.Diagnostician;
+import org.eclipse.emf.ecore.util.EObjectValidator;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.UMLPackage;
+import org.eclipse.uml2.uml.util.UMLValidator;
+
+/**
+ * Validates a generated model with EMF's {@link Diagnostician}, partitioning
+ * the contents of the root model across a pool of workers that each
+ * validate their subtrees with their own diagnostician. The UML constraints
+ * are invoked one by one instead of through <tt>UMLValidator</tt>'s dispatch,
+ * so that the time spent in each of them can be reported.
+ * <p>
+ * The model must not change while it is validated. The derived-value caches
+ * of the UML2 <tt>CacheAdapter</tt> that the constraints share are
+ * synchronized maps, so concurrent lookups at worst compute a value twice.
+ * </p>
+ */
+class ModelValidator {
+
+	/** The generic constraints of <tt>validate_EveryDefaultConstraint</tt>. */
+	private static final String[] DEFAULT_CONSTRAINTS = {
+		"validate_EveryMultiplicityConforms", "validate_EveryDataValueConforms",
+		"validate_EveryReferenceIsContained",
+		"validate_EveryBidirectionalReferenceIsPaired",
+		"validate_EveryProxyResolves", "validate_UniqueID",
+		"validate_EveryKeyUnique", "validate_EveryMapEntryUnique"};
+
+	/** Every constraint, generic ones first. */
+	private final List<Method> constraints = new ArrayList<Method>();
+
+	/** The constraints that apply to each UML metaclass. */
+	private final Map<EClass, int[]> constraintsByClass = new HashMap<EClass, int[]>();
+
+	private final int threads;
+
+	/**
+	 * The validation time of one constraint, summed over all workers.
+	 */
+	static class ConstraintTiming {
+
+		final String name;
+
+		long calls;
+
+		long failures;
+
+		long nanos;
+
+		ConstraintTiming(String name) {
+			this.name = name;
+		}
+	}
+
+	private final List<ConstraintTiming> timings = new ArrayList<ConstraintTiming>();
+
+	ModelValidator(int threads) {
+		this.threads = Math.max(1, threads);
+
+		for (String name : DEFAULT_CONSTRAINTS) {
+			try {
+				addConstraint(EObjectValidator.class.getMethod(name,
+					EObject.class, DiagnosticChain.class, Map.class));
+			} catch (NoSuchMethodException nsme) {
+				// not in this version of EMF
+			}
+		}
+		// the generic constraints that this version of EMF has, first
+		int generic = constraints.size();
+
+		Map<EClass, List<Integer>> own = new HashMap<EClass, List<Integer>>();
+		for (EClassifier classifier : UMLPackage.eINSTANCE.getEClassifiers()) {
+			if (classifier instanceof EClass) {
+				own.put((EClass) classifier, new ArrayList<Integer>());
+			}
+		}
+		for (Method method : UMLValidator.class.getMethods()) {
+			int underscore = method.getName().indexOf('_');
+			if (underscore < 0 || !method.getName().startsWith("validate")
+				|| method.getParameterTypes().length != 3) {
+				continue;
+			}
+			EClassifier classifier = UMLPackage.eINSTANCE.getEClassifier(method
+				.getName().substring("validate".length(), underscore));
+			if (classifier instanceof EClass
+				&& method.getParameterTypes()[0] == classifier.getInstanceClass()) {
+				own.get(classifier).add(Integer.valueOf(constraints.size()));
+				addConstraint(method);
+			}
+		}
+
+		for (EClass eClass : own.keySet()) {
+			List<Integer> applicable = new ArrayList<Integer>();
+			for (int i = 0; i < generic; i++) {
+				applicable.add(Integer.valueOf(i));
+			}
+			for (EClass superType : eClass.getEAllSuperTypes()) {
+				if (own.containsKey(superType)) {
+					applicable.addAll(own.get(superType));
+				}
+			}
+			applicable.addAll(own.get(eClass));
+
+			int[] indices = new int[applicable.size()];
+			for (int i = 0; i < indices.length; i++) {
+				indices[i] = applicable.get(i).intValue();
+			}
+			constraintsByClass.put(eClass, indices);
+		}
+	}
+
+	private void addConstraint(Method method) {
+		constraints.add(method);
+		String name = method.getName().substring("validate".length());
+		timings.add(new ConstraintTiming(name.startsWith("_")
+			? name.substring(1)
+			: name));
+	}
+
+	/**
+	 * Validates <tt>model</tt> and all of its contents.
+	 */
+	Diagnostic validate(Model model)
+			throws InterruptedException {
+
+		BasicDiagnostic result = Diagnostician.INSTANCE
+			.createDefaultDiagnostic(model);
+
+		// the root itself, without its contents
+		Worker rootWorker = new Worker(Collections.<EObject> singletonList(model),
+			false);
+		merge(rootWorker.call(), result);
+
+		// its packaged elements, but also its comments, imports and the like
+		List<EObject> elements = new ArrayList<EObject>(model.eContents());
+		int chunk = Math.max(1, (elements.size() + 4 * threads - 1)
+			/ (4 * threads));
+		List<Worker> workers = new ArrayList<Worker>();
+		for (int i = 0; i < elements.size(); i += chunk) {
+			workers.add(new Worker(new ArrayList<EObject>(elements.subList(i,
+				Math.min(elements.size(), i + chunk))), true));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+			GenerationMetrics.workerFactory());
+		try {
+			for (Future<Worker> future : executor.invokeAll(workers)) {
+				merge(future.get(), result);
+			}
+		} catch (ExecutionException ee) {
+			throw new IllegalStateException(ee.getCause());
+		} finally {
+			executor.shutdown();
+		}
+		return result;
+	}
+
+	private void merge(Worker worker, BasicDiagnostic result) {
+		result.addAll(worker.diagnostics);
+		for (int i = 0; i < timings.size(); i++) {
+			ConstraintTiming timing = timings.get(i);
+			timing.calls += worker.calls[i];
+			timing.failures += worker.failures[i];
+			timing.nanos += worker.nanos[i];
+		}
+	}
+
+	/**
+	 * The constraints that were evaluated, slowest first.
+	 */
+	List<ConstraintTiming> getTimings() {
+		List<ConstraintTiming> result = new ArrayList<ConstraintTiming>();
+		for (ConstraintTiming timing : timings) {
+			if (timing.calls > 0) {
+				result.add(timing);
+			}
+		}
+		Collections.sort(result, new Comparator<ConstraintTiming>() {
+
+			public int compare(ConstraintTiming t1, ConstraintTiming t2) {
+				return (t1.nanos < t2.nanos)
+					? 1
+					: ((t1.nanos == t2.nanos)
+						? 0
+						: -1);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Prints the number of problems by severity and the <tt>limit</tt>
+	 * constraints that took the longest.
+	 */
+	void report(Diagnostic diagnostic, int limit) {
+		int errors = 0;
+		int warnings = 0;
+		for (Diagnostic child : diagnostic.getChildren()) {
+			if (child.getSeverity() >= Diagnostic.ERROR) {
+				errors++;
+			} else if (child.getSeverity() == Diagnostic.WARNING) {
+				warnings++;
+			}
+		}
+		System.out.printf("%d error(s), %d warning(s).%n", errors, warnings);
+
+		List<ConstraintTiming> slowest = getTimings();
+		for (ConstraintTiming timing : slowest.subList(0,
+			Math.min(limit, slowest.size()))) {
+			System.out.printf("%10.3f ms %10d call(s) %8d failure(s)  %s%n",
+				timing.nanos / 1e6, timing.calls, timing.failures, timing.name);
+		}
+	}
+
+	/**
+	 * Validates some subtrees of the model with its own diagnostician and
+	 * accumulates the time spent in each constraint.
+	 */
+	private class Worker
+			extends Diagnostician
+			implements Callable<Worker> {
+
+		private final List<EObject> roots;
+
+		private final boolean recursive;
+
+		final long[] calls = new long[constraints.size()];
+
+		final long[] failures = new long[constraints.size()];
+
+		final long[] nanos = new long[constraints.size()];
+
+		final BasicDiagnostic diagnostics = new BasicDiagnostic();
+
+		private final Object[] arguments = new Object[3];
+
+		Worker(List<EObject> roots, boolean recursive) {
+			this.roots = roots;
+			this.recursive = recursive;
+		}
+
+		public Worker call() {
+			for (EObject root : roots) {
+				Map<Object, Object> context = createDefaultContext();
+				context.put(VALIDATE_RECURSIVELY, Boolean.valueOf(recursive));
+				// validate(EObject, ...) replaces VALIDATE_RECURSIVELY and
+				// then walks all contents anyway; this one honours it
+				validate(root.eClass(), root, diagnostics, context);
+			}
+			return this;
+		}
+
+		@Override
+		protected boolean doValidate(EValidator eValidator, EClass eClass,
+				EObject eObject, DiagnosticChain diagnostics,
+				Map<Object, Object> context) {
+
+			int[] applicable = (eValidator instanceof UMLValidator)
+				? constraintsByClass.get(eClass)
+				: null;
+			if (applicable == null) {
+				return super.doValidate(eValidator, eClass, eObject, diagnostics,
+					context);
+			}
+
+			boolean result = true;
+			arguments[0] = eObject;
+			arguments[1] = diagnostics;
+			arguments[2] = context;
+			for (int index : applicable) {
+				long start = System.nanoTime();
+				boolean valid = invoke(constraints.get(index), eValidator);
+				nanos[index] += System.nanoTime() - start;
+				calls[index]++;
+				if (!valid) {
+					failures[index]++;
+					result = false;
+					if (diagnostics == null) {
+						break;
+					}
+				}
+			}
+			return result;
+		}
+
+		private boolean invoke(Method constraint, EValidator eValidator) {
+			try {
+				return ((Boolean) constraint.invoke(eValidator, arguments))
+					.booleanValue();
+			} catch (IllegalAccessException iae) {
+				throw new IllegalStateException(iae);
+			} catch (InvocationTargetException ite) {
+				DiagnosticChain diagnostics = (DiagnosticChain) arguments[1];
+				if (diagnostics != null) {
+					diagnostics.add(new BasicDiagnostic(Diagnostic.ERROR,
+						EObjectValidator.DIAGNOSTIC_SOURCE, 0, constraint
+							.getName() + " failed: " + ite.getCause(),
+						new Object[]{arguments[0], ite.getCause()}));
+				}
+				return false;
+			}
+		}
+	}
+}
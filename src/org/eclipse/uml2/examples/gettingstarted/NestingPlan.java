@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+/**
+ * A tree of nested namespaces of a given depth and fan-out under the root
+ * model, into whose leaves the generated elements are distributed in
+ * contiguous ranges of creation order. Namespaces at odd depths are models,
+ * those at even depths are packages, and each is named after its path from the
+ * root, e.g. <tt>namespace_2_0_1</tt>.
+ * <p>
+ * A tree has at most as many leaves as there are elements to distribute, so
+ * that the namespaces never outnumber the elements they hold.
+ * </p>
+ */
+class NestingPlan {
+
+	/** Deeper trees only add qualified-name length, not smaller lists. */
+	static final int MAX_DEPTH = 16;
+
+	private final int depth;
+
+	private final int fanout;
+
+	private final int leaves;
+
+	private final long namespaces;
+
+	/**
+	 * A tree for <tt>elements</tt> elements.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the depth or fan-out is out of range, or the tree has
+	 *             more leaves than there are elements
+	 */
+	NestingPlan(int depth, int fanout, int elements) {
+		if (depth < 0 || depth > MAX_DEPTH) {
+			throw new IllegalArgumentException("Nesting depth must be 0.."
+				+ MAX_DEPTH + ": " + depth);
+		}
+		if (fanout < 1) {
+			throw new IllegalArgumentException("Nesting fan-out must be positive: "
+				+ fanout);
+		}
+
+		long count = 1;
+		long total = 0;
+		for (int i = 0; i < depth; i++) {
+			count *= fanout;
+			if (count > Math.max(1, elements)) {
+				throw new IllegalArgumentException("More leaf namespaces than "
+					+ elements + " elements: " + fanout + "^" + depth);
+			}
+			total += count;
+		}
+
+		this.depth = depth;
+		this.fanout = fanout;
+		this.leaves = (int) count;
+		this.namespaces = total;
+	}
+
+	/**
+	 * The tree of the <tt>depth</tt> and <tt>fanout</tt> options for
+	 * <tt>elements</tt> elements, or <code>null</code> if there is no
+	 * <tt>depth</tt> option.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the options do not make a tree for that many elements
+	 */
+	static NestingPlan parse(GeneratorOptions options, int elements) {
+		return options.has("depth")
+			? new NestingPlan(options.getInt("depth", 2),
+				options.getInt("fanout", 8), elements)
+			: null;
+	}
+
+	int getDepth() {
+		return depth;
+	}
+
+	int getFanout() {
+		return fanout;
+	}
+
+	int getLeafCount() {
+		return leaves;
+	}
+
+	/** The namespaces of the tree, not counting the root. */
+	long getNamespaceCount() {
+		return namespaces;
+	}
+
+	/** Whether the namespaces at the given depth (1-based) are models. */
+	boolean isModel(int level) {
+		return (level % 2) == 1;
+	}
+
+	/**
+	 * The leaf, numbered in depth-first order, that holds the <tt>index</tt>-th
+	 * of <tt>total</tt> elements.
+	 */
+	int leafOf(int index, int total) {
+		return (int) ((long) index * leaves / total);
+	}
+
+	/**
+	 * The index of the first of <tt>total</tt> elements held by
+	 * <tt>leaf</tt>; the leaf holds the elements up to the first of the next.
+	 */
+	int firstOf(int leaf, int total) {
+		return (int) (((long) leaf * total + leaves - 1) / leaves);
+	}
+
+	String getName(String parentName, int child) {
+		return ((parentName == null)
+			? "namespace"
+			: parentName) + "_" + child;
+	}
+}
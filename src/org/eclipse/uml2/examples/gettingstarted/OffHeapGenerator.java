@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates the same element and relationship mix as
+ * {@link GettingStartedWithUML2#createNode} and
+ * {@link GettingStartedWithUML2#createConnections}, but without building the
+ * EMF object graph: elements are recorded in an {@link ElementTable} and
+ * relationships are appended to an {@link EdgeStore}. If a checkpoint file
+ * is set, a {@link Checkpoint} is written after the elements are created and
+ * then periodically while the relationships are, so that the generation can
+ * be resumed from it.
+ */
+class OffHeapGenerator {
+
+	private static final ElementKind[] ROUND = ElementKind.values();
+
+	private final ElementTable table;
+
+	private final EdgeStore store;
+
+	private final GenerationMetrics metrics;
+
+	private final Random random;
+
+	private final WorkloadProfile profile;
+
+	private File checkpointFile;
+
+	private String checkpointOptions;
+
+	private long checkpointInterval;
+
+	OffHeapGenerator(ElementTable table, EdgeStore store,
+			GenerationMetrics metrics, Random random, WorkloadProfile profile) {
+		this.table = table;
+		this.store = store;
+		this.metrics = metrics;
+		this.random = random;
+		this.profile = profile;
+	}
+
+	/**
+	 * Writes a checkpoint of the generation with the options of key
+	 * <tt>options</tt> to <tt>file</tt> at least every <tt>seconds</tt> while
+	 * creating connections.
+	 */
+	void setCheckpoint(File file, String options, int seconds) {
+		checkpointFile = file;
+		checkpointOptions = options;
+		checkpointInterval = 1000L * Math.max(1, seconds);
+	}
+
+	/**
+	 * Writes a checkpoint of the elements created so far, before any of the
+	 * <tt>nums</tt> connections, if a checkpoint file is set.
+	 */
+	void checkpoint(int nums)
+			throws IOException {
+
+		if (checkpointFile != null) {
+			Checkpoint.write(checkpointFile, checkpointOptions, table, store,
+				random, nums, 0);
+		}
+	}
+
+	/**
+	 * Creates <tt>nums</tt> elements: one of each kind per round, and then
+	 * components for the remainder. The comments of round <tt>i</tt> go to
+	 * the element of the chosen kind in round <tt>i</tt>, wrapping around if
+	 * the profile asks for more comments than there are rounds.
+	 */
+	void createNode(int nums) {
+		int each_num = nums / ROUND.length;
+		for (int i = 0; i < each_num; i++) {
+			for (ElementKind kind : ROUND) {
+				table.add(kind);
+			}
+			metrics.step(ROUND.length);
+		}
+		for (int i = 0; i < nums - ROUND.length * each_num; i++) {
+			table.add(ElementKind.COMPONENT);
+			metrics.step(1);
+		}
+
+		int rounds = (each_num == 0)
+			? 0
+			: profile.getCommentRounds(nums);
+		for (int i = 0; i < rounds; i++) {
+			int j = profile.getCommentKind(random.nextDouble());
+			annotate(ROUND.length * (i % each_num) + j, i);
+		}
+	}
+
+	private void annotate(int index, int round) {
+		if (profile.isExposure(random.nextDouble())) {
+			table.setExposed(index);
+		} else {
+			table.setAsset(index, round);
+		}
+	}
+
+	/**
+	 * Creates <tt>nums</tt> elements kind by kind, in the proportions of the
+	 * element <tt>mix</tt>. The comments of round <tt>i</tt> go to the
+	 * <tt>i</tt>-th element of the chosen kind, wrapping around for kinds with
+	 * fewer elements than there are rounds.
+	 */
+	void createNode(int nums, ElementMix mix) {
+		int[] counts = mix.apportion(nums);
+		int[] firsts = new int[counts.length];
+		for (ElementKind kind : ROUND) {
+			firsts[kind.ordinal()] = table.size();
+			for (int i = 0; i < counts[kind.ordinal()]; i++) {
+				table.add(kind);
+			}
+			metrics.step(counts[kind.ordinal()]);
+		}
+
+		int rounds = profile.getCommentRounds(nums);
+		for (int i = 0; i < rounds; i++) {
+			int j = profile.getCommentKind(random.nextDouble());
+			if (counts[j] > 0) {
+				annotate(firsts[j] + i % counts[j], i);
+			} else {
+				random.nextDouble();
+			}
+		}
+	}
+
+	/**
+	 * Appends <tt>nums / 4</tt> rounds of one dependency, generalization,
+	 * association, communication path and deployment each, or of the next
+	 * five relationships of the profile's relationship cycle.
+	 */
+	void createConnections(int nums)
+			throws IOException {
+		createConnections(nums, 0);
+	}
+
+	/**
+	 * Appends the rounds of {@link #createConnections(int)} from round
+	 * <tt>first</tt> on, those before it having been generated already.
+	 */
+	void createConnections(int nums, int first)
+			throws IOException {
+
+		int[] dependElems = pool(false, false);
+		int[] generalizationElems = pool(true, false);
+		int[] nodeElems = pool(true, true);
+		// a mix without nodes or classifiers leaves the kinds of relationship
+		// between them without elements, so they are skipped
+		boolean[] possible = new boolean[ModelGraph.KIND_NAMES.length];
+		possible[ModelGraph.DEPENDENCY] = dependElems.length > 0;
+		possible[ModelGraph.GENERALIZATION] = generalizationElems.length > 0;
+		possible[ModelGraph.ASSOCIATION] = generalizationElems.length > 0;
+		possible[ModelGraph.COMMUNICATION_PATH] = nodeElems.length > 0;
+		possible[ModelGraph.DEPLOYMENT] = nodeElems.length > 0;
+
+		byte[] cycle = profile.getEdgeCycle();
+		int each_num = nums / 4;
+		long nextCheckpoint = System.currentTimeMillis() + checkpointInterval;
+		for (int i = first; i < each_num; i++) {
+			if (checkpointFile != null && (i & 1023) == 0
+				&& System.currentTimeMillis() >= nextCheckpoint) {
+				Checkpoint.write(checkpointFile, checkpointOptions, table,
+					store, random, nums, i);
+				nextCheckpoint = System.currentTimeMillis() + checkpointInterval;
+			}
+
+			if (cycle != null) {
+				for (int r = 5 * i; r < 5 * i + 5; r++) {
+					byte kind = cycle[r % cycle.length];
+					if (!possible[kind]) {
+						continue;
+					}
+					int[] elems = (kind == ModelGraph.DEPENDENCY)
+						? dependElems
+						: ((kind == ModelGraph.COMMUNICATION_PATH || kind == ModelGraph.DEPLOYMENT)
+							? nodeElems
+							: generalizationElems);
+					int j = (int) (random.nextDouble() * elems.length);
+					int k = (int) (random.nextDouble() * elems.length);
+					store.append(elems[j], elems[k], kind);
+				}
+				metrics.step(5);
+				continue;
+			}
+
+			int j, k;
+			if (possible[ModelGraph.DEPENDENCY]) {
+				j = (int) (random.nextDouble() * dependElems.length);
+				k = (int) (random.nextDouble() * dependElems.length);
+				store.append(dependElems[j], dependElems[k],
+					ModelGraph.DEPENDENCY);
+			}
+
+			if (possible[ModelGraph.GENERALIZATION]) {
+				j = (int) (random.nextDouble() * generalizationElems.length);
+				k = (int) (random.nextDouble() * generalizationElems.length);
+				store.append(generalizationElems[j], generalizationElems[k],
+					ModelGraph.GENERALIZATION);
+
+				j = (int) (random.nextDouble() * generalizationElems.length);
+				k = (int) (random.nextDouble() * generalizationElems.length);
+				store.append(generalizationElems[j], generalizationElems[k],
+					ModelGraph.ASSOCIATION);
+			}
+
+			if (possible[ModelGraph.COMMUNICATION_PATH]) {
+				j = (int) (random.nextDouble() * nodeElems.length);
+				k = (int) (random.nextDouble() * nodeElems.length);
+				store.append(nodeElems[j], nodeElems[k],
+					ModelGraph.COMMUNICATION_PATH);
+				store.append(nodeElems[j], nodeElems[k], ModelGraph.DEPLOYMENT);
+			}
+			metrics.step(5);
+		}
+		if (checkpointFile != null) {
+			Checkpoint.write(checkpointFile, checkpointOptions, table, store,
+				random, nums, each_num);
+		}
+	}
+
+	/**
+	 * The indices of the elements that may take part in a relationship, grouped
+	 * by kind in the order of the lists of
+	 * {@link GettingStartedWithUML2#createConnections}.
+	 */
+	private int[] pool(boolean classifiers, boolean nodes) {
+		ElementKind[] order = {ElementKind.MODEL, ElementKind.COMPONENT,
+			ElementKind.PACKAGE, ElementKind.INTERFACE, ElementKind.NODE,
+			ElementKind.DEVICE, ElementKind.EXECUTION_ENVIRONMENT,
+			ElementKind.ARTIFACT};
+
+		int[] pool = new int[table.size()];
+		int length = 0;
+		for (ElementKind kind : order) {
+			if ((!classifiers || kind.isClassifier()) && (!nodes || kind.isNode())) {
+				for (int i = 0; i < table.size(); i++) {
+					if (table.getKind(i) == kind) {
+						pool[length++] = i;
+					}
+				}
+			}
+		}
+		return Arrays.copyOf(pool, length);
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event spanning one phase of a generation run. This class is only
+ * loaded when JFR events are requested, so the generator still runs on JVMs
+ * without the <tt>jdk.jfr</tt> module.
+ */
+@Name("org.eclipse.uml2.examples.gettingstarted.Phase")
+@Label("Generation Phase")
+@Category("UML Generator")
+class PhaseEvent
+		extends Event {
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Elements")
+	long elements;
+
+	@Label("Edges")
+	long edges;
+
+	@Label("Allocated")
+	@DataAmount
+	long allocated;
+
+	static Object begin(String phase) {
+		PhaseEvent event = new PhaseEvent();
+		event.phase = phase;
+		event.begin();
+		return event;
+	}
+
+	static void commit(Object event, long elements, long edges, long allocated) {
+		PhaseEvent phaseEvent = (PhaseEvent) event;
+		phaseEvent.elements = elements;
+		phaseEvent.edges = edges;
+		phaseEvent.allocated = allocated;
+		phaseEvent.commit();
+	}
+}
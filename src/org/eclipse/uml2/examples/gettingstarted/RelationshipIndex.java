@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.uml2.uml.NamedElement;
+
+/**
+ * The outgoing and incoming relationships of every element of a
+ * {@link ModelGraph}, by kind, so that questions such as "all dependencies
+ * whose supplier is X" take time in the number of answers rather than going
+ * through the inverse references of UML2's cross-reference adapters. Each
+ * direction is one CSR adjacency whose rows are the (element, kind) pairs:
+ * the relationships of kind <tt>k</tt> from element <tt>v</tt> are
+ * <tt>outTargets[outOffsets[v * K + k]] .. outTargets[outOffsets[v * K + k + 1] - 1]</tt>
+ * with <tt>K</tt> kinds, and likewise for those to it. Along with each
+ * neighbour the number of the relationship in the graph is kept.
+ * <p>
+ * The index is built once, from two sequential passes over the relationships,
+ * and does not follow later changes to the model.
+ * </p>
+ */
+class RelationshipIndex {
+
+	private static final int KINDS = ModelGraph.KIND_NAMES.length;
+
+	private final ModelGraph graph;
+
+	private final int size;
+
+	private final int[] outOffsets;
+
+	private final int[] outTargets;
+
+	private final int[] outEdges;
+
+	private final int[] inOffsets;
+
+	private final int[] inSources;
+
+	private final int[] inEdges;
+
+	private RelationshipIndex(ModelGraph graph, int size, int[] outOffsets,
+			int[] outTargets, int[] outEdges, int[] inOffsets, int[] inSources,
+			int[] inEdges) {
+		this.graph = graph;
+		this.size = size;
+		this.outOffsets = outOffsets;
+		this.outTargets = outTargets;
+		this.outEdges = outEdges;
+		this.inOffsets = inOffsets;
+		this.inSources = inSources;
+		this.inEdges = inEdges;
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if the graph has too many relationships to index in arrays
+	 */
+	static RelationshipIndex build(ModelGraph graph)
+			throws IOException {
+
+		if (graph.edgeCount() > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Too many relationships to index: "
+				+ graph.edgeCount());
+		}
+		int n = graph.size();
+		if ((long) n * KINDS >= Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many elements to index: " + n);
+		}
+
+		final int[] outOffsets = new int[n * KINDS + 1];
+		final int[] inOffsets = new int[n * KINDS + 1];
+		graph.forEachEdge(new EdgeStore.EdgeVisitor() {
+
+			public void visit(long edge, int source, int target, byte kind) {
+				outOffsets[source * KINDS + kind + 1]++;
+				inOffsets[target * KINDS + kind + 1]++;
+			}
+		});
+		for (int row = 0; row < n * KINDS; row++) {
+			outOffsets[row + 1] += outOffsets[row];
+			inOffsets[row + 1] += inOffsets[row];
+		}
+
+		int edges = (int) graph.edgeCount();
+		final int[] outTargets = new int[edges];
+		final int[] outEdges = new int[edges];
+		final int[] inSources = new int[edges];
+		final int[] inEdges = new int[edges];
+		final int[] outFill = Arrays.copyOf(outOffsets, n * KINDS);
+		final int[] inFill = Arrays.copyOf(inOffsets, n * KINDS);
+		graph.forEachEdge(new EdgeStore.EdgeVisitor() {
+
+			public void visit(long edge, int source, int target, byte kind) {
+				int slot = outFill[source * KINDS + kind]++;
+				outTargets[slot] = target;
+				outEdges[slot] = (int) edge;
+				slot = inFill[target * KINDS + kind]++;
+				inSources[slot] = source;
+				inEdges[slot] = (int) edge;
+			}
+		});
+
+		return new RelationshipIndex(graph, n, outOffsets, outTargets, outEdges,
+			inOffsets, inSources, inEdges);
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if <tt>element</tt> is not an element of the graph
+	 */
+	private int row(int element, byte kind) {
+		if (element < 0 || element >= size) {
+			throw new IllegalArgumentException("No such element: " + element);
+		}
+		return element * KINDS + kind;
+	}
+
+	/**
+	 * The index of <tt>element</tt> in the graph, or <tt>-1</tt> if it is not
+	 * in the graph.
+	 */
+	int indexOf(NamedElement element) {
+		return graph.indexOf(element);
+	}
+
+	/** The number of relationships of a <tt>kind</tt> from <tt>element</tt>. */
+	int getOutDegree(int element, byte kind) {
+		int row = row(element, kind);
+		return outOffsets[row + 1] - outOffsets[row];
+	}
+
+	/** The number of relationships of a <tt>kind</tt> to <tt>element</tt>. */
+	int getInDegree(int element, byte kind) {
+		int row = row(element, kind);
+		return inOffsets[row + 1] - inOffsets[row];
+	}
+
+	/**
+	 * The elements that <tt>element</tt> is related to by relationships of a
+	 * <tt>kind</tt>, e.g. the suppliers of its dependencies, in the order of
+	 * the relationships.
+	 */
+	int[] getTargets(int element, byte kind) {
+		int row = row(element, kind);
+		return Arrays.copyOfRange(outTargets, outOffsets[row],
+			outOffsets[row + 1]);
+	}
+
+	/**
+	 * The elements that <tt>element</tt> is related to by relationships of a
+	 * <tt>kind</tt>, none if it is not in the graph.
+	 */
+	int[] getTargets(NamedElement element, byte kind) {
+		int index = indexOf(element);
+		return (index < 0)
+			? new int[0]
+			: getTargets(index, kind);
+	}
+
+	/**
+	 * The elements that are related to <tt>element</tt> by relationships of
+	 * a <tt>kind</tt>, e.g. the clients of the dependencies it supplies.
+	 */
+	int[] getSources(int element, byte kind) {
+		int row = row(element, kind);
+		return Arrays.copyOfRange(inSources, inOffsets[row], inOffsets[row + 1]);
+	}
+
+	/**
+	 * The elements that are related to <tt>element</tt> by relationships of
+	 * a <tt>kind</tt>, none if it is not in the graph.
+	 */
+	int[] getSources(NamedElement element, byte kind) {
+		int index = indexOf(element);
+		return (index < 0)
+			? new int[0]
+			: getSources(index, kind);
+	}
+
+	/**
+	 * The numbers of the relationships of a <tt>kind</tt> from
+	 * <tt>element</tt>, parallel to {@link #getTargets(int, byte)}.
+	 */
+	int[] getOutgoing(int element, byte kind) {
+		int row = row(element, kind);
+		return Arrays.copyOfRange(outEdges, outOffsets[row],
+			outOffsets[row + 1]);
+	}
+
+	/**
+	 * The numbers of the relationships of a <tt>kind</tt> to
+	 * <tt>element</tt>, parallel to {@link #getSources(int, byte)}.
+	 */
+	int[] getIncoming(int element, byte kind) {
+		int row = row(element, kind);
+		return Arrays.copyOfRange(inEdges, inOffsets[row], inOffsets[row + 1]);
+	}
+
+	/**
+	 * The element with the most relationships of a <tt>kind</tt> to it, or
+	 * <tt>-1</tt> if there are none.
+	 */
+	int getMostIncoming(byte kind) {
+		int result = -1;
+		int most = 0;
+		for (int element = 0; element < size; element++) {
+			int degree = getInDegree(element, kind);
+			if (degree > most) {
+				most = degree;
+				result = element;
+			}
+		}
+		return result;
+	}
+
+	/** The heap taken by the index's arrays. */
+	long heapBytes() {
+		return 4L * (outOffsets.length + outTargets.length + outEdges.length
+			+ inOffsets.length + inSources.length + inEdges.length);
+	}
+
+	/**
+	 * Prints the number of relationships of each kind and the element with
+	 * the most of them to it.
+	 */
+	static void report(ModelGraph graph, RelationshipIndex index) {
+		System.out.printf("Relationship index of %d elements, %d KB:%n",
+			index.size(), index.heapBytes() >> 10);
+		for (byte kind = 0; kind < KINDS; kind++) {
+			int count = 0;
+			for (int element = 0; element < index.size(); element++) {
+				count += index.getInDegree(element, kind);
+			}
+			int most = index.getMostIncoming(kind);
+			if (most < 0) {
+				System.out.printf("  %-18s %9d%n", ModelGraph.KIND_NAMES[kind],
+					count);
+			} else {
+				System.out.printf("  %-18s %9d  most to %s (%d)%n",
+					ModelGraph.KIND_NAMES[kind], count, graph.getLabel(most),
+					index.getInDegree(most, kind));
+			}
+		}
+	}
+}
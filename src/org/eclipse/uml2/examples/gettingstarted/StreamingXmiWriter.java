@@ -0,0 +1,690 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes a model generated off-heap as UML XMI, reading the relationships
+ * sequentially from an {@link EdgeStore}. Generalizations and deployments must
+ * be nested in their owning element, so they are first grouped by owner with a
+ * counting sort whose slots live in a temporary mapped file; only the per-element
+ * offsets are kept on the heap. All other relationships are written as packaged
+ * elements of the root model, in store order. If a {@link NestingPlan} is
+ * given, the elements are written into its tree of namespaces instead.
+ * <p>
+ * Identifiers are deterministic: <tt>_e&lt;index&gt;</tt> for elements and
+ * <tt>_r&lt;edge&gt;</tt> for relationships and <tt>_n&lt;path&gt;</tt> for
+ * nested namespaces.
+ * </p>
+ * <p>
+ * As no part of the document refers to the state of another, it can also be
+ * written by several threads: the ranges of elements and of relationships are
+ * serialized concurrently into buffers of their own, which are appended to
+ * the file in document order with gathering writes. Only a bounded window of
+ * chunks is held at a time, and the file is the same as a sequential write.
+ * </p>
+ */
+class StreamingXmiWriter {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** Elements per chunk of a concurrent write, a few MB of XMI. */
+	private static final int CHUNK_ELEMENTS = 1 << 14;
+
+	/** Relationships per chunk of a concurrent write. */
+	private static final int CHUNK_EDGES = 1 << 14;
+
+	private final ElementTable table;
+
+	private final EdgeStore store;
+
+	private final Writer out;
+
+	private final NestingPlan nesting;
+
+	private final AssociationMode associationMode;
+
+	private final NamingScheme naming;
+
+	/** Start of each element's generalizations in the slot file. */
+	private int[] generalizations;
+
+	/** Start of each element's deployments in the slot file. */
+	private int[] deployments;
+
+	private MappedFile slots;
+
+	private StreamingXmiWriter(ElementTable table, EdgeStore store,
+			NestingPlan nesting, AssociationMode associationMode,
+			NamingScheme naming, Writer out) {
+		this.table = table;
+		this.store = store;
+		this.nesting = nesting;
+		this.associationMode = associationMode;
+		this.naming = naming;
+		this.out = out;
+	}
+
+	/**
+	 * A writer of one chunk, sharing the grouped relationships of
+	 * <tt>writer</tt>.
+	 */
+	private StreamingXmiWriter(StreamingXmiWriter writer, Writer out) {
+		this(writer.table, writer.store, writer.nesting, writer.associationMode,
+			writer.naming, out);
+		this.generalizations = writer.generalizations;
+		this.deployments = writer.deployments;
+		this.slots = writer.slots;
+	}
+
+	/**
+	 * Writes the model named <tt>name</tt> to <tt>file</tt>, nesting the
+	 * elements according to <tt>nesting</tt>, if not <code>null</code>, the
+	 * association ends according to <tt>associationMode</tt> and the names
+	 * according to <tt>naming</tt>. With more than one of <tt>writers</tt>,
+	 * the chunks of the document are serialized concurrently.
+	 */
+	static void write(String name, ElementTable table, EdgeStore store,
+			NestingPlan nesting, AssociationMode associationMode,
+			NamingScheme naming, int writers, File file)
+			throws IOException {
+
+		// next to the output, which is where there is room for it, under a
+		// name that the next write replaces if a crash leaves it behind
+		File slotFile = getSlotFile(file);
+		if (slotFile.exists() && !slotFile.delete()) {
+			throw new IOException("Cannot replace " + slotFile);
+		}
+		slotFile.deleteOnExit();
+		FileOutputStream stream = new FileOutputStream(file);
+
+		StreamingXmiWriter writer;
+		Writer out = null;
+		if (writers > 1) {
+			writer = new StreamingXmiWriter(table, store, nesting,
+				associationMode, naming, null);
+		} else {
+			out = new BufferedWriter(new OutputStreamWriter(stream, "UTF-8"),
+				BUFFER_SIZE);
+			writer = new StreamingXmiWriter(table, store, nesting,
+				associationMode, naming, out);
+		}
+		try {
+			writer.groupNestedEdges(slotFile);
+			if (out == null) {
+				writer.writeModel(name, stream.getChannel(), writers);
+			} else {
+				writer.writeModel(name);
+			}
+		} finally {
+			if (writer.slots != null) {
+				writer.slots.close(0);
+			}
+			slotFile.delete();
+			if (out == null) {
+				stream.close();
+			} else {
+				out.close();
+			}
+		}
+	}
+
+	/** The temporary file of the grouped edges of a write to <tt>file</tt>. */
+	static File getSlotFile(File file) {
+		return new File(file.getPath() + ".slots");
+	}
+
+	/**
+	 * Deletes the temporary file that a write to <tt>file</tt> left behind,
+	 * if any, and those of the <tt>slots&lt;n&gt;.bin</tt> names that earlier
+	 * versions gave them.
+	 * 
+	 * @throws IOException
+	 *             if one cannot be deleted
+	 */
+	static void deleteSlots(File file)
+			throws IOException {
+
+		List<File> leftovers = new ArrayList<File>();
+		leftovers.add(getSlotFile(file));
+		File[] siblings = file.getAbsoluteFile().getParentFile().listFiles();
+		if (siblings != null) {
+			for (File sibling : siblings) {
+				if (sibling.getName().matches("slots\\d+\\.bin")) {
+					leftovers.add(sibling);
+				}
+			}
+		}
+		for (File leftover : leftovers) {
+			if (leftover.exists() && !leftover.delete()) {
+				throw new IOException("Cannot delete " + leftover);
+			}
+		}
+	}
+
+	private void groupNestedEdges(File slotFile)
+			throws IOException {
+
+		final int n = table.size();
+		generalizations = new int[n + 1];
+		deployments = new int[n + 1];
+
+		store.forEach(new EdgeStore.EdgeVisitor() {
+
+			public void visit(long edge, int source, int target, byte kind) {
+				if (kind == ModelGraph.GENERALIZATION) {
+					generalizations[source + 1]++;
+				} else if (kind == ModelGraph.DEPLOYMENT) {
+					deployments[target + 1]++;
+				}
+			}
+		});
+
+		// deployment slots follow all of the generalization slots
+		for (int i = 0; i < n; i++) {
+			generalizations[i + 1] += generalizations[i];
+		}
+		deployments[0] = generalizations[n];
+		for (int i = 0; i < n; i++) {
+			deployments[i + 1] += deployments[i];
+		}
+
+		slots = new MappedFile(slotFile, true);
+		final int[] generalizationFill = new int[n];
+		final int[] deploymentFill = new int[n];
+		System.arraycopy(generalizations, 0, generalizationFill, 0, n);
+		System.arraycopy(deployments, 0, deploymentFill, 0, n);
+
+		store.forEach(new EdgeStore.EdgeVisitor() {
+
+			public void visit(long edge, int source, int target, byte kind)
+					throws IOException {
+
+				if (kind == ModelGraph.GENERALIZATION) {
+					slots.putLong(8L * generalizationFill[source]++, edge);
+				} else if (kind == ModelGraph.DEPLOYMENT) {
+					slots.putLong(8L * deploymentFill[target]++, edge);
+				}
+			}
+		});
+	}
+
+	private void writeModel(String name)
+			throws IOException {
+
+		writeHeader(name);
+		writeElements(0, table.size());
+		writeRelationships(0, store.size());
+		writeFooter();
+	}
+
+	/**
+	 * Writes the model with <tt>writers</tt> threads, each serializing whole
+	 * chunks, and appends the chunks to <tt>channel</tt> in document order as
+	 * soon as those before them are done.
+	 */
+	private void writeModel(final String name, FileChannel channel,
+			int writers)
+			throws IOException {
+
+		// map the files up front, so that the chunks only ever read them
+		store.map();
+		slots.map(8L * deployments[table.size()]);
+
+		List<Callable<ByteBuffer>> chunks = new ArrayList<Callable<ByteBuffer>>();
+		chunks.add(new Chunk() {
+
+			void write(StreamingXmiWriter writer)
+					throws IOException {
+				writer.writeHeader(name);
+			}
+		});
+		int n = table.size();
+		for (int first = 0;; first += CHUNK_ELEMENTS) {
+			final int from = first;
+			final int to = (int) Math.min(n, (long) first + CHUNK_ELEMENTS);
+			chunks.add(new Chunk() {
+
+				void write(StreamingXmiWriter writer)
+						throws IOException {
+					writer.writeElements(from, to);
+				}
+			});
+			if (to == n) {
+				break;
+			}
+		}
+		for (long first = 0; first < store.size(); first += CHUNK_EDGES) {
+			final long from = first;
+			final long to = Math.min(store.size(), first + CHUNK_EDGES);
+			chunks.add(new Chunk() {
+
+				void write(StreamingXmiWriter writer)
+						throws IOException {
+					writer.writeRelationships(from, to);
+				}
+			});
+		}
+		chunks.add(new Chunk() {
+
+			void write(StreamingXmiWriter writer)
+					throws IOException {
+				writer.writeFooter();
+			}
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(writers,
+			GenerationMetrics.workerFactory());
+		try {
+			Deque<Future<ByteBuffer>> pending = new ArrayDeque<Future<ByteBuffer>>();
+			int next = 0;
+			while (next < chunks.size() || !pending.isEmpty()) {
+				while (next < chunks.size() && pending.size() < 2 * writers) {
+					pending.add(executor.submit(chunks.get(next++)));
+				}
+
+				// gather the first chunk and those done right after it
+				List<ByteBuffer> done = new ArrayList<ByteBuffer>();
+				done.add(get(pending.poll()));
+				while (!pending.isEmpty() && pending.peek().isDone()) {
+					done.add(get(pending.poll()));
+				}
+				ByteBuffer[] buffers = done.toArray(new ByteBuffer[done.size()]);
+				while (buffers[buffers.length - 1].hasRemaining()) {
+					channel.write(buffers);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static ByteBuffer get(Future<ByteBuffer> chunk)
+			throws IOException {
+
+		try {
+			return chunk.get();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted writing XMI");
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * A part of the document, serialized into a buffer of its own by a writer
+	 * of its own.
+	 */
+	private abstract class Chunk
+			implements Callable<ByteBuffer> {
+
+		abstract void write(StreamingXmiWriter writer)
+				throws IOException;
+
+		public ByteBuffer call()
+				throws IOException {
+
+			ChunkBuffer buffer = new ChunkBuffer();
+			Writer chunkOut = new BufferedWriter(new OutputStreamWriter(buffer,
+				"UTF-8"), BUFFER_SIZE);
+			write(new StreamingXmiWriter(StreamingXmiWriter.this, chunkOut));
+			chunkOut.close();
+			return buffer.toByteBuffer();
+		}
+	}
+
+	/**
+	 * A byte array stream whose contents are wrapped rather than copied.
+	 */
+	private static class ChunkBuffer
+			extends ByteArrayOutputStream {
+
+		ChunkBuffer() {
+			super(BUFFER_SIZE);
+		}
+
+		ByteBuffer toByteBuffer() {
+			return ByteBuffer.wrap(buf, 0, count);
+		}
+	}
+
+	private void writeHeader(String name)
+			throws IOException {
+
+		out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		out.write("<uml:Model xmi:version=\"20131001\""
+			+ " xmlns:xmi=\"http://www.omg.org/spec/XMI/20131001\""
+			+ " xmlns:uml=\"http://www.eclipse.org/uml2/5.0.0/UML\""
+			+ " xmi:id=\"_root\" name=\"" + name + "\">\n");
+	}
+
+	private void writeFooter()
+			throws IOException {
+		out.write("</uml:Model>\n");
+	}
+
+	/**
+	 * Writes the elements from <tt>first</tt> up to <tt>last</tt> and, if
+	 * nested, the namespace tags of the leaves whose first element is among
+	 * them; the last range also closes the namespaces of the last leaf.
+	 */
+	private void writeElements(int first, int last)
+			throws IOException {
+
+		if (nesting == null) {
+			for (int i = first; i < last; i++) {
+				writeElement(i, "  ");
+			}
+			return;
+		}
+
+		int n = table.size();
+		int leaves = nesting.getLeafCount();
+		int leaf = (n == 0)
+			? 0
+			: nesting.leafOf(first, n);
+		while (leaf < leaves && nesting.firstOf(leaf, n) < first) {
+			leaf++;
+		}
+		while (leaf > 0 && nesting.firstOf(leaf - 1, n) >= first) {
+			leaf--;
+		}
+
+		String indent = indent(nesting.getDepth() + 1);
+		for (int i = first; i < last; i++) {
+			while (leaf < leaves && nesting.firstOf(leaf, n) == i) {
+				enterLeaf(leaf++);
+			}
+			writeElement(i, indent);
+		}
+		if (last == n) {
+			while (leaf < leaves) {
+				enterLeaf(leaf++);
+			}
+			closeNamespaces(nesting.getDepth());
+		}
+	}
+
+	/**
+	 * Closes the namespaces of the previous leaf, in depth-first order, that
+	 * are not also those of <tt>leaf</tt>, and opens those of <tt>leaf</tt>.
+	 */
+	private void enterLeaf(int leaf)
+			throws IOException {
+
+		int depth = nesting.getDepth();
+		int fanout = nesting.getFanout();
+
+		// the levels below the deepest one that the two leaves share, one
+		// more for every carry into the next digit of the leaf's path
+		int changed = depth;
+		if (leaf > 0) {
+			changed = 1;
+			for (int rest = leaf; changed < depth && rest % fanout == 0; rest /= fanout) {
+				changed++;
+			}
+			closeNamespaces(changed);
+		}
+
+		int[] path = new int[depth];
+		for (int level = depth, rest = leaf; level > 0; level--, rest /= fanout) {
+			path[level - 1] = rest % fanout;
+		}
+		String name = null;
+		for (int level = 1; level <= depth; level++) {
+			name = nesting.getName(name, path[level - 1]);
+			if (level <= depth - changed) {
+				continue;
+			}
+			String indent = indent(level);
+			out.write(indent);
+			out.write("<packagedElement xmi:type=\"uml:");
+			out.write(nesting.isModel(level)
+				? "Model"
+				: "Package");
+			out.write("\" xmi:id=\"_n");
+			out.write(name.substring(name.indexOf('_')));
+			out.write("\" name=\"");
+			out.write(name);
+			out.write("\">\n");
+		}
+	}
+
+	/**
+	 * Closes the innermost <tt>count</tt> namespaces of a leaf.
+	 */
+	private void closeNamespaces(int count)
+			throws IOException {
+
+		for (int level = nesting.getDepth(); count > 0; level--, count--) {
+			out.write(indent(level));
+			out.write("</packagedElement>\n");
+		}
+	}
+
+	private static String indent(int level) {
+		StringBuilder result = new StringBuilder(2 * level + 2);
+		for (int i = 0; i < level; i++) {
+			result.append("  ");
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Writes the relationships from <tt>first</tt> up to <tt>last</tt> that
+	 * are packaged in the root model.
+	 */
+	private void writeRelationships(long first, long last)
+			throws IOException {
+
+		store.forEach(first, last, new EdgeStore.EdgeVisitor() {
+
+			public void visit(long edge, int source, int target, byte kind)
+					throws IOException {
+
+				switch (kind) {
+					case ModelGraph.DEPENDENCY :
+						out.write("  <packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_r");
+						out.write(Long.toString(edge));
+						out.write("\" client=\"_e");
+						out.write(Integer.toString(source));
+						out.write("\" supplier=\"_e");
+						out.write(Integer.toString(target));
+						out.write("\"/>\n");
+						break;
+					case ModelGraph.ASSOCIATION :
+						writeAssociation("Association", edge, source, target,
+							naming.getEndName(table.getName(source)),
+							naming.getEndName(table.getName(target)));
+						break;
+					case ModelGraph.COMMUNICATION_PATH :
+						writeAssociation("CommunicationPath", edge, source,
+							target, naming.getEndName("node_"),
+							naming.getEndName("node_"));
+						break;
+					default :
+						break;
+				}
+			}
+		});
+	}
+
+	private void writeElement(int index, String indent)
+			throws IOException {
+
+		out.write(indent);
+		out.write("<packagedElement xmi:type=\"uml:");
+		out.write(table.getKind(index).getTypeName());
+		out.write("\" xmi:id=\"_e");
+		out.write(Integer.toString(index));
+		out.write('"');
+		writeName(naming.getName(table.getKind(index), table.getOrdinal(index)));
+
+		byte annotation = table.getAnnotation(index);
+		int firstGeneralization = generalizations[index];
+		int lastGeneralization = generalizations[index + 1];
+		int firstDeployment = deployments[index];
+		int lastDeployment = deployments[index + 1];
+
+		if (annotation == ModelGraph.NONE
+			&& firstGeneralization == lastGeneralization
+			&& firstDeployment == lastDeployment) {
+
+			out.write("/>\n");
+			return;
+		}
+		out.write(">\n");
+
+		if (annotation != ModelGraph.NONE) {
+			out.write(indent);
+			out.write("  <ownedComment xmi:id=\"_e");
+			out.write(Integer.toString(index));
+			out.write("c\">\n");
+			out.write(indent);
+			out.write("    <body>");
+			if (annotation == ModelGraph.EXPOSED) {
+				out.write("{&quot;exposure&quot;:true}");
+			} else {
+				out.write("{\n&quot;value&quot;:");
+				out.write(Integer.toString(table.getAssetValue(index)));
+				out.write("\n}");
+			}
+			out.write("</body>\n");
+			out.write(indent);
+			out.write("  </ownedComment>\n");
+		}
+
+		for (int slot = firstGeneralization; slot < lastGeneralization; slot++) {
+			long edge = slots.getLong(8L * slot);
+			out.write(indent);
+			out.write("  <generalization xmi:id=\"_r");
+			out.write(Long.toString(edge));
+			out.write("\" general=\"_e");
+			out.write(Integer.toString(store.getTarget(edge)));
+			out.write("\"/>\n");
+		}
+
+		for (int slot = firstDeployment; slot < lastDeployment; slot++) {
+			long edge = slots.getLong(8L * slot);
+			out.write(indent);
+			out.write("  <deployment xmi:id=\"_r");
+			out.write(Long.toString(edge));
+			out.write("\" name=\"\" client=\"_e");
+			int client = store.getSource(edge);
+			if (client != index) {
+				out.write(Integer.toString(client));
+				out.write(" _e");
+			}
+			out.write(Integer.toString(index));
+			out.write("\"/>\n");
+		}
+
+		out.write(indent);
+		out.write("</packagedElement>\n");
+	}
+
+	/**
+	 * Writes an association whose navigable ends it owns itself, each with
+	 * the multiplicity literals of the association mode.
+	 */
+	private void writeAssociation(String type, long edge, int source,
+			int target, String end1Name, String end2Name)
+			throws IOException {
+
+		String id = "_r" + Long.toString(edge);
+		out.write("  <packagedElement xmi:type=\"uml:");
+		out.write(type);
+		out.write("\" xmi:id=\"");
+		out.write(id);
+		out.write("\" memberEnd=\"");
+		out.write(id);
+		out.write("a ");
+		out.write(id);
+		out.write("b\" navigableOwnedEnd=\"");
+		out.write(id);
+		out.write("a ");
+		out.write(id);
+		out.write("b\">\n");
+		writeEnd(id, "a", end1Name, target);
+		writeEnd(id, "b", end2Name, source);
+		out.write("  </packagedElement>\n");
+	}
+
+	private void writeEnd(String association, String suffix, String name,
+			int type)
+			throws IOException {
+
+		String id = association + suffix;
+		out.write("    <ownedEnd xmi:id=\"");
+		out.write(id);
+		out.write("\"");
+		writeName(name);
+		out.write(" type=\"_e");
+		out.write(Integer.toString(type));
+		out.write("\" association=\"");
+		out.write(association);
+		if (!associationMode.hasLowerValue()) {
+			out.write("\"/>\n");
+			return;
+		}
+		out.write("\">\n      <lowerValue xmi:type=\"uml:LiteralInteger\" xmi:id=\"");
+		out.write(id);
+		out.write("l\"/>\n");
+		if (associationMode.hasUpperValue()) {
+			out.write("      <upperValue xmi:type=\"uml:LiteralUnlimitedNatural\" xmi:id=\"");
+			out.write(id);
+			out.write("u\" value=\"1\"/>\n");
+		}
+		out.write("    </ownedEnd>\n");
+	}
+
+	/**
+	 * Writes the name attribute, unless the naming scheme gave no name.
+	 */
+	private void writeName(String name)
+			throws IOException {
+
+		if (name != null) {
+			out.write(" name=\"");
+			out.write(name);
+			out.write('"');
+		}
+	}
+}
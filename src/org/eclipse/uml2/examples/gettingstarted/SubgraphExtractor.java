@@ -0,0 +1,1045 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Extracts the neighbourhood of one element of a large XMI file into a small,
+ * self-contained model, e.g. to reproduce a failure of an analysis of a
+ * generated model of millions of elements, without loading either as a model.
+ * <p>
+ * The file is parsed once into an index of primitive arrays: every packaged
+ * element (a <em>unit</em>, with everything it contains but other packaged
+ * elements) gets a number, every <tt>xmi:id</tt> is kept as a 64-bit hash of
+ * the unit that owns it, and the ids that each unit refers to are kept as
+ * hashes too. The units within <tt>k</tt> hops of the seed are found on that
+ * index; relationships packaged on their own, such as dependencies and
+ * associations, are crossed rather than counted as a hop, and are kept if all
+ * of their ends are. The file is then streamed again to copy the kept units,
+ * with their comments, and the namespaces that contain them, leaving out
+ * anything nested in them that refers to an element that is not kept (such
+ * as a generalization of a general outside of the neighbourhood).
+ * </p>
+ * <p>
+ * The file is thus read twice. The index is kept in temporary memory-mapped
+ * files rather than on the heap, so that the heap taken is bounded by the size
+ * of the extract, not by that of the file: some 24 to 48 bytes per id, 12 per
+ * reference while indexing and 12 more for the resolved references and the
+ * adjacency, and some 30 bytes per unit, all paged in and out by the operating
+ * system as the index is walked.
+ * </p>
+ */
+class SubgraphExtractor {
+
+	/** The types of the units that may contain other units. */
+	private static final Set<String> NAMESPACES = new HashSet<String>(
+		Arrays.asList("uml:Model", "uml:Package", "uml:Profile"));
+
+	/** The types of the packaged relationships, which are crossed. */
+	private static final Set<String> RELATIONSHIPS = new HashSet<String>(
+		Arrays.asList("uml:Dependency", "uml:Abstraction", "uml:Usage",
+			"uml:Realization", "uml:Substitution", "uml:Manifestation",
+			"uml:InformationFlow", "uml:Association", "uml:CommunicationPath",
+			"uml:Extension"));
+
+	/** The attributes that never refer to other elements. */
+	private static final Set<String> NOT_REFERENCES = new HashSet<String>(
+		Arrays.asList("xmi:id", "xmi:type", "xmi:uuid", "xmi:version", "name",
+			"value"));
+
+	/** The document element of a file with more than one root. */
+	private static final int DOCUMENT = 0;
+
+	/** A unit that may contain other units. */
+	private static final int NAMESPACE = 1;
+
+	private static final int UNIT = 2;
+
+	/** An element contained in a unit, other than a unit. */
+	private static final int PART = 3;
+
+	/** The owner of an id that is not in the file. */
+	private static final int UNRESOLVED = -1;
+
+	/** The flag of a packaged relationship, which is crossed. */
+	private static final int CROSSED = 1;
+
+	private static final int KEPT = 2;
+
+	private static final int VISITED = 4;
+
+	/** The folder of the index files, or <tt>null</tt> for the default. */
+	private final File tempDir;
+
+	private final List<File> scratchFiles = new ArrayList<File>();
+
+	private final List<MappedFile> scratchMaps = new ArrayList<MappedFile>();
+
+	private IdTable ids;
+
+	private int unitCount;
+
+	/** The namespace that contains each unit, an int per unit. */
+	private MappedFile unitParents;
+
+	/** The flags of each unit, a byte per unit. */
+	private MappedFile unitFlags;
+
+	/**
+	 * The unit of each reference, an int per reference, until they are
+	 * grouped by unit.
+	 */
+	private MappedFile refUnits;
+
+	/** The id hash of each reference, a long per reference. */
+	private MappedFile refHashes;
+
+	private long refCount;
+
+	/** Start of each unit's references, a long per unit and one more. */
+	private MappedFile refStarts;
+
+	/** The units that the references resolve to, an int per reference. */
+	private MappedFile refTargets;
+
+	/**
+	 * @param tempDir
+	 *            the folder of the index files, or <tt>null</tt> for the
+	 *            default temporary-file folder
+	 */
+	SubgraphExtractor(File tempDir) {
+		this.tempDir = tempDir;
+	}
+
+	/**
+	 * The number of elements and relationships of the file and of the
+	 * extract.
+	 */
+	static class Summary {
+
+		int elements;
+
+		int keptElements;
+
+		int relationships;
+
+		int keptRelationships;
+
+		@Override
+		public String toString() {
+			return String.format(
+				"elements: %d of %d, relationships: %d of %d", keptElements,
+				elements, keptRelationships, relationships);
+		}
+	}
+
+	/**
+	 * Writes the elements within <tt>hops</tt> of the element whose id is
+	 * <tt>seed</tt>, in <tt>file</tt>, to <tt>out</tt>.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if no packaged element of the file has or contains an
+	 *             element with the seed id
+	 */
+	Summary extract(File file, String seed, int hops, Writer out)
+			throws IOException {
+
+		try {
+			ids = new IdTable();
+			unitParents = scratch();
+			unitFlags = scratch();
+			refUnits = scratch();
+			refHashes = scratch();
+			parse(file, new Indexer());
+			resolve();
+
+			int start = ids.get(hash(seed));
+			if (start < 0) {
+				throw new IllegalArgumentException(
+					"No packaged element has the id " + seed);
+			}
+			select(start, hops);
+
+			out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			parse(file, new Copier(out));
+
+			Summary summary = new Summary();
+			for (int unit = 0; unit < unitCount; unit++) {
+				if (is(unit, CROSSED)) {
+					summary.relationships++;
+					if (is(unit, KEPT)) {
+						summary.keptRelationships++;
+					}
+				} else {
+					summary.elements++;
+					if (is(unit, KEPT)) {
+						summary.keptElements++;
+					}
+				}
+			}
+			return summary;
+		} finally {
+			for (MappedFile mapped : scratchMaps) {
+				mapped.close(0);
+			}
+			for (File scratch : scratchFiles) {
+				scratch.delete();
+			}
+			scratchMaps.clear();
+			scratchFiles.clear();
+		}
+	}
+
+	/** A new, empty index file, deleted when the extract is done. */
+	private MappedFile scratch()
+			throws IOException {
+
+		File file = File.createTempFile("extract", ".index", tempDir);
+		scratchFiles.add(file);
+		MappedFile mapped = new MappedFile(file, true);
+		scratchMaps.add(mapped);
+		return mapped;
+	}
+
+	/** Deletes an index file that is no longer needed. */
+	private void release(MappedFile mapped)
+			throws IOException {
+
+		int index = scratchMaps.indexOf(mapped);
+		mapped.close(0);
+		scratchFiles.remove(index).delete();
+		scratchMaps.remove(index);
+	}
+
+	private boolean is(int unit, int flag)
+			throws IOException {
+		return (unitFlags.get(unit) & flag) != 0;
+	}
+
+	private void set(int unit, int flag)
+			throws IOException {
+		unitFlags.put(unit, (byte) (unitFlags.get(unit) | flag));
+	}
+
+	private void unset(int unit, int flag)
+			throws IOException {
+		unitFlags.put(unit, (byte) (unitFlags.get(unit) & ~flag));
+	}
+
+	private int parent(int unit)
+			throws IOException {
+		return unitParents.getInt(4L * unit);
+	}
+
+	private long refStart(int unit)
+			throws IOException {
+		return refStarts.getLong(8L * unit);
+	}
+
+	private int refTarget(long ref)
+			throws IOException {
+		return refTargets.getInt(4 * ref);
+	}
+
+	private static void parse(File file, DefaultHandler handler)
+			throws IOException {
+
+		try {
+			SAXParserFactory.newInstance().newSAXParser().parse(file, handler);
+		} catch (ParserConfigurationException pce) {
+			throw new IllegalStateException(pce);
+		} catch (SAXException se) {
+			if (se.getException() instanceof IOException) {
+				throw (IOException) se.getException();
+			}
+			throw new IOException(file + ": " + se.getMessage());
+		}
+	}
+
+	/**
+	 * Groups the references by unit, as those of a namespace may follow the
+	 * units that it contains, and resolves them.
+	 */
+	private void resolve()
+			throws IOException {
+
+		refStarts = scratch();
+		for (long i = 0; i < refCount; i++) {
+			long position = 8L * (refUnits.getInt(4 * i) + 1);
+			refStarts.putLong(position, refStarts.getLong(position) + 1);
+		}
+		for (int unit = 0; unit < unitCount; unit++) {
+			long position = 8L * (unit + 1);
+			refStarts.putLong(position, refStarts.getLong(position)
+				+ refStarts.getLong(position - 8));
+		}
+		refTargets = scratch();
+		MappedFile fill = scratch();
+		for (int unit = 0; unit < unitCount; unit++) {
+			fill.putLong(8L * unit, refStart(unit));
+		}
+		for (long i = 0; i < refCount; i++) {
+			long position = 8L * refUnits.getInt(4 * i);
+			long r = fill.getLong(position);
+			fill.putLong(position, r + 1);
+			refTargets.putInt(4 * r, ids.get(refHashes.getLong(8 * i)));
+		}
+		release(fill);
+		release(refUnits);
+		release(refHashes);
+		refUnits = null;
+		refHashes = null;
+	}
+
+	/**
+	 * Keeps the elements within <tt>hops</tt> of <tt>start</tt>, the
+	 * relationships between them and the namespaces that contain them.
+	 */
+	private void select(int start, int hops)
+			throws IOException {
+
+		// undirected adjacency of the units that refer to each other
+		MappedFile offsets = scratch();
+		for (int unit = 0; unit < unitCount; unit++) {
+			for (long r = refStart(unit); r < refStart(unit + 1); r++) {
+				int target = refTarget(r);
+				if (target >= 0 && target != unit) {
+					offsets.putLong(8L * (unit + 1),
+						offsets.getLong(8L * (unit + 1)) + 1);
+					offsets.putLong(8L * (target + 1),
+						offsets.getLong(8L * (target + 1)) + 1);
+				}
+			}
+		}
+		for (int unit = 0; unit < unitCount; unit++) {
+			offsets.putLong(8L * (unit + 1), offsets.getLong(8L * (unit + 1))
+				+ offsets.getLong(8L * unit));
+		}
+		MappedFile adjacency = scratch();
+		MappedFile fill = scratch();
+		for (int unit = 0; unit < unitCount; unit++) {
+			fill.putLong(8L * unit, offsets.getLong(8L * unit));
+		}
+		for (int unit = 0; unit < unitCount; unit++) {
+			for (long r = refStart(unit); r < refStart(unit + 1); r++) {
+				int target = refTarget(r);
+				if (target >= 0 && target != unit) {
+					long a = fill.getLong(8L * unit);
+					fill.putLong(8L * unit, a + 1);
+					adjacency.putInt(4 * a, target);
+					a = fill.getLong(8L * target);
+					fill.putLong(8L * target, a + 1);
+					adjacency.putInt(4 * a, unit);
+				}
+			}
+		}
+		release(fill);
+		Adjacency graph = new Adjacency(offsets, adjacency);
+
+		// breadth-first, level by level, crossing relationships in place
+		IntList frontier = new IntList();
+		IntList next = new IntList();
+		IntList relationships = new IntList();
+		set(start, VISITED);
+		if (is(start, CROSSED)) {
+			relationships.add(start);
+			reach(relationships, graph, frontier);
+		} else {
+			set(start, KEPT);
+			frontier.add(start);
+		}
+		for (int hop = 1; hop <= hops && frontier.size > 0; hop++) {
+			next.clear();
+			for (int i = 0; i < frontier.size; i++) {
+				int unit = frontier.values[i];
+				for (long a = graph.start(unit); a < graph.start(unit + 1); a++) {
+					int neighbour = graph.get(a);
+					if (!is(neighbour, VISITED)) {
+						set(neighbour, VISITED);
+						if (is(neighbour, CROSSED)) {
+							relationships.add(neighbour);
+						} else {
+							set(neighbour, KEPT);
+							next.add(neighbour);
+						}
+					}
+				}
+				reach(relationships, graph, next);
+			}
+			IntList swap = frontier;
+			frontier = next;
+			next = swap;
+		}
+
+		// the relationships that only the last level has, not crossed; kept
+		// below if all of their ends are
+		for (int i = 0; i < frontier.size; i++) {
+			int unit = frontier.values[i];
+			for (long a = graph.start(unit); a < graph.start(unit + 1); a++) {
+				int neighbour = graph.get(a);
+				if (!is(neighbour, VISITED) && is(neighbour, CROSSED)) {
+					set(neighbour, VISITED);
+				}
+			}
+		}
+		release(offsets);
+		release(adjacency);
+
+		// every relationship all of whose ends are kept, until none is dropped
+		for (int unit = 0; unit < unitCount; unit++) {
+			if (is(unit, CROSSED) && is(unit, VISITED)) {
+				set(unit, KEPT);
+			}
+		}
+		for (int unit = 0; unit < unitCount; unit++) {
+			if (!is(unit, CROSSED) && is(unit, KEPT)) {
+				keepParents(unit);
+			}
+		}
+		boolean dropped = true;
+		while (dropped) {
+			dropped = false;
+			for (int unit = 0; unit < unitCount; unit++) {
+				if (is(unit, CROSSED) && is(unit, KEPT) && refersToDropped(unit)) {
+					unset(unit, KEPT);
+					dropped = true;
+				}
+			}
+		}
+		for (int unit = 0; unit < unitCount; unit++) {
+			if (is(unit, CROSSED) && is(unit, KEPT)) {
+				keepParents(unit);
+			}
+		}
+	}
+
+	/**
+	 * Crosses the <tt>relationships</tt>, and those that they lead to, adding
+	 * the elements at their other ends to <tt>into</tt>.
+	 */
+	private void reach(IntList relationships, Adjacency graph, IntList into)
+			throws IOException {
+
+		while (relationships.size > 0) {
+			int unit = relationships.values[--relationships.size];
+			for (long a = graph.start(unit); a < graph.start(unit + 1); a++) {
+				int neighbour = graph.get(a);
+				if (!is(neighbour, VISITED)) {
+					set(neighbour, VISITED);
+					if (is(neighbour, CROSSED)) {
+						relationships.add(neighbour);
+					} else {
+						set(neighbour, KEPT);
+						into.add(neighbour);
+					}
+				}
+			}
+		}
+	}
+
+	private boolean refersToDropped(int unit)
+			throws IOException {
+
+		boolean any = false;
+		for (long r = refStart(unit); r < refStart(unit + 1); r++) {
+			int target = refTarget(r);
+			if (target != unit && target != UNRESOLVED) {
+				if (!is(target, KEPT)) {
+					return true;
+				}
+				any = true;
+			}
+		}
+		return !any;
+	}
+
+	/** Keeps the namespaces that contain a kept unit. */
+	private void keepParents(int unit)
+			throws IOException {
+
+		for (int parent = parent(unit); parent != UNRESOLVED; parent = parent(parent)) {
+			set(parent, KEPT);
+		}
+	}
+
+	private static boolean isReference(String attribute) {
+		return !NOT_REFERENCES.contains(attribute)
+			&& !attribute.startsWith("xmlns");
+	}
+
+	/** FNV-1a; zero is reserved for the empty slots of the id table. */
+	static long hash(String id) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < id.length(); i++) {
+			hash ^= id.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return (hash == 0)
+			? 1
+			: hash;
+	}
+
+	/**
+	 * Classifies the elements of the file in the same way on every pass, so
+	 * that the units are numbered in the same order.
+	 */
+	private abstract class Scanner
+			extends DefaultHandler {
+
+		private int[] kinds = new int[64];
+
+		/** The unit that owns each open element. */
+		private int[] owners = new int[64];
+
+		private int depth;
+
+		private int units;
+
+		@Override
+		public void startElement(String uri, String localName, String qName,
+				Attributes attributes)
+				throws SAXException {
+
+			int kind;
+			int owner;
+			int parent = UNRESOLVED;
+			String type = attributes.getValue("xmi:type");
+			boolean namespace = NAMESPACES.contains((type == null)
+				? qName
+				: type);
+			if (depth == 0) {
+				kind = qName.equals("xmi:XMI")
+					? DOCUMENT
+					: NAMESPACE;
+			} else {
+				int parentKind = kinds[depth - 1];
+				parent = owners[depth - 1];
+				boolean packaged = parentKind == DOCUMENT
+					|| (parentKind == NAMESPACE && qName.equals("packagedElement"));
+				if (packaged && (namespace || attributes.getValue("xmi:id") != null)) {
+					kind = namespace
+						? NAMESPACE
+						: UNIT;
+				} else {
+					kind = PART;
+				}
+			}
+			owner = (kind == NAMESPACE || kind == UNIT)
+				? units++
+				: parent;
+
+			if (depth == kinds.length) {
+				kinds = Arrays.copyOf(kinds, 2 * depth);
+				owners = Arrays.copyOf(owners, 2 * depth);
+			}
+			kinds[depth] = kind;
+			owners[depth] = owner;
+			depth++;
+
+			try {
+				start(kind, owner, parent, type, qName, attributes);
+			} catch (IOException ioe) {
+				throw new SAXException(ioe);
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName)
+				throws SAXException {
+
+			depth--;
+			try {
+				end(qName);
+			} catch (IOException ioe) {
+				throw new SAXException(ioe);
+			}
+		}
+
+		/**
+		 * Starts an element of a <tt>kind</tt>, owned by the unit
+		 * <tt>owner</tt>, in an element owned by <tt>parent</tt>.
+		 */
+		abstract void start(int kind, int owner, int parent, String type,
+				String qName, Attributes attributes)
+				throws IOException;
+
+		abstract void end(String qName)
+				throws IOException;
+	}
+
+	/**
+	 * Numbers the units and hashes their ids and references.
+	 */
+	private class Indexer
+			extends Scanner {
+
+		@Override
+		void start(int kind, int owner, int parent, String type, String qName,
+				Attributes attributes)
+				throws IOException {
+
+			if (kind == NAMESPACE || kind == UNIT) {
+				unitParents.putInt(4L * owner, parent);
+				if (kind == UNIT && (parent == UNRESOLVED
+					|| RELATIONSHIPS.contains(type))) {
+					set(owner, CROSSED);
+				}
+				unitCount++;
+			}
+
+			String id = attributes.getValue("xmi:id");
+			if (id != null && owner != UNRESOLVED) {
+				ids.put(hash(id), owner);
+			}
+
+			if (owner == UNRESOLVED) {
+				return;
+			}
+			for (int i = 0; i < attributes.getLength(); i++) {
+				if (isReference(attributes.getQName(i))) {
+					for (String token : attributes.getValue(i).split(" ")) {
+						if (token.length() > 0) {
+							addReference(owner, hash(token));
+						}
+					}
+				}
+			}
+		}
+
+		private void addReference(int unit, long hash)
+				throws IOException {
+
+			refUnits.putInt(4 * refCount, unit);
+			refHashes.putLong(8 * refCount, hash);
+			refCount++;
+		}
+
+		@Override
+		void end(String qName) {
+			// nothing to do
+		}
+	}
+
+	/**
+	 * Copies the kept units, empty elements as such.
+	 */
+	private class Copier
+			extends Scanner {
+
+		private final Writer out;
+
+		/** The depth within an element that is left out, if positive. */
+		private int skipped;
+
+		/** Whether the last start tag is still open. */
+		private boolean open;
+
+		private final StringBuilder text = new StringBuilder();
+
+		Copier(Writer out) {
+			this.out = out;
+		}
+
+		@Override
+		void start(int kind, int owner, int parent, String type, String qName,
+				Attributes attributes)
+				throws IOException {
+
+			if (skipped > 0) {
+				skipped++;
+				return;
+			}
+
+			boolean copy;
+			switch (kind) {
+				case NAMESPACE :
+				case UNIT :
+					copy = is(owner, KEPT);
+					break;
+				case PART :
+					copy = !isDangling(attributes);
+					break;
+				default :
+					copy = true;
+					break;
+			}
+			if (!copy) {
+				if (isWhitespace(text)) {
+					text.setLength(0);
+				}
+				skipped = 1;
+				return;
+			}
+
+			flush();
+			out.write('<');
+			out.write(qName);
+			for (int i = 0; i < attributes.getLength(); i++) {
+				String name = attributes.getQName(i);
+				String value = attributes.getValue(i);
+				if (kind != PART && isReference(name)) {
+					value = keptTokens(value);
+					if (value.length() == 0) {
+						continue;
+					}
+				}
+				out.write(' ');
+				out.write(name);
+				out.write("=\"");
+				escape(value, true);
+				out.write('"');
+			}
+			open = true;
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) {
+			if (skipped == 0) {
+				text.append(ch, start, length);
+			}
+		}
+
+		@Override
+		void end(String qName)
+				throws IOException {
+
+			if (skipped > 0) {
+				skipped--;
+				return;
+			}
+			if (open && isWhitespace(text)) {
+				// empty, or all of its contents left out
+				text.setLength(0);
+				out.write("/>");
+				open = false;
+				return;
+			}
+			flush();
+			out.write("</");
+			out.write(qName);
+			out.write('>');
+		}
+
+		@Override
+		public void endDocument()
+				throws SAXException {
+
+			try {
+				out.write('\n');
+			} catch (IOException ioe) {
+				throw new SAXException(ioe);
+			}
+		}
+
+		/** Closes the open start tag and writes the pending text. */
+		private void flush()
+				throws IOException {
+
+			if (open) {
+				out.write('>');
+				open = false;
+			}
+			escape(text, false);
+			text.setLength(0);
+		}
+
+		private boolean isDangling(Attributes attributes)
+				throws IOException {
+
+			for (int i = 0; i < attributes.getLength(); i++) {
+				if (isReference(attributes.getQName(i))) {
+					for (String token : attributes.getValue(i).split(" ")) {
+						int owner = ids.get(hash(token));
+						if (owner != UNRESOLVED && !is(owner, KEPT)) {
+							return true;
+						}
+					}
+				}
+			}
+			return false;
+		}
+
+		/** The tokens of <tt>value</tt> that are not ids of left-out elements. */
+		private String keptTokens(String value)
+				throws IOException {
+
+			StringBuilder result = new StringBuilder(value.length());
+			for (String token : value.split(" ")) {
+				int owner = ids.get(hash(token));
+				if (token.length() > 0
+					&& (owner == UNRESOLVED || is(owner, KEPT))) {
+					if (result.length() > 0) {
+						result.append(' ');
+					}
+					result.append(token);
+				}
+			}
+			return result.toString();
+		}
+
+		private void escape(CharSequence value, boolean attribute)
+				throws IOException {
+
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+					case '&' :
+						out.write("&amp;");
+						break;
+					case '<' :
+						out.write("&lt;");
+						break;
+					case '>' :
+						out.write("&gt;");
+						break;
+					case '"' :
+						out.write(attribute
+							? "&quot;"
+							: "\"");
+						break;
+					case '\n' :
+						out.write(attribute
+							? "&#xA;"
+							: "\n");
+						break;
+					case '\r' :
+						out.write("&#xD;");
+						break;
+					case '\t' :
+						out.write(attribute
+							? "&#x9;"
+							: "\t");
+						break;
+					default :
+						out.write(c);
+						break;
+				}
+			}
+		}
+	}
+
+	private static boolean isWhitespace(CharSequence text) {
+		for (int i = 0; i < text.length(); i++) {
+			if (!Character.isWhitespace(text.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * An open-addressing map from id hashes to the units that own them, in
+	 * index files.
+	 */
+	private class IdTable {
+
+		private long capacity = 1 << 12;
+
+		/** A long per slot. */
+		private MappedFile keys;
+
+		/** An int per slot. */
+		private MappedFile values;
+
+		private long size;
+
+		IdTable()
+				throws IOException {
+
+			keys = scratch();
+			values = scratch();
+		}
+
+		void put(long key, int value)
+				throws IOException {
+
+			if (2 * (size + 1) > capacity) {
+				grow();
+			}
+			long mask = capacity - 1;
+			long slot = (key ^ (key >>> 32)) & mask;
+			long found;
+			while ((found = keys.getLong(8 * slot)) != 0 && found != key) {
+				slot = (slot + 1) & mask;
+			}
+			if (found == 0) {
+				keys.putLong(8 * slot, key);
+				size++;
+			}
+			values.putInt(4 * slot, value);
+		}
+
+		int get(long key)
+				throws IOException {
+
+			long mask = capacity - 1;
+			long slot = (key ^ (key >>> 32)) & mask;
+			long found;
+			while ((found = keys.getLong(8 * slot)) != 0) {
+				if (found == key) {
+					return values.getInt(4 * slot);
+				}
+				slot = (slot + 1) & mask;
+			}
+			return UNRESOLVED;
+		}
+
+		private void grow()
+				throws IOException {
+
+			MappedFile oldKeys = keys;
+			MappedFile oldValues = values;
+			long oldCapacity = capacity;
+			keys = scratch();
+			values = scratch();
+			capacity = 2 * oldCapacity;
+			size = 0;
+			for (long slot = 0; slot < oldCapacity; slot++) {
+				long key = oldKeys.getLong(8 * slot);
+				if (key != 0) {
+					put(key, oldValues.getInt(4 * slot));
+				}
+			}
+			release(oldKeys);
+			release(oldValues);
+		}
+	}
+
+	/**
+	 * The undirected adjacency of the units, in index files: the start of
+	 * each unit's neighbours, a long per unit and one more, and the
+	 * neighbours, an int each.
+	 */
+	private static class Adjacency {
+
+		private final MappedFile offsets;
+
+		private final MappedFile neighbours;
+
+		Adjacency(MappedFile offsets, MappedFile neighbours) {
+			this.offsets = offsets;
+			this.neighbours = neighbours;
+		}
+
+		long start(int unit)
+				throws IOException {
+			return offsets.getLong(8L * unit);
+		}
+
+		int get(long index)
+				throws IOException {
+			return neighbours.getInt(4 * index);
+		}
+	}
+
+	private static class IntList {
+
+		int[] values = new int[64];
+
+		int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, 2 * size);
+			}
+			values[size++] = value;
+		}
+
+		void clear() {
+			size = 0;
+		}
+	}
+
+	/**
+	 * Extracts a neighbourhood.
+	 *
+	 * @param args
+	 *            the model file, the seed id and the number of hops, and the
+	 *            optional <tt>--out=&lt;file&gt;</tt>
+	 */
+	public static void main(String[] args)
+			throws IOException {
+
+		GeneratorOptions options = null;
+		int hops = -1;
+		if (args.length >= 3) {
+			try {
+				options = GeneratorOptions.parse(args, 3);
+				hops = Integer.parseInt(args[2]);
+			} catch (IllegalArgumentException iae) {
+				GettingStartedWithUML2.err(iae.getMessage());
+			}
+		} else {
+			GettingStartedWithUML2.err("Expected at least 3 arguments.");
+		}
+		if (options == null || hops < 0) {
+			GettingStartedWithUML2.err(
+				"Usage: java -cp ... %s <model.uml> <id> <hops> [options]",
+				SubgraphExtractor.class.getName());
+			GettingStartedWithUML2.err("<id> - xmi:id of the element at the centre of the extract");
+			GettingStartedWithUML2.err("<hops> - number of relationships to follow from it");
+			GettingStartedWithUML2.err("--out=<file> - the extract, by default next to the model");
+			GettingStartedWithUML2.err("--tmp=<dir> - folder for the index files");
+			System.exit(1);
+			return;
+		}
+
+		File file = new File(args[0]);
+		String name = file.getName();
+		if (name.endsWith(".uml")) {
+			name = name.substring(0, name.length() - 4);
+		}
+		File outFile = options.has("out")
+			? new File(options.get("out", null))
+			: new File(file.getAbsoluteFile().getParentFile(), name + "-"
+				+ args[1] + "-" + hops + ".uml");
+
+		Writer out = new BufferedWriter(new OutputStreamWriter(
+			new FileOutputStream(outFile), "UTF-8"), 1 << 16);
+		SubgraphExtractor.Summary summary;
+		try {
+			File tempDir = options.has("tmp")
+				? new File(options.get("tmp", null))
+				: null;
+			summary = new SubgraphExtractor(tempDir).extract(file, args[1],
+				hops, out);
+		} catch (IllegalArgumentException iae) {
+			out.close();
+			outFile.delete();
+			GettingStartedWithUML2.err(iae.getMessage());
+			System.exit(1);
+			return;
+		} finally {
+			out.close();
+		}
+		System.out.println(summary + ", written to " + outFile);
+	}
+}
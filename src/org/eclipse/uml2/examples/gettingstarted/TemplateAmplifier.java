@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.uml2.uml.Classifier;
+import org.eclipse.uml2.uml.Namespace;
+import org.eclipse.uml2.uml.Node;
+import org.eclipse.uml2.uml.Relationship;
+import org.eclipse.uml2.uml.UMLPackage;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+
+/**
+ * Builds a large model out of copies of a hand-made template model, such as
+ * <tt>models/ExtendedPO2.uml</tt>, instead of element by element. The copies
+ * are made by a pool of workers with {@link EcoreUtil.Copier}s of their own,
+ * each into a detached package, and are added to the root model in order;
+ * they are then linked with random relationships from one copy to another.
+ * <p>
+ * The template must not change while it is copied. It is resolved and copied
+ * once before the workers start, so that whatever it initializes lazily on
+ * first read is in place before it is read concurrently.
+ * </p>
+ */
+class TemplateAmplifier {
+
+	private final org.eclipse.uml2.uml.Package template;
+
+	private final int threads;
+
+	/**
+	 * A copy of the template, with the packaged elements that can take part
+	 * in each kind of relationship.
+	 */
+	static class Copy {
+
+		final org.eclipse.uml2.uml.Package root;
+
+		final List<Namespace> dependables = new ArrayList<Namespace>();
+
+		final List<Classifier> classifiers = new ArrayList<Classifier>();
+
+		final List<Node> nodes = new ArrayList<Node>();
+
+		Copy(org.eclipse.uml2.uml.Package root) {
+			this.root = root;
+
+			for (Iterator<EObject> contents = root.eAllContents(); contents
+				.hasNext();) {
+				EObject next = contents.next();
+				if (next.eContainmentFeature() != UMLPackage.Literals.PACKAGE__PACKAGED_ELEMENT
+					|| next instanceof Relationship) {
+					continue;
+				}
+				if (next instanceof Namespace) {
+					dependables.add((Namespace) next);
+				}
+				if (next instanceof Classifier) {
+					classifiers.add((Classifier) next);
+				}
+				if (next instanceof Node) {
+					nodes.add((Node) next);
+				}
+			}
+		}
+	}
+
+	TemplateAmplifier(org.eclipse.uml2.uml.Package template, int threads) {
+		this.template = template;
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Loads the root package of a template model, which may be of an earlier
+	 * version of UML.
+	 */
+	static org.eclipse.uml2.uml.Package load(File file)
+			throws IOException {
+
+		ResourceSet resourceSet = new ResourceSetImpl();
+		UMLResourcesUtil.init(resourceSet);
+		Resource resource;
+		try {
+			resource = resourceSet.getResource(
+				URI.createFileURI(file.getAbsolutePath()), true);
+		} catch (RuntimeException re) {
+			throw new IOException("Cannot load template " + file + ": "
+				+ re.getMessage(), re);
+		}
+		EcoreUtil.resolveAll(resourceSet);
+
+		org.eclipse.uml2.uml.Package root = (org.eclipse.uml2.uml.Package) EcoreUtil
+			.getObjectByType(resource.getContents(), UMLPackage.Literals.PACKAGE);
+		if (root == null) {
+			throw new IOException("No package in template " + file);
+		}
+		return root;
+	}
+
+	/**
+	 * Adds <tt>count</tt> copies of the template to <tt>root</tt>, each named
+	 * after the template and its number.
+	 */
+	List<Copy> amplify(org.eclipse.uml2.uml.Package root, int count,
+			GenerationMetrics metrics)
+			throws InterruptedException {
+
+		List<Copy> copies = new ArrayList<Copy>(count);
+		if (count == 0) {
+			return copies;
+		}
+		copies.add(copy(0));
+		metrics.step(1);
+
+		int chunk = Math.max(1, (count - 1 + 4 * threads - 1) / (4 * threads));
+		List<Callable<List<Copy>>> workers = new ArrayList<Callable<List<Copy>>>();
+		for (int i = 1; i < count; i += chunk) {
+			final int first = i;
+			final int last = Math.min(count, i + chunk);
+			workers.add(new Callable<List<Copy>>() {
+
+				public List<Copy> call() {
+					List<Copy> result = new ArrayList<Copy>(last - first);
+					for (int j = first; j < last; j++) {
+						result.add(copy(j));
+					}
+					return result;
+				}
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+			GenerationMetrics.workerFactory());
+		try {
+			for (Future<List<Copy>> future : executor.invokeAll(workers)) {
+				List<Copy> done = future.get();
+				copies.addAll(done);
+				metrics.step(done.size());
+			}
+		} catch (ExecutionException ee) {
+			throw new IllegalStateException(ee.getCause());
+		} finally {
+			executor.shutdown();
+		}
+
+		for (Copy copy : copies) {
+			root.getPackagedElements().add(copy.root);
+		}
+		return copies;
+	}
+
+	private Copy copy(int number) {
+		EcoreUtil.Copier copier = new EcoreUtil.Copier();
+		org.eclipse.uml2.uml.Package copy = (org.eclipse.uml2.uml.Package) copier
+			.copy(template);
+		copier.copyReferences();
+		copy.setName(template.getName() + "_" + number);
+		return new Copy(copy);
+	}
+
+	/**
+	 * Creates <tt>count</tt> relationships, each between random elements of
+	 * two random copies, of the kinds of <tt>cycle</tt> in turn or of every
+	 * kind in turn if it is <code>null</code>. Kinds that no element of the
+	 * template can take part in, such as communication paths in a template
+	 * without nodes, are skipped. The associations are made as
+	 * <tt>generator</tt>'s options say.
+	 * 
+	 * @return the number of relationships created, none if no element of the
+	 *         template can take part in any of the kinds
+	 */
+	static int link(GettingStartedWithUML2 generator, List<Copy> copies,
+			int count, byte[] cycle, GenerationMetrics metrics) {
+
+		if (copies.isEmpty()) {
+			return 0;
+		}
+		Random random = generator.getRandom();
+		Copy sample = copies.get(0);
+		boolean[] possible = new boolean[ModelGraph.KIND_NAMES.length];
+		possible[ModelGraph.DEPENDENCY] = !sample.dependables.isEmpty();
+		possible[ModelGraph.GENERALIZATION] = !sample.classifiers.isEmpty();
+		possible[ModelGraph.ASSOCIATION] = !sample.classifiers.isEmpty();
+		possible[ModelGraph.COMMUNICATION_PATH] = !sample.nodes.isEmpty();
+		possible[ModelGraph.DEPLOYMENT] = !sample.nodes.isEmpty();
+
+		if (cycle == null) {
+			cycle = new byte[possible.length];
+			for (int kind = 0; kind < cycle.length; kind++) {
+				cycle[kind] = (byte) kind;
+			}
+		}
+		boolean any = false;
+		for (byte kind : cycle) {
+			any |= possible[kind];
+		}
+		if (!any) {
+			return 0;
+		}
+
+		for (int i = 0, turn = 0; i < count; turn++) {
+			byte kind = cycle[turn % cycle.length];
+			if (!possible[kind]) {
+				continue;
+			}
+
+			Copy from = copies.get(random(random, copies));
+			Copy to = copies.get(random(random, copies));
+			switch (kind) {
+				case ModelGraph.DEPENDENCY :
+					GettingStartedWithUML2.createDependencies(
+						from.dependables.get(random(random, from.dependables)),
+						to.dependables.get(random(random, to.dependables)));
+					break;
+				case ModelGraph.GENERALIZATION :
+					// only between classifiers of the same metaclass, which the
+					// copies have at the same positions
+					int specific = random(random, from.classifiers);
+					int general = random(random, to.classifiers);
+					if (from.classifiers.get(specific).eClass() != to.classifiers
+						.get(general).eClass()) {
+						general = specific;
+					}
+					GettingStartedWithUML2.createGeneralizations(
+						from.classifiers.get(specific), to.classifiers.get(general));
+					break;
+				case ModelGraph.ASSOCIATION :
+					generator.createAssociations(
+						from.classifiers.get(random(random, from.classifiers)),
+						to.classifiers.get(random(random, to.classifiers)));
+					break;
+				case ModelGraph.COMMUNICATION_PATH :
+					generator.createCommunicationPaths(
+						from.nodes.get(random(random, from.nodes)),
+						to.nodes.get(random(random, to.nodes)));
+					break;
+				case ModelGraph.DEPLOYMENT :
+					GettingStartedWithUML2.createDeployments(
+						from.nodes.get(random(random, from.nodes)),
+						to.nodes.get(random(random, to.nodes)));
+					break;
+			}
+			metrics.step(1);
+			i++;
+		}
+		return count;
+	}
+
+	private static int random(Random random, List<?> list) {
+		return (int) (random.nextDouble() * list.size());
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * The knobs of a generation, loaded from a properties file such as
+ *
+ * <pre>
+ * nodes=1000000
+ * edgeFactor=4
+ * edges=dependency:4,generalization:1,association:2
+ * comments=0.125
+ * exposure=0.5
+ * commentKinds=component:3,node:1
+ * mix=component:60,interface:20,node:10,artifact:10
+ * depth=3
+ * fanout=10
+ * assoc=lite
+ * naming=short
+ * </pre>
+ *
+ * <tt>nodes</tt> is the number of elements, <tt>edgeFactor</tt> the number of
+ * relationships per element (in rounds of five), <tt>edges</tt> the relative
+ * weights of the relationship kinds, <tt>comments</tt> the number of
+ * exposure/asset comments per element, <tt>exposure</tt> the probability that
+ * a comment marks an exposure rather than an asset and <tt>commentKinds</tt>
+ * the relative weights of the kinds of the commented elements. Every other
+ * property is a default for the command-line option of the same name.
+ * <p>
+ * The profile is compiled into primitive tables when it is loaded, so that
+ * the generators only index arrays. The defaults reproduce the generator's
+ * original behaviour, random numbers included: one relationship of each kind
+ * per round, a comment on every eighth element, as often an exposure as an
+ * asset, on an element of any kind but artifacts.
+ * </p>
+ */
+class WorkloadProfile {
+
+	static final WorkloadProfile DEFAULT = new WorkloadProfile();
+
+	/** The number of slots of the weighted lookup tables. */
+	private static final int TABLE_SIZE = 64;
+
+	/** The kinds that <tt>creatComments</tt> originally chooses from. */
+	private static final int COMMENTED_KINDS = 7;
+
+	private final Properties options = new Properties();
+
+	private int nodes = -1;
+
+	private int edgeFactor = 4;
+
+	/**
+	 * The relationship kinds in the order in which they are generated, cycled
+	 * through; <code>null</code> for one of each kind per round.
+	 */
+	private byte[] edgeCycle;
+
+	private double comments = 0.125;
+
+	private double exposure = 0.5;
+
+	/** The kinds of the commented elements, indexed by a random slot. */
+	private byte[] commentKinds;
+
+	private WorkloadProfile() {
+		commentKinds = new byte[COMMENTED_KINDS];
+		for (int i = 0; i < COMMENTED_KINDS; i++) {
+			commentKinds[i] = (byte) i;
+		}
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if a property has an invalid value
+	 */
+	static WorkloadProfile load(File file)
+			throws IOException {
+
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(file);
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+
+		WorkloadProfile profile = new WorkloadProfile();
+		for (String key : properties.stringPropertyNames()) {
+			String value = properties.getProperty(key).trim();
+			if (key.equals("nodes")) {
+				profile.nodes = parseInt(key, value);
+			} else if (key.equals("edgeFactor")) {
+				profile.edgeFactor = parseInt(key, value);
+			} else if (key.equals("edges")) {
+				profile.edgeCycle = compileEdges(value);
+			} else if (key.equals("comments")) {
+				profile.comments = parseProbability(key, value, false);
+			} else if (key.equals("exposure")) {
+				profile.exposure = parseProbability(key, value, true);
+			} else if (key.equals("commentKinds")) {
+				profile.commentKinds = compileKinds(ElementMix.parse(value));
+			} else {
+				profile.options.setProperty(key, value);
+			}
+		}
+		return profile;
+	}
+
+	private static int parseInt(String key, String value) {
+		try {
+			int result = Integer.parseInt(value);
+			if (result >= 0) {
+				return result;
+			}
+		} catch (NumberFormatException nfe) {
+			// reported below
+		}
+		throw new IllegalArgumentException("Profile property " + key
+			+ " expects a non-negative integer: " + value);
+	}
+
+	private static double parseProbability(String key, String value,
+			boolean atMostOne) {
+		try {
+			double result = Double.parseDouble(value);
+			if (result >= 0 && (!atMostOne || result <= 1)) {
+				return result;
+			}
+		} catch (NumberFormatException nfe) {
+			// reported below
+		}
+		throw new IllegalArgumentException("Profile property " + key
+			+ " expects a number" + (atMostOne
+				? " between 0 and 1: "
+				: " of at least 0: ") + value);
+	}
+
+	/**
+	 * Interleaves the relationship kinds in proportion to their weights in a
+	 * cycle of {@link #TABLE_SIZE} kinds, each kind spread evenly over it.
+	 */
+	private static byte[] compileEdges(String spec) {
+		double[] weights = new double[ModelGraph.KIND_NAMES.length];
+		double total = 0;
+		for (String entry : spec.split(",")) {
+			int colon = entry.indexOf(':');
+			if (colon < 0) {
+				throw new IllegalArgumentException(
+					"Expected <relationship>:<weight>: " + entry);
+			}
+			int kind = relationshipNamed(entry.substring(0, colon).trim());
+			double weight;
+			try {
+				weight = Double.parseDouble(entry.substring(colon + 1).trim());
+			} catch (NumberFormatException nfe) {
+				throw new IllegalArgumentException("Not a weight: " + entry);
+			}
+			if (weight < 0) {
+				throw new IllegalArgumentException("Negative weight: " + entry);
+			}
+			weights[kind] += weight;
+			total += weight;
+		}
+		if (total <= 0) {
+			throw new IllegalArgumentException("Empty relationship mix: " + spec);
+		}
+
+		// smooth weighted round-robin
+		byte[] cycle = new byte[TABLE_SIZE];
+		double[] credit = new double[weights.length];
+		for (int i = 0; i < cycle.length; i++) {
+			int best = -1;
+			for (int kind = 0; kind < weights.length; kind++) {
+				credit[kind] += weights[kind];
+				if (weights[kind] > 0
+					&& (best < 0 || credit[kind] > credit[best])) {
+					best = kind;
+				}
+			}
+			credit[best] -= total;
+			cycle[i] = (byte) best;
+		}
+		return cycle;
+	}
+
+	/**
+	 * Finds a relationship kind by its metaclass name, ignoring case.
+	 */
+	static int relationshipNamed(String name) {
+		for (int kind = 0; kind < ModelGraph.KIND_NAMES.length; kind++) {
+			if (ModelGraph.KIND_NAMES[kind].equalsIgnoreCase(name)) {
+				return kind;
+			}
+		}
+		throw new IllegalArgumentException("Unknown relationship kind: "
+			+ name);
+	}
+
+	private static byte[] compileKinds(ElementMix mix) {
+		int[] counts = mix.apportion(TABLE_SIZE);
+		byte[] table = new byte[TABLE_SIZE];
+		int slot = 0;
+		for (ElementKind kind : ElementKind.values()) {
+			for (int i = 0; i < counts[kind.ordinal()]; i++) {
+				table[slot++] = (byte) kind.ordinal();
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Adds the options that the profile sets to those of the command line,
+	 * which take precedence.
+	 */
+	void applyTo(GeneratorOptions generatorOptions) {
+		for (String key : options.stringPropertyNames()) {
+			if (!generatorOptions.has(key)) {
+				generatorOptions.put(key, options.getProperty(key));
+			}
+		}
+	}
+
+	/** The number of elements, or <tt>-1</tt> if the profile does not say. */
+	int getNodes() {
+		return nodes;
+	}
+
+	int getEdgeFactor() {
+		return edgeFactor;
+	}
+
+	/**
+	 * The number of relationships for <tt>nodes</tt> elements, as the
+	 * generators count them.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if the relationships of the rounds, five per four edges,
+	 *             do not fit in an <tt>int</tt>, in which the generators
+	 *             count them
+	 */
+	int getEdges(int nodes) {
+		long edges = (long) nodes * edgeFactor;
+		if (5 * (edges / 4) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many relationships: "
+				+ nodes + " elements with an edge factor of " + edgeFactor);
+		}
+		return (int) edges;
+	}
+
+	/**
+	 * The relationship kinds to generate in turn, or <code>null</code> for
+	 * one of each kind per round.
+	 */
+	byte[] getEdgeCycle() {
+		return edgeCycle;
+	}
+
+	/** The number of comment rounds for <tt>nodes</tt> elements. */
+	int getCommentRounds(int nodes) {
+		return (int) (nodes * comments);
+	}
+
+	/** Whether a comment drawn with <tt>random</tt> marks an exposure. */
+	boolean isExposure(double random) {
+		return random < exposure;
+	}
+
+	/** The ordinal of the kind of element that <tt>random</tt> comments. */
+	int getCommentKind(double random) {
+		return commentKinds[(int) (random * commentKinds.length)];
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AttackPathAnalysisTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private ElementTable table;
+
+	private EdgeStore store;
+
+	@Before
+	public void createGraph()
+			throws IOException {
+
+		table = new ElementTable(16);
+		store = EdgeStore.create(folder.newFile("edges.bin"));
+	}
+
+	@After
+	public void closeStore()
+			throws IOException {
+		store.close();
+	}
+
+	private int[] elements(int count) {
+		int[] result = new int[count];
+		for (int i = 0; i < count; i++) {
+			result[i] = table.add(ElementKind.COMPONENT);
+		}
+		return result;
+	}
+
+	private List<AttackPathAnalysis.AttackPath> analyze(int threads)
+			throws IOException, InterruptedException {
+
+		store.flush();
+		return AttackPathAnalysis.analyze(ModelGraph.build(table, store),
+			threads);
+	}
+
+	@Test
+	public void ranksTheShortestPathsByRisk()
+			throws Exception {
+
+		int[] e = elements(8);
+		table.setExposed(e[0]);
+		table.setAsset(e[2], 10);
+		table.setAsset(e[3], 30);
+		table.setAsset(e[4], 100);
+		// a longer way to e[2], which the search must not take
+		store.append(e[0], e[5], ModelGraph.DEPENDENCY);
+		store.append(e[5], e[6], ModelGraph.DEPENDENCY);
+		store.append(e[6], e[2], ModelGraph.DEPENDENCY);
+		store.append(e[0], e[1], ModelGraph.DEPENDENCY);
+		store.append(e[1], e[2], ModelGraph.DEPENDENCY);
+		// associations are followed against their direction
+		store.append(e[3], e[0], ModelGraph.ASSOCIATION);
+		// but neither dependencies nor generalizations
+		store.append(e[4], e[0], ModelGraph.DEPENDENCY);
+		store.append(e[0], e[7], ModelGraph.GENERALIZATION);
+		store.append(e[7], e[4], ModelGraph.ASSOCIATION);
+
+		List<AttackPathAnalysis.AttackPath> paths = analyze(1);
+		assertEquals(2, paths.size());
+
+		AttackPathAnalysis.AttackPath first = paths.get(0);
+		assertEquals(e[3], first.asset);
+		assertArrayEquals(new int[]{e[0], e[3]}, first.path);
+		assertArrayEquals(new byte[]{ModelGraph.ASSOCIATION}, first.kinds);
+		assertEquals(30.0, first.getRisk(), 0);
+
+		AttackPathAnalysis.AttackPath second = paths.get(1);
+		assertEquals(e[2], second.asset);
+		assertArrayEquals(new int[]{e[0], e[1], e[2]}, second.path);
+		assertEquals(2, second.getHops());
+		assertEquals(5.0, second.getRisk(), 0);
+	}
+
+	@Test
+	public void startsFromTheNearestExposedElement()
+			throws Exception {
+
+		int[] e = elements(4);
+		table.setExposed(e[0]);
+		table.setExposed(e[2]);
+		table.setAsset(e[3], 6);
+		store.append(e[0], e[1], ModelGraph.COMMUNICATION_PATH);
+		store.append(e[1], e[3], ModelGraph.COMMUNICATION_PATH);
+		store.append(e[2], e[3], ModelGraph.DEPENDENCY);
+
+		List<AttackPathAnalysis.AttackPath> paths = analyze(1);
+		assertEquals(1, paths.size());
+		assertArrayEquals(new int[]{e[2], e[3]}, paths.get(0).path);
+	}
+
+	@Test
+	public void findsTheSamePathsOnSeveralThreads()
+			throws Exception {
+
+		// a frontier wide enough to be expanded in parallel
+		int width = 10000;
+		int[] e = elements(1 + 2 * width);
+		table.setExposed(e[0]);
+		for (int i = 1; i <= width; i++) {
+			store.append(e[0], e[i], ModelGraph.DEPENDENCY);
+			store.append(e[i], e[width + i], ModelGraph.DEPENDENCY);
+			table.setAsset(e[width + i], i);
+		}
+
+		List<AttackPathAnalysis.AttackPath> sequential = analyze(1);
+		List<AttackPathAnalysis.AttackPath> parallel = analyze(4);
+		assertEquals(width, sequential.size());
+		assertEquals(sequential.size(), parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			assertEquals(sequential.get(i).asset, parallel.get(i).asset);
+			assertArrayEquals(sequential.get(i).path, parallel.get(i).path);
+		}
+		assertEquals(e[2 * width], sequential.get(0).asset);
+	}
+}
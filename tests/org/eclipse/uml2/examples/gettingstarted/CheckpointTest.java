@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CheckpointTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void roundTripsTheStateOfAGeneration()
+			throws IOException {
+
+		ElementTable table = new ElementTable(4);
+		for (int i = 0; i < 20; i++) {
+			table.add(ElementKind.values()[i % ElementKind.values().length]);
+		}
+		table.setExposed(3);
+		table.setAsset(5, 42);
+
+		EdgeStore store = EdgeStore.create(folder.newFile("edges.bin"));
+		store.append(1, 2, ModelGraph.DEPENDENCY);
+		store.append(2, 3, ModelGraph.GENERALIZATION);
+
+		Random random = new Random(7);
+		random.nextInt();
+
+		File file = new File(folder.getRoot(), "generation.checkpoint");
+		Checkpoint.write(file, "key", table, store, random, 80, 3);
+		store.close();
+
+		Checkpoint checkpoint = Checkpoint.read(file);
+		assertEquals("key", checkpoint.options);
+		assertEquals(20, checkpoint.nodes);
+		assertEquals(80, checkpoint.edges);
+		assertEquals(3, checkpoint.round);
+		assertEquals(2, checkpoint.edgeCount);
+		assertEquals(random.nextLong(), checkpoint.random.nextLong());
+
+		assertEquals(table.size(), checkpoint.table.size());
+		for (int i = 0; i < table.size(); i++) {
+			assertEquals(table.getKind(i), checkpoint.table.getKind(i));
+			assertEquals(table.getOrdinal(i), checkpoint.table.getOrdinal(i));
+			assertEquals(table.getAnnotation(i),
+				checkpoint.table.getAnnotation(i));
+			assertEquals(table.getAssetValue(i),
+				checkpoint.table.getAssetValue(i));
+		}
+		for (ElementKind kind : ElementKind.values()) {
+			assertEquals(table.count(kind), checkpoint.table.count(kind));
+		}
+	}
+
+	@Test
+	public void replacesThePreviousCheckpoint()
+			throws IOException {
+
+		ElementTable table = new ElementTable(16);
+		table.add(ElementKind.COMPONENT);
+		EdgeStore store = EdgeStore.create(folder.newFile("edges.bin"));
+		File file = new File(folder.getRoot(), "generation.checkpoint");
+
+		Checkpoint.write(file, "key", table, store, new Random(1), 10, 1);
+		store.append(0, 0, ModelGraph.DEPENDENCY);
+		Checkpoint.write(file, "key", table, store, new Random(1), 10, 2);
+		store.close();
+
+		Checkpoint checkpoint = Checkpoint.read(file);
+		assertEquals(2, checkpoint.round);
+		assertEquals(1, checkpoint.edgeCount);
+		assertFalse(new File(file.getPath() + ".tmp").exists());
+	}
+
+	@Test(expected = IOException.class)
+	public void refusesToReadOtherFiles()
+			throws IOException {
+		Checkpoint.read(folder.newFile("empty.checkpoint"));
+	}
+}
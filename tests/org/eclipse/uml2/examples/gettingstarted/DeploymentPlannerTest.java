@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.uml2.uml.Artifact;
+import org.eclipse.uml2.uml.Deployment;
+import org.eclipse.uml2.uml.Node;
+import org.eclipse.uml2.uml.UMLFactory;
+import org.junit.Test;
+
+public class DeploymentPlannerTest {
+
+	private static List<Artifact> artifacts(int count) {
+		List<Artifact> artifacts = new ArrayList<Artifact>(count);
+		for (int i = 0; i < count; i++) {
+			artifacts.add(UMLFactory.eINSTANCE.createArtifact());
+		}
+		return artifacts;
+	}
+
+	private static List<Node> locations(int count) {
+		List<Node> locations = new ArrayList<Node>(count);
+		for (int i = 0; i < count; i++) {
+			locations.add((i % 2 == 0)
+				? UMLFactory.eINSTANCE.createExecutionEnvironment()
+				: UMLFactory.eINSTANCE.createDevice());
+		}
+		return locations;
+	}
+
+	private static DeploymentPlanner planner(long seed) {
+		return new DeploymentPlanner(NamingScheme.FULL, new GenerationMetrics(
+			false, true), new Random(seed));
+	}
+
+	@Test
+	public void deploysEachArtifactOnceWithinCapacity() {
+		List<Artifact> artifacts = artifacts(1000);
+		List<Node> locations = locations(20);
+		DeploymentPlanner planner = planner(1);
+		planner.plan(artifacts, locations, 80);
+
+		Set<Artifact> deployed = new HashSet<Artifact>();
+		int deployments = 0;
+		for (Node location : locations) {
+			assertTrue(location.getDeployments().size() <= 1);
+			for (Deployment deployment : location.getDeployments()) {
+				deployments++;
+				for (Object artifact : deployment.getDeployedArtifacts()) {
+					assertTrue(deployed.add((Artifact) artifact));
+				}
+			}
+		}
+
+		assertEquals(planner.getDeployedCount(), deployed.size());
+		assertEquals(planner.getDeploymentCount(), deployments);
+		assertTrue(planner.getUsed() <= planner.getCapacity());
+		// spread over every location, with room to spare
+		assertEquals(20, deployments);
+		assertTrue(planner.getDeployedCount() > 900);
+	}
+
+	@Test
+	public void fillsTheLocationsToTheUtilization() {
+		DeploymentPlanner planner = planner(2);
+		planner.plan(artifacts(10000), locations(50), 50);
+
+		double utilization = (double) planner.getUsed()
+			/ planner.getCapacity();
+		assertEquals(0.5, utilization, 0.01);
+		assertEquals(10000, planner.getDeployedCount());
+	}
+
+	@Test
+	public void leavesOutWhatDoesNotFit() {
+		DeploymentPlanner planner = planner(3);
+		planner.plan(artifacts(1000), locations(10), 200);
+
+		assertTrue(planner.getDeployedCount() < 1000);
+		assertTrue(planner.getUsed() <= planner.getCapacity());
+		assertTrue(planner.getUsed() > planner.getCapacity() * 9 / 10);
+	}
+
+	@Test
+	public void deploysNothingWithoutLocations() {
+		DeploymentPlanner planner = planner(4);
+		planner.plan(artifacts(10), new ArrayList<Node>(), 80);
+		assertEquals(0, planner.getDeploymentCount());
+		assertEquals(0, planner.getDeployedCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesANonPositiveUtilization() {
+		planner(5).plan(artifacts(1), locations(1), 0);
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EdgeStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void readsBackAppendedEdges()
+			throws IOException {
+
+		File file = folder.newFile("edges.bin");
+		EdgeStore store = EdgeStore.create(file);
+		store.append(0, 1, ModelGraph.DEPENDENCY);
+		store.append(EdgeStore.MAX_ELEMENTS - 1, 2, ModelGraph.DEPLOYMENT);
+		store.append(3, EdgeStore.MAX_ELEMENTS - 1, ModelGraph.ASSOCIATION);
+		store.close();
+
+		assertEquals(EdgeStore.HEADER_SIZE + 3 * EdgeStore.RECORD_SIZE,
+			file.length());
+
+		store = EdgeStore.open(file);
+		try {
+			assertEquals(3, store.size());
+			assertEquals(EdgeStore.MAX_ELEMENTS - 1, store.getSource(1));
+			assertEquals(2, store.getTarget(1));
+			assertEquals(ModelGraph.DEPLOYMENT, store.getKind(1));
+			assertEquals(3, store.getSource(2));
+			assertEquals(EdgeStore.MAX_ELEMENTS - 1, store.getTarget(2));
+			assertEquals(ModelGraph.ASSOCIATION, store.getKind(2));
+
+			final StringBuilder visited = new StringBuilder();
+			store.forEach(new EdgeStore.EdgeVisitor() {
+
+				public void visit(long edge, int source, int target, byte kind) {
+					visited.append(edge).append(':').append(kind).append(' ');
+				}
+			});
+			assertEquals("0:0 1:4 2:2 ", visited.toString());
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test
+	public void reopenDiscardsEdgesAfterTheGivenSize()
+			throws IOException {
+
+		File file = folder.newFile("edges.bin");
+		EdgeStore store = EdgeStore.create(file);
+		for (int i = 0; i < 10; i++) {
+			store.append(i, i + 1, ModelGraph.GENERALIZATION);
+		}
+		store.close();
+
+		store = EdgeStore.reopen(file, 4);
+		store.append(100, 200, ModelGraph.COMMUNICATION_PATH);
+		store.close();
+
+		store = EdgeStore.open(file);
+		try {
+			assertEquals(5, store.size());
+			assertEquals(3, store.getSource(3));
+			assertEquals(100, store.getSource(4));
+			assertEquals(200, store.getTarget(4));
+			assertEquals(ModelGraph.COMMUNICATION_PATH, store.getKind(4));
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test
+	public void refusesToReopenBeyondItsSize()
+			throws IOException {
+
+		File file = folder.newFile("edges.bin");
+		EdgeStore store = EdgeStore.create(file);
+		store.append(0, 1, ModelGraph.DEPENDENCY);
+		store.close();
+
+		try {
+			EdgeStore.reopen(file, 2);
+			fail("Reopened a store of 1 edge as one of 2");
+		} catch (IOException expected) {
+			// the store is left as it was
+		}
+		assertEquals(EdgeStore.HEADER_SIZE + EdgeStore.RECORD_SIZE,
+			file.length());
+	}
+
+	@Test(expected = IOException.class)
+	public void refusesToOpenOtherFiles()
+			throws IOException {
+
+		File file = folder.newFile("other.bin");
+		MappedFile mapped = new MappedFile(file, true);
+		mapped.putLong(0, 42);
+		mapped.putLong(8, 0);
+		mapped.close(EdgeStore.HEADER_SIZE);
+
+		EdgeStore.open(file);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesElementsOutOfRange()
+			throws IOException {
+
+		EdgeStore store = EdgeStore.create(folder.newFile("edges.bin"));
+		try {
+			store.append(EdgeStore.MAX_ELEMENTS, 0, ModelGraph.DEPENDENCY);
+		} finally {
+			store.close();
+		}
+	}
+
+	@Test
+	public void mappedFileTruncatesToTheLengthGivenOnClose()
+			throws IOException {
+
+		File file = folder.newFile("mapped.bin");
+		MappedFile mapped = new MappedFile(file, true);
+		mapped.putInt(0, 7);
+		mapped.putLong(4, Long.MIN_VALUE);
+		mapped.close(12);
+		assertEquals(12, file.length());
+
+		mapped = new MappedFile(file, false);
+		try {
+			assertEquals(12, mapped.length());
+			assertEquals(7, mapped.getInt(0));
+			assertEquals(Long.MIN_VALUE, mapped.getLong(4));
+		} finally {
+			mapped.close(0);
+		}
+	}
+}
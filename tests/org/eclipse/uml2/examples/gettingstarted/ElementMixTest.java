@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ElementMixTest {
+
+	private static int sum(int[] counts) {
+		int sum = 0;
+		for (int count : counts) {
+			sum += count;
+		}
+		return sum;
+	}
+
+	@Test
+	public void apportionsInProportionToTheWeights() {
+		int[] counts = ElementMix.parse(
+			"component:60,interface:20,node:10,artifact:10").apportion(1000);
+
+		assertEquals(600, counts[ElementKind.COMPONENT.ordinal()]);
+		assertEquals(200, counts[ElementKind.INTERFACE.ordinal()]);
+		assertEquals(100, counts[ElementKind.NODE.ordinal()]);
+		assertEquals(100, counts[ElementKind.ARTIFACT.ordinal()]);
+		assertEquals(0, counts[ElementKind.PACKAGE.ordinal()]);
+		assertEquals(1000, sum(counts));
+	}
+
+	@Test
+	public void givesTheRemainderToTheLargestFractions() {
+		int[] counts = ElementMix.parse("component:1,interface:1,node:1")
+			.apportion(8);
+
+		assertEquals(8, sum(counts));
+		for (ElementKind kind : new ElementKind[]{ElementKind.COMPONENT,
+			ElementKind.INTERFACE, ElementKind.NODE}) {
+			int count = counts[kind.ordinal()];
+			assertEquals(kind.name(), 2.5, count, 0.5);
+		}
+	}
+
+	@Test
+	public void neverGivesElementsToKindsWithoutWeight() {
+		ElementMix mix = ElementMix.parse("component:1,device:0");
+		for (int total = 0; total < 20; total++) {
+			int[] counts = mix.apportion(total);
+			assertEquals(total, counts[ElementKind.COMPONENT.ordinal()]);
+			assertEquals(total, sum(counts));
+		}
+	}
+
+	@Test
+	public void addsUpTheWeightsOfAKind() {
+		ElementMix mix = ElementMix.parse(
+			"executionEnvironment:1, execution_environment:2,model:0.5");
+		assertEquals(3, mix.getWeight(ElementKind.EXECUTION_ENVIRONMENT), 0);
+		assertEquals(0.5, mix.getWeight(ElementKind.MODEL), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesUnknownKinds() {
+		ElementMix.parse("component:1,widget:1");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesNegativeWeights() {
+		ElementMix.parse("component:1,node:-1");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesAnEmptyMix() {
+		ElementMix.parse("component:0");
+	}
+}
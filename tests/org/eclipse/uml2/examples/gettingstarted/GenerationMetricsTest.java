@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class GenerationMetricsTest {
+
+	/** Keeps the workers' allocation from being optimized away. */
+	private static volatile byte[] sink;
+
+	@Test
+	public void countsTheItemsOfEveryPhase() {
+		GenerationMetrics metrics = new GenerationMetrics(false, true);
+		metrics.end(metrics.begin("createNode", 100), 100, 0);
+		metrics.end(metrics.begin("createConnections", 0), 0, 250);
+
+		List<GenerationMetrics.Phase> phases = metrics.getPhases();
+		assertEquals(2, phases.size());
+		assertEquals("createNode", phases.get(0).name);
+		assertEquals(100, phases.get(0).expected);
+		assertEquals(100, phases.get(0).elements);
+		assertEquals(0, phases.get(0).edges);
+		assertEquals("createConnections", phases.get(1).name);
+		assertEquals(0, phases.get(1).elements);
+		assertEquals(250, phases.get(1).edges);
+		assertTrue(phases.get(1).nanos >= 0);
+	}
+
+	@Test
+	public void writesThePhasesAsJson()
+			throws IOException {
+
+		GenerationMetrics metrics = new GenerationMetrics(false, true);
+		metrics.setStartup(1234);
+		metrics.end(metrics.begin("createNode", 0), 100, 0);
+		metrics.end(metrics.begin("save", 0), 100, 250);
+
+		StringWriter out = new StringWriter();
+		metrics.writeReport(out);
+		String report = out.toString();
+		assertTrue(report, report.startsWith("{\n  \"startupMillis\": 1234,\n"));
+		assertTrue(report, report.contains("\"sharedArchive\": "));
+		assertTrue(report, report.contains(
+			"{\"name\": \"createNode\", \"seconds\": "));
+		assertTrue(report, report.contains(
+			"\"elements\": 100, \"elementsPerSecond\": "));
+		assertTrue(report, report.contains("\"edges\": 250, \"edgesPerSecond\": "));
+		assertTrue(report, report.indexOf("\"createNode\"") < report
+			.indexOf("\"save\""));
+		assertTrue(report, report.endsWith("}\n  ]\n}\n"));
+	}
+
+	@Test
+	public void writesNoStartupIfNotSet()
+			throws IOException {
+
+		StringWriter out = new StringWriter();
+		new GenerationMetrics(false, true).writeReport(out);
+		assertEquals("{\n  \"phases\": [\n  ]\n}\n", out.toString());
+	}
+
+	@Test
+	public void addsTheAllocationOfWorkerPoolsToThePhase()
+			throws InterruptedException {
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		assumeTrue(threads instanceof com.sun.management.ThreadMXBean
+			&& ((com.sun.management.ThreadMXBean) threads)
+				.isThreadAllocatedMemoryEnabled());
+
+		GenerationMetrics metrics = new GenerationMetrics(false, true);
+		GenerationMetrics.Phase phase = metrics.begin("work", 0);
+		ExecutorService pool = Executors.newFixedThreadPool(2,
+			GenerationMetrics.workerFactory());
+		for (int i = 0; i < 2; i++) {
+			pool.execute(new Runnable() {
+
+				public void run() {
+					for (int j = 0; j < 16; j++) {
+						sink = new byte[1 << 20];
+					}
+				}
+			});
+		}
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+		metrics.end(phase, 0, 0);
+
+		// the generating thread itself allocates far less
+		assertTrue(String.valueOf(phase.allocatedBytes),
+			phase.allocatedBytes >= 32L << 20);
+	}
+
+	@Test
+	public void printsProgressOnlyForPhasesWithACountOrSteps()
+			throws Exception {
+
+		PrintStream out = System.out;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		GenerationMetrics metrics = new GenerationMetrics(false, true);
+		System.setOut(new PrintStream(bytes, true, "UTF-8"));
+		try {
+			metrics.startProgress(1);
+			metrics.end(metrics.begin("save", 0), 0, 0);
+			GenerationMetrics.Phase phase = metrics.begin("validate", 0);
+			Thread.sleep(1500);
+			metrics.end(phase, 0, 0);
+			phase = metrics.begin("createNode", 0);
+			metrics.step(10);
+			Thread.sleep(1500);
+			metrics.end(phase, 10, 0);
+		} finally {
+			metrics.stopProgress();
+			System.setOut(out);
+		}
+
+		String progress = bytes.toString("UTF-8");
+		assertFalse(progress, progress.contains("[validate]"));
+		assertTrue(progress, progress.contains("[createNode] 10, "));
+	}
+}
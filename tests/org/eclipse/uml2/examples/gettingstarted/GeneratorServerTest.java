@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GeneratorServerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private GeneratorServer server;
+
+	private int port;
+
+	@Before
+	public void start()
+			throws IOException {
+
+		ServerSocket socket = new ServerSocket(0);
+		port = socket.getLocalPort();
+		socket.close();
+		// one worker and one queued request
+		server = new GeneratorServer(1, 1);
+		server.start(port);
+	}
+
+	@After
+	public void stop() {
+		server.stop();
+	}
+
+	private int request(String method, String query)
+			throws IOException {
+
+		HttpURLConnection connection = (HttpURLConnection) new URL(
+			"http://127.0.0.1:" + port + query).openConnection();
+		connection.setRequestMethod(method);
+		int status = connection.getResponseCode();
+		InputStream in = status < 400
+			? connection.getInputStream()
+			: connection.getErrorStream();
+		if (in != null) {
+			in.close();
+		}
+		return status;
+	}
+
+	private String generate(File dir, String options)
+			throws IOException {
+		return "/generate?dir=" + URLEncoder.encode(dir.getPath(), "UTF-8")
+			+ "&" + options;
+	}
+
+	@Test
+	public void generatesIntoTheRequestedDirectory()
+			throws IOException {
+
+		File dir = folder.newFolder("model");
+		assertEquals(200, request("GET", generate(dir, "nodes=100&seed=1")));
+		assertTrue(new File(dir, "UML models.uml").length() > 0);
+
+		File heap = folder.newFolder("heap");
+		assertEquals(200, request("GET", generate(heap, "nodes=100&heap")));
+		assertTrue(new File(heap, "UML models.uml").length() > 0);
+	}
+
+	@Test
+	public void refusesRequestsItCannotGenerate()
+			throws IOException {
+
+		File dir = folder.newFolder("model");
+		assertEquals(400, request("GET", "/generate?nodes=100"));
+		assertEquals(400, request("GET", generate(dir, "nodes=5")));
+		assertEquals(400, request("GET", generate(dir, "nodes=abc")));
+		assertEquals(400, request("GET", generate(dir, "nodes=100&plan=never")));
+		assertEquals(400, request("GET",
+			generate(dir, "nodes=100&heap&depth=8&fanout=10")));
+		for (String option : new String[] {"template=seed.uml", "ports=2",
+			"classes=5", "deploy", "validate", "footprint"}) {
+			assertEquals(option, 400, request("GET",
+				generate(dir, "nodes=100&plan=off&" + option)));
+		}
+	}
+
+	@Test
+	public void refusesModelsTooLargeForTheHeap()
+			throws IOException {
+
+		File dir = folder.newFolder("model");
+		assertEquals(413, request("GET",
+			generate(dir, "nodes=200000000&heap&ports=2")));
+		assertEquals(413, request("GET", generate(dir, "nodes=200000000")));
+	}
+
+	@Test
+	public void refusesBusyDirectoriesAndAFullQueue()
+			throws Exception {
+
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		// keep the only worker busy
+		server.workers.submit(new Callable<Void>() {
+
+			public Void call()
+					throws InterruptedException {
+				blocked.countDown();
+				release.await();
+				return null;
+			}
+		});
+		assertTrue(blocked.await(30, TimeUnit.SECONDS));
+
+		File first = folder.newFolder("first");
+		final String queued = generate(first, "nodes=100&heap");
+		ExecutorService clients = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> status = clients.submit(new Callable<Integer>() {
+
+				public Integer call()
+						throws IOException {
+					return request("GET", queued);
+				}
+			});
+			long deadline = System.currentTimeMillis() + 30000;
+			while (server.workers.getQueue().isEmpty()
+				&& System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+
+			// the directory of the queued request is busy, and neither the
+			// worker nor the queue has room for another
+			assertEquals(409, request("GET", generate(first, "nodes=100&heap")));
+			assertEquals(503, request("GET",
+				generate(folder.newFolder("second"), "nodes=100&heap")));
+
+			release.countDown();
+			assertEquals(200, status.get(60, TimeUnit.SECONDS).intValue());
+		} finally {
+			release.countDown();
+			clients.shutdown();
+		}
+	}
+
+	@Test
+	public void shutsDownOnlyWithTheToken()
+			throws IOException {
+
+		assertEquals(403, request("POST", "/shutdown?token=wrong"));
+		assertEquals(403, request("GET", "/shutdown?token=" + server.getToken()));
+		assertEquals(200, request("POST", "/shutdown?token=" + server.getToken()));
+	}
+}
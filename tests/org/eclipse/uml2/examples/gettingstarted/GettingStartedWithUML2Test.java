@@ -0,0 +1,537 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.uml2.common.util.CacheAdapter;
+import org.eclipse.uml2.uml.Association;
+import org.eclipse.uml2.uml.Component;
+import org.eclipse.uml2.uml.Connector;
+import org.eclipse.uml2.uml.ConnectorEnd;
+import org.eclipse.uml2.uml.Enumeration;
+import org.eclipse.uml2.uml.Interface;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Port;
+import org.eclipse.uml2.uml.PrimitiveType;
+import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.Type;
+import org.eclipse.uml2.uml.resource.UMLResource;
+import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GettingStartedWithUML2Test {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private boolean accepts(String nodes)
+			throws IOException {
+
+		return new GettingStartedWithUML2().processArgs(new String[] {
+			folder.getRoot().getPath(), nodes});
+	}
+
+	@Test
+	public void acceptsOneElementOfEveryKind()
+			throws IOException {
+
+		assertTrue(accepts(String.valueOf(ElementKind.values().length)));
+	}
+
+	@Test
+	public void refusesNodeCountsTooSmallForEveryKind()
+			throws IOException {
+
+		assertFalse(accepts("5"));
+		assertFalse(accepts("0"));
+		assertFalse(accepts("-3"));
+	}
+
+	@Test
+	public void refusesMoreNamespacesThanElements()
+			throws IOException {
+
+		String dir = folder.getRoot().getPath();
+		assertTrue(new GettingStartedWithUML2().processArgs(new String[] {
+			dir, "100", "--depth=2", "--fanout=10"}));
+		assertFalse(new GettingStartedWithUML2().processArgs(new String[] {
+			dir, "100", "--depth=8", "--fanout=10"}));
+	}
+
+	@Test
+	public void refusesEdgeFactorsThatOverflowTheEdgeCount()
+			throws IOException {
+
+		File profile = folder.newFile("profile.properties");
+		Writer out = new FileWriter(profile);
+		try {
+			out.write("edgeFactor=100000\n");
+		} finally {
+			out.close();
+		}
+		assertFalse(new GettingStartedWithUML2().processArgs(new String[] {
+			folder.getRoot().getPath(), "100000",
+			"--profile=" + profile.getPath()}));
+	}
+
+	@Test
+	public void refusesInMemoryOnlyOptionsOffHeap()
+			throws IOException {
+
+		String dir = folder.getRoot().getPath();
+		for (String option : new String[] {"--ports=2", "--classes=5",
+			"--deploy", "--validate", "--footprint", "--template=seed.uml"}) {
+			for (String offHeap : new String[] {"--store", "--checkpoint",
+				"--resume"}) {
+				assertFalse(option + " " + offHeap,
+					new GettingStartedWithUML2().processArgs(new String[] {
+						dir, "100", option, offHeap, "--plan=off"}));
+			}
+			assertTrue(option, new GettingStartedWithUML2().processArgs(
+				new String[] {dir, "100", option, "--plan=off"}));
+		}
+	}
+
+	@Test
+	public void refusesNodeCountsThatAreNotNumbers()
+			throws IOException {
+
+		assertFalse(accepts("abc"));
+	}
+
+	private String generate(String... options)
+			throws Exception {
+		return generate(200, options);
+	}
+
+	private String generate(int nodes, String... options)
+			throws Exception {
+
+		String[] args = new String[options.length + 4];
+		args[0] = folder.getRoot().getPath();
+		args[1] = Integer.toString(nodes);
+		args[2] = "--quiet";
+		args[3] = "--progress=0";
+		System.arraycopy(options, 0, args, 4, options.length);
+		GettingStartedWithUML2 generator = new GettingStartedWithUML2();
+		assertTrue(generator.processArgs(args));
+		generator.run(0);
+		return new String(Files.readAllBytes(new File(folder.getRoot(),
+			"UML models.uml").toPath()), StandardCharsets.UTF_8);
+	}
+
+	private Resource load()
+			throws IOException {
+
+		ResourceSet resourceSet = new ResourceSetImpl();
+		UMLResourcesUtil.init(resourceSet);
+		return resourceSet.getResource(URI.createFileURI(new File(
+			folder.getRoot(), "UML models.uml").getAbsolutePath()), true);
+	}
+
+	private static void assertNoNodeRelationships(String model) {
+		assertTrue(model.contains("uml:Dependency"));
+		assertTrue(model.contains("uml:Association"));
+		assertFalse(model.contains("uml:CommunicationPath"));
+		assertFalse(model.contains("<deployment "));
+	}
+
+	@Test
+	public void skipsRelationshipsWithoutElementsInMemory()
+			throws Exception {
+
+		assertNoNodeRelationships(generate("--mix=component:60,interface:20"));
+	}
+
+	@Test
+	public void skipsRelationshipsWithoutElementsOffHeap()
+			throws Exception {
+
+		assertNoNodeRelationships(generate("--mix=component:60,interface:20",
+			"--store"));
+	}
+
+	/*
+	 * the edges of a phase of the metrics report of the last generation
+	 */
+	private long edgesOf(String phase)
+			throws IOException {
+
+		String report = new String(Files.readAllBytes(new File(
+			folder.getRoot(), "UML models.metrics.json").toPath()),
+			StandardCharsets.UTF_8);
+		Matcher matcher = Pattern.compile(
+			"\\{\"name\": \"" + phase + "\",[^}]*\"edges\": (\\d+),")
+			.matcher(report);
+		assertTrue(report, matcher.find());
+		return Long.parseLong(matcher.group(1));
+	}
+
+	@Test
+	public void reportsTheRelationshipsCreatedRatherThanTheNominalCount()
+			throws Exception {
+
+		generate("--mix=component:60,interface:20", "--metrics");
+		long created = edgesOf("createConnections");
+		assertEquals(created, edgesOf("save"));
+		// no communication paths or deployments of the five kinds
+		assertEquals(3 * (200 * 4 / 4), created);
+	}
+
+	@Test
+	public void skipsRelationshipsWithoutElementsInTheProfileCycle()
+			throws Exception {
+
+		File profile = folder.newFile("profile.properties");
+		Writer out = new FileWriter(profile);
+		try {
+			out.write("edges=deployment:1,dependency:1,association:1\n");
+		} finally {
+			out.close();
+		}
+		String option = "--profile=" + profile.getPath();
+		assertNoNodeRelationships(generate("--mix=component:60,interface:20",
+			option));
+		assertNoNodeRelationships(generate("--mix=component:60,interface:20",
+			option, "--store"));
+	}
+
+	@Test
+	public void acceptsASingleCopyOfATemplate() {
+		GettingStartedWithUML2.checkNodes(1, true);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesNoCopiesOfATemplate() {
+		GettingStartedWithUML2.checkNodes(0, true);
+	}
+
+	@Test
+	public void wiresConnectorsBetweenPortsOfOneComponent()
+			throws Exception {
+
+		generate("--ports=3", "--connectors=2");
+		int components = 0;
+		Set<String> names = new HashSet<String>();
+		for (TreeIterator<EObject> i = load().getAllContents(); i.hasNext();) {
+			EObject object = i.next();
+			if (!(object instanceof Component)) {
+				continue;
+			}
+			Component component = (Component) object;
+			components++;
+			Set<Port> ports = new HashSet<Port>(component.getOwnedPorts());
+			assertEquals(3, ports.size());
+			for (Port port : ports) {
+				assertTrue(port.getType() instanceof Interface);
+				assertTrue(names.add(port.getName()));
+			}
+			assertEquals(2, component.getOwnedConnectors().size());
+			for (Connector connector : component.getOwnedConnectors()) {
+				assertEquals(2, connector.getEnds().size());
+				ConnectorEnd first = connector.getEnds().get(0);
+				ConnectorEnd second = connector.getEnds().get(1);
+				assertTrue(ports.contains(first.getRole()));
+				assertTrue(ports.contains(second.getRole()));
+				assertNotSame(first.getRole(), second.getRole());
+			}
+		}
+		assertTrue(components > 0);
+		assertEquals(3 * components, names.size());
+	}
+
+	@Test
+	public void wiresNoConnectorsToASinglePort()
+			throws Exception {
+
+		String model = generate("--ports=1", "--connectors=2");
+		assertTrue(model.contains("uml:Port"));
+		assertFalse(model.contains("ownedConnector"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesNegativePorts() {
+		GettingStartedWithUML2.checkPorts(-1, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesNegativeConnectors() {
+		GettingStartedWithUML2.checkPorts(2, -1);
+	}
+
+	private void assertAssociationEnds(AssociationMode mode, int lower)
+			throws IOException {
+
+		int associations = 0;
+		for (TreeIterator<EObject> i = load().getAllContents(); i.hasNext();) {
+			EObject object = i.next();
+			if (!(object instanceof Association)) {
+				continue;
+			}
+			associations++;
+			Association association = (Association) object;
+			assertEquals(2, association.getMemberEnds().size());
+			for (Property end : association.getMemberEnds()) {
+				assertEquals(mode == AssociationMode.FULL,
+					end.getOwner() != association);
+				assertEquals(mode.hasLowerValue(), end.getLowerValue() != null);
+				assertEquals(mode.hasUpperValue(), end.getUpperValue() != null);
+				assertEquals(lower, end.getLower());
+				assertEquals(1, end.getUpper());
+			}
+		}
+		assertTrue(associations > 0);
+	}
+
+	@Test
+	public void createsTheMultiplicitiesOfTheAssociationMode()
+			throws Exception {
+
+		generate("--assoc=full");
+		assertAssociationEnds(AssociationMode.FULL, 0);
+		generate("--assoc=lite");
+		assertAssociationEnds(AssociationMode.LITE, 0);
+		generate("--assoc=bare");
+		assertAssociationEnds(AssociationMode.BARE, 1);
+	}
+
+	@Test
+	public void writesTheMultiplicitiesOfTheAssociationMode()
+			throws Exception {
+
+		generate("--assoc=lite", "--store");
+		assertAssociationEnds(AssociationMode.LITE, 0);
+		generate("--assoc=bare", "--store");
+		assertAssociationEnds(AssociationMode.BARE, 1);
+	}
+
+	@Test
+	public void parsesTheAssociationModes() {
+		assertEquals(AssociationMode.LITE, AssociationMode.parse("Lite"));
+		assertEquals(AssociationMode.BARE, AssociationMode.parse("BARE"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesUnknownAssociationModes() {
+		AssociationMode.parse("none");
+	}
+
+	@Test
+	public void replacesTheSlotFileLeftBehindByACrash()
+			throws Exception {
+
+		File slots = StreamingXmiWriter.getSlotFile(new File(folder.getRoot(),
+			"UML models.uml"));
+		Files.write(slots.toPath(), new byte[1024]);
+		generate("--store");
+		assertFalse(slots.exists());
+	}
+
+	@Test
+	public void deletesTheSlotFilesLeftBehindWhenResuming()
+			throws IOException {
+
+		File output = new File(folder.getRoot(), "UML models.uml");
+		File slots = StreamingXmiWriter.getSlotFile(output);
+		File earlier = folder.newFile("slots4711.bin");
+		File other = folder.newFile("slots.bin");
+		Files.write(slots.toPath(), new byte[1024]);
+		StreamingXmiWriter.deleteSlots(output);
+		assertFalse(slots.exists());
+		assertFalse(earlier.exists());
+		assertTrue(other.exists());
+	}
+
+	@Test(expected = IOException.class)
+	public void refusesToResumeWithOtherOptions()
+			throws Exception {
+
+		File dir = folder.getRoot();
+		GeneratorOptions started = GeneratorOptions.parse(new String[]{
+			"--store", "--checkpoint", "--assoc=lite"}, 0);
+		ElementTable table = new ElementTable(100);
+		for (int i = 0; i < 100; i++) {
+			table.add(ElementKind.values()[i % ElementKind.values().length]);
+		}
+		File storeFile = new File(dir, "UML models.edges");
+		EdgeStore store = EdgeStore.create(storeFile);
+		Checkpoint.write(new File(storeFile.getPath() + ".checkpoint"),
+			ModelCache.key(started, 100, true), table, store, new Random(1),
+			WorkloadProfile.DEFAULT.getEdges(100), 0);
+		store.close();
+
+		// the same elements and edges, but full association ends
+		GeneratorOptions resumed = GeneratorOptions.parse(new String[]{
+			"--store", "--resume", "--quiet"}, 0);
+		GettingStartedWithUML2.generateOffHeap(resumed,
+			WorkloadProfile.DEFAULT, dir, 100, new GenerationMetrics(false,
+				true));
+	}
+
+	@Test
+	public void writesTheSameModelOnSeveralThreads()
+			throws Exception {
+
+		// several chunks of elements and of relationships each
+		String sequential = generate(40000, "--store", "--seed=7",
+			"--writers=1");
+		String parallel = generate(40000, "--store", "--seed=7", "--writers=4");
+		assertTrue(sequential.contains("<deployment "));
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	public void savesTheSameIdsInMemoryUnderASeed()
+			throws Exception {
+
+		generate(40, "--seed=7");
+		File first = folder.newFile("first.uml");
+		Files.copy(new File(folder.getRoot(), "UML models.uml").toPath(),
+			first.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		String model = generate(40, "--seed=7");
+		assertTrue(model.contains("xmi:id=\"_r0\""));
+		assertFalse(model, Pattern.compile("xmi:id=\"_[A-Za-z0-9_-]{22}\"")
+			.matcher(model).find());
+
+		ModelDiff.Summary summary = new ModelDiff(ModelDiff.DEFAULT_SPILL,
+			folder.getRoot()).diff(first, new File(folder.getRoot(),
+			"UML models.uml"), new StringWriter());
+		assertTrue(summary.toString(), summary.isEmpty());
+	}
+
+	private Future<String> generateInMemory(ExecutorService executor,
+			final String name, final int seed) {
+
+		return executor.submit(new Callable<String>() {
+
+			public String call()
+					throws Exception {
+				File dir = folder.newFolder(name);
+				GeneratorOptions options = GeneratorOptions.parse(new String[]{
+					"--quiet", "--seed=" + seed}, 0);
+				new GettingStartedWithUML2(options, WorkloadProfile.DEFAULT,
+					dir, 300, new GenerationMetrics(false, true)).generate();
+				return new String(Files.readAllBytes(new File(dir,
+					"UML models.uml").toPath()), StandardCharsets.UTF_8);
+			}
+		});
+	}
+
+	@Test
+	public void generatesTheSameModelsConcurrentlyInMemory()
+			throws Exception {
+
+		ExecutorService sequential = Executors.newSingleThreadExecutor();
+		ExecutorService concurrent = Executors.newFixedThreadPool(2);
+		try {
+			String first = generateInMemory(sequential, "first", 1).get();
+			String second = generateInMemory(sequential, "second", 2).get();
+			assertFalse(first.equals(second));
+
+			// each thread has a cache adapter of its own
+			Future<CacheAdapter> other = concurrent.submit(new Callable<CacheAdapter>() {
+
+				public CacheAdapter call() {
+					return CacheAdapter.getInstance();
+				}
+			});
+			assertNotSame(CacheAdapter.getInstance(), other.get());
+
+			Future<String> firstAgain = generateInMemory(concurrent,
+				"firstAgain", 1);
+			Future<String> secondAgain = generateInMemory(concurrent,
+				"secondAgain", 2);
+			assertEquals(first, firstAgain.get());
+			assertEquals(second, secondAgain.get());
+		} finally {
+			sequential.shutdown();
+			concurrent.shutdown();
+		}
+	}
+
+	@Test
+	public void typesAttributesByTheSharedPrimitiveTypes()
+			throws Exception {
+
+		generate("--classes=20", "--attributes=4", "--enums=3");
+		Resource resource = load();
+		URI library = URI.createURI(UMLResource.UML_PRIMITIVE_TYPES_LIBRARY_URI);
+		Model model = (Model) resource.getContents().get(0);
+		assertEquals(library, model.getImportedPackages().get(0).eResource()
+			.getURI());
+
+		int primitives = 0;
+		int enumerations = 0;
+		Set<Type> types = new HashSet<Type>();
+		for (TreeIterator<EObject> i = resource.getAllContents(); i.hasNext();) {
+			EObject object = i.next();
+			if (!(object instanceof Property)
+				|| ((Property) object).getAssociation() != null) {
+				continue;
+			}
+			Type type = ((Property) object).getType();
+			if (type instanceof PrimitiveType) {
+				// the library's own type, not a copy in the model
+				assertEquals(library, type.eResource().getURI());
+				types.add(type);
+				primitives++;
+			} else {
+				assertTrue(type instanceof Enumeration);
+				assertSame(resource, type.eResource());
+				enumerations++;
+			}
+		}
+		assertEquals(20 * 4, primitives + enumerations);
+		assertEquals(20, enumerations);
+		assertTrue(types.size() > 1);
+	}
+
+	@Test
+	public void sharesThePrimitiveTypesBetweenGenerations() {
+		List<PrimitiveType> types = ClassDiagramGenerator.getPrimitiveTypes();
+		assertFalse(types.isEmpty());
+		assertSame(types, ClassDiagramGenerator.getPrimitiveTypes());
+	}
+}
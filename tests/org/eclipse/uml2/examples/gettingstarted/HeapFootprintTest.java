@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.UMLFactory;
+import org.eclipse.uml2.uml.UMLPackage;
+import org.junit.Test;
+
+public class HeapFootprintTest {
+
+	static class Fields {
+
+		static long ignored;
+
+		int i;
+
+		long l;
+
+		Object reference;
+	}
+
+	static class MoreFields
+			extends Fields {
+
+		byte b;
+
+		char c;
+	}
+
+	@Test
+	public void laysOutTheInstanceFields() {
+		HeapFootprint footprint = new HeapFootprint();
+		assertEquals(16, footprint.shallowSize(Object.class));
+		// 12 + 4 + 8 + 4 = 28, rounded up
+		assertEquals(32, footprint.shallowSize(Fields.class));
+		// 28 + 1 + 2 = 31, rounded up
+		assertEquals(32, footprint.shallowSize(MoreFields.class));
+	}
+
+	@Test
+	public void measuresEveryInstanceByClass() {
+		Model model = UMLFactory.eINSTANCE.createModel();
+		model.setName("model");
+		for (int i = 0; i < 3; i++) {
+			Class class_ = model.createOwnedClass("Class" + i, false);
+			class_.createOwnedAttribute("attribute", null);
+		}
+
+		List<HeapFootprint.Footprint> footprints = HeapFootprint.measure(model)
+			.getFootprints();
+		assertEquals(3, footprints.size());
+		long previous = Long.MAX_VALUE;
+		HeapFootprint.Footprint classes = null;
+		for (HeapFootprint.Footprint footprint : footprints) {
+			assertTrue(footprint.retainedBytes <= previous);
+			previous = footprint.retainedBytes;
+			assertTrue(footprint.shallowBytes > 0);
+			assertTrue(footprint.wastedBytes >= 0);
+			if (footprint.eClass == UMLPackage.Literals.CLASS) {
+				classes = footprint;
+			}
+		}
+		assertEquals(3, classes.count);
+		assertEquals(3 * new HeapFootprint().shallowSize(model
+			.getOwnedType("Class0").getClass()), classes.shallowBytes);
+		// their names and lists of attributes
+		assertTrue(classes.retainedBytes > classes.shallowBytes
+			+ 3 * NamingScheme.heapBytes("Class0"));
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.uml2.uml.UMLFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MemoryPlannerTest {
+
+	/**
+	 * How far the estimate may be above the measured heap; it may be below by
+	 * at most a tenth.
+	 */
+	private static final double FACTOR = 1.5;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static MemoryPlanner plan(int nodes, String... args) {
+		return new MemoryPlanner(GeneratorOptions.parse(args, 0),
+			WorkloadProfile.DEFAULT, nodes);
+	}
+
+	@Test
+	public void estimatesLargeGenerationsWithoutOverflow() {
+		MemoryPlanner planner = plan(1000000000, "--index");
+		assertTrue(planner.toString(),
+			planner.getInMemoryBytes() > 1000L * 1000000000);
+		assertTrue(planner.toString(),
+			planner.getOffHeapBytes() > 36L * 5000000000L);
+		assertTrue(planner.getInMemoryBytes() > planner.getOffHeapBytes());
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 4; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/*
+	 * the heap that an in-memory generation takes once its model is saved,
+	 * when it holds the most
+	 */
+	private long measure(int nodes, String... args)
+			throws Exception {
+
+		final long[] saved = new long[1];
+		// initialize the UML package outside of the measurement
+		UMLFactory.eINSTANCE.createModel();
+		long before = usedHeap();
+		new GettingStartedWithUML2(GeneratorOptions.parse(args, 0),
+			WorkloadProfile.DEFAULT, folder.getRoot(), nodes,
+			new GenerationMetrics(false, true)) {
+
+			@Override
+			protected void save(org.eclipse.uml2.uml.Package package_, URI uri) {
+				super.save(package_, uri);
+				saved[0] = usedHeap();
+			}
+		}.generate();
+		return saved[0] - before;
+	}
+
+	@Test
+	public void estimatesTheMeasuredHeapOfAGeneration()
+			throws Exception {
+
+		String[][] cases = {{"--quiet", "--seed=1", "--assoc=lite"},
+			{"--quiet", "--seed=1", "--assoc=bare", "--ports=2"}};
+		for (String[] args : cases) {
+			long measured = measure(5000, args);
+			long estimated = plan(5000, args).getInMemoryBytes();
+			String message = String.format("%s: estimated %d KB, measured %d KB",
+				args[2], estimated >> 10, measured >> 10);
+			assertTrue(message, estimated >= 0.9 * measured);
+			assertTrue(message, estimated <= FACTOR * measured);
+		}
+	}
+
+	@Test
+	public void growsWithTheNumberOfElements() {
+		long previous = 0;
+		for (long nodes = 1000; nodes <= 1000000000; nodes *= 10) {
+			long bytes = plan((int) nodes).getInMemoryBytes();
+			assertTrue(nodes + " elements", bytes > previous);
+			previous = bytes;
+		}
+	}
+
+	@Test
+	public void countsTheRelationshipGraphOnlyIfItIsBuilt() {
+		MemoryPlanner plain = plan(100000);
+		MemoryPlanner indexed = plan(100000, "--index");
+		assertEquals(100000L * 32, plain.getOffHeapBytes());
+		assertTrue(indexed.getOffHeapBytes() > plain.getOffHeapBytes());
+		assertEquals(
+			indexed.getOffHeapBytes() - plain.getOffHeapBytes(),
+			indexed.getInMemoryBytes() - plain.getInMemoryBytes());
+	}
+
+	@Test
+	public void countsTheNamespacesInMemory() {
+		MemoryPlanner flat = plan(100000);
+		MemoryPlanner nested = plan(100000, "--depth=4", "--fanout=10");
+		assertTrue(nested.getInMemoryBytes() > flat.getInMemoryBytes()
+			+ 11110L * 64);
+		assertEquals(flat.getOffHeapBytes(), nested.getOffHeapBytes());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesMoreNamespacesThanElements() {
+		plan(100, "--depth=8", "--fanout=10");
+	}
+
+	@Test
+	public void namesTheOptionsThatCannotBeStreamed() {
+		assertNull(plan(1000).getInMemoryOnlyOption());
+		assertNull(plan(1000, "--index", "--mix=component:1")
+			.getInMemoryOnlyOption());
+		assertEquals("ports", plan(1000, "--ports=2").getInMemoryOnlyOption());
+		assertEquals("deploy", plan(1000, "--deploy").getInMemoryOnlyOption());
+	}
+
+	@Test
+	public void parsesTheModes() {
+		assertEquals(MemoryPlanner.Mode.CHECK, MemoryPlanner.Mode.parse("Check"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesUnknownModes() {
+		MemoryPlanner.Mode.parse("always");
+	}
+}
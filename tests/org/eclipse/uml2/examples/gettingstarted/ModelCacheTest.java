@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ModelCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File model(String name, int size)
+			throws IOException {
+
+		File file = folder.newFile(name);
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(new byte[size]);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	@Test
+	public void evictsTheLeastRecentlyUsedModels()
+			throws IOException {
+
+		File dir = folder.newFolder("cache");
+		ModelCache cache = new ModelCache(dir, 250);
+		long now = System.currentTimeMillis();
+
+		cache.store("first", model("first.uml", 100));
+		cache.store("second", model("second.uml", 100));
+		new File(dir, "first.uml").setLastModified(now - 30000);
+		new File(dir, "second.uml").setLastModified(now - 20000);
+
+		// a hit makes the first the most recently used
+		File fetched = new File(folder.getRoot(), "fetched.uml");
+		assertTrue(cache.fetch("first", fetched));
+		assertEquals(100, fetched.length());
+
+		cache.store("third", model("third.uml", 100));
+
+		assertTrue(new File(dir, "first.uml").isFile());
+		assertFalse(new File(dir, "second.uml").exists());
+		assertTrue(new File(dir, "third.uml").isFile());
+		assertFalse(cache.fetch("second", new File(folder.getRoot(),
+			"missed.uml")));
+	}
+
+	@Test
+	public void storesModelsThatCannotBeWrittenThroughALink()
+			throws IOException {
+
+		File dir = folder.newFolder("cache");
+		ModelCache cache = new ModelCache(dir, 1000);
+		cache.store("first", model("first.uml", 100));
+		File entry = new File(dir, "first.uml");
+		Assume.assumeTrue(Files.getFileStore(entry.toPath())
+			.supportsFileAttributeView("posix"));
+		assertFalse(Files.getPosixFilePermissions(entry.toPath())
+			.contains(PosixFilePermission.OWNER_WRITE));
+
+		// fetching again and deleting the output leave the model in place
+		File fetched = new File(folder.getRoot(), "fetched.uml");
+		assertTrue(cache.fetch("first", fetched));
+		assertTrue(cache.fetch("first", fetched));
+		assertTrue(ModelCache.delete(fetched));
+		assertEquals(100, entry.length());
+
+		new ModelCache(dir, 0).evict();
+		assertFalse(entry.exists());
+	}
+
+	@Test
+	public void evictsNothingWithinTheLimit()
+			throws IOException {
+
+		File dir = folder.newFolder("cache");
+		ModelCache cache = new ModelCache(dir, 300);
+		for (String key : new String[]{"first", "second", "third"}) {
+			cache.store(key, model(key + ".uml", 100));
+		}
+		assertEquals(3, dir.list().length);
+
+		new ModelCache(dir, 0).evict();
+		assertEquals(0, dir.list().length);
+	}
+
+	@Test
+	public void keysOnlyTheOptionsThatChangeTheModel()
+			throws IOException {
+
+		String key = ModelCache.key(GeneratorOptions.parse(new String[]{
+			"--seed=1", "--assoc=lite"}, 0), 1000, false);
+
+		assertEquals(key, ModelCache.key(GeneratorOptions.parse(new String[]{
+			"--assoc=lite", "--seed=1", "--quiet", "--validate"}, 0), 1000,
+			false));
+		assertFalse(key.equals(ModelCache.key(GeneratorOptions.parse(
+			new String[]{"--seed=2", "--assoc=lite"}, 0), 1000, false)));
+		assertFalse(key.equals(ModelCache.key(GeneratorOptions.parse(
+			new String[]{"--seed=1", "--assoc=lite"}, 0), 1001, false)));
+		assertFalse(key.equals(ModelCache.key(GeneratorOptions.parse(
+			new String[]{"--seed=1", "--assoc=lite"}, 0), 1000, true)));
+	}
+
+	@Test
+	public void namesTheOptionsThatAHitSkips() {
+		assertEquals(Arrays.asList("analyze", "validate"),
+			ModelCache.getSkipped(GeneratorOptions.parse(new String[]{
+				"--validate", "--seed=1", "--analyze"}, 0)));
+		assertEquals(Collections.emptyList(),
+			ModelCache.getSkipped(GeneratorOptions.parse(new String[]{
+				"--seed=1"}, 0)));
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ModelDiffTest {
+
+	private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+		+ "<uml:Model xmi:version=\"20131001\""
+		+ " xmlns:xmi=\"http://www.omg.org/spec/XMI/20131001\""
+		+ " xmlns:uml=\"http://www.eclipse.org/uml2/5.0.0/UML\""
+		+ " xmi:id=\"_m\" name=\"m\">\n";
+
+	private static final String FOOTER = "</uml:Model>\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File write(String name, String contents)
+			throws IOException {
+
+		File file = folder.newFile(name);
+		Writer out = new OutputStreamWriter(new FileOutputStream(file),
+			"UTF-8");
+		try {
+			out.write(HEADER);
+			out.write(contents);
+			out.write(FOOTER);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	@Test
+	public void findsAddedRemovedAndChangedElementsAndRelationships()
+			throws IOException {
+
+		File oldFile = write("old.uml",
+			"<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_a\" name=\"a\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_b\" name=\"b\">\n"
+				+ "<ownedComment xmi:id=\"_k\"><body>exposure</body></ownedComment>\n"
+				+ "</packagedElement>\n"
+				+ "<packagedElement xmi:type=\"uml:Interface\" xmi:id=\"_c\" name=\"c\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_d1\" client=\"_a\" supplier=\"_b\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_d2\" client=\"_a\" supplier=\"_c\"/>\n");
+		File newFile = write("new.uml",
+			"<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_a\" name=\"renamed\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_b\" name=\"b\">\n"
+				+ "<ownedComment xmi:id=\"_k\"><body>exposure</body></ownedComment>\n"
+				+ "</packagedElement>\n"
+				+ "<packagedElement xmi:type=\"uml:Node\" xmi:id=\"_e\" name=\"e\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_d1\" client=\"_a\" supplier=\"_e\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_d3\" client=\"_b\" supplier=\"_e\"/>\n");
+
+		// a run of one record, so that every record is spilled and merged
+		StringWriter out = new StringWriter();
+		ModelDiff.Summary summary = new ModelDiff(1, folder.getRoot()).diff(
+			oldFile, newFile, out);
+
+		assertEquals(1, summary.addedElements);
+		assertEquals(1, summary.removedElements);
+		assertEquals(1, summary.changedElements);
+		assertEquals(1, summary.addedRelationships);
+		assertEquals(1, summary.removedRelationships);
+		assertEquals(1, summary.changedRelationships);
+
+		String diff = out.toString();
+		assertTrue(diff, diff.contains("+E _e "));
+		assertTrue(diff, diff.contains("-E _c "));
+		assertTrue(diff, diff.contains("+R _d3 "));
+		assertTrue(diff, diff.contains("-R _d2 "));
+		assertEquals(diff, 8, diff.split("\n").length);
+	}
+
+	@Test
+	public void findsNoDifferencesBetweenEqualFiles()
+			throws IOException {
+
+		String contents = "<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_a\" name=\"a\"/>\n"
+			+ "<packagedElement xmi:type=\"uml:Association\" xmi:id=\"_s\" memberEnd=\"_a _a\"/>\n";
+		StringWriter out = new StringWriter();
+		ModelDiff.Summary summary = new ModelDiff(ModelDiff.DEFAULT_SPILL,
+			folder.getRoot()).diff(write("old.uml", contents),
+			write("new.uml", contents), out);
+
+		assertTrue(summary.toString(), summary.isEmpty());
+		assertEquals("", out.toString());
+	}
+
+	@Test
+	public void comparesTheBodiesOfComments()
+			throws IOException {
+
+		String element = "<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_a\" name=\"a\">\n"
+			+ "<ownedComment xmi:id=\"_k\"><body>%s</body></ownedComment>\n"
+			+ "</packagedElement>\n";
+		ModelDiff.Summary summary = new ModelDiff(ModelDiff.DEFAULT_SPILL,
+			folder.getRoot()).diff(
+			write("old.uml", String.format(element, "exposure")),
+			write("new.uml", String.format(element, "asset")),
+			new StringWriter());
+
+		assertEquals(1, summary.changedElements);
+		assertEquals(0, summary.addedElements + summary.removedElements);
+	}
+
+	@Test
+	public void spillsRecordsOfMoreThan64KB()
+			throws IOException {
+
+		StringBuilder artifacts = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			artifacts.append(" _e").append(i);
+		}
+		String contents = "<packagedElement xmi:type=\"uml:Node\" xmi:id=\"_n\" name=\"n\">\n"
+			+ "<deployment xmi:id=\"_r0\" client=\"_n\" deployedArtifact=\""
+			+ artifacts.substring(1) + "\"/>\n"
+			+ "</packagedElement>\n";
+		ModelDiff.Summary summary = new ModelDiff(1, folder.getRoot()).diff(
+			write("old.uml", contents), write("new.uml", contents),
+			new StringWriter());
+
+		assertTrue(summary.toString(), summary.isEmpty());
+	}
+
+	@Test(expected = IOException.class)
+	public void refusesModelsWithUUIDs()
+			throws IOException {
+
+		File file = write("old.uml",
+			"<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_x3Jb8KYhEeSbx5mJp2bDvw\" name=\"a\"/>\n");
+		new ModelDiff(ModelDiff.DEFAULT_SPILL, folder.getRoot()).diff(file,
+			file, new StringWriter());
+	}
+}
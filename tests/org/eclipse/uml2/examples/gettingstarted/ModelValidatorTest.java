@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.ecore.util.Diagnostician;
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.UMLFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ModelValidatorTest {
+
+	private static final int CLASSES = 200;
+
+	private Model model;
+
+	@Before
+	public void createModel() {
+		model = UMLFactory.eINSTANCE.createModel();
+		model.setName("model");
+		for (int i = 0; i < CLASSES; i++) {
+			Class class_ = model.createOwnedClass("Class" + i, false);
+			Property attribute = class_.createOwnedAttribute("attribute", null);
+			if (i % 10 == 0) {
+				// an upper bound below the lower one
+				attribute.setLower(2);
+				attribute.setUpper(1);
+			}
+		}
+	}
+
+	private static List<String> messages(Diagnostic diagnostic) {
+		List<String> result = new ArrayList<String>();
+		for (Diagnostic child : diagnostic.getChildren()) {
+			result.add(child.getSeverity() + " " + child.getMessage());
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	@Test
+	public void findsTheProblemsOfTheDiagnostician()
+			throws InterruptedException {
+
+		List<String> expected = messages(Diagnostician.INSTANCE.validate(model));
+		assertTrue(expected.size() >= CLASSES / 10);
+		Diagnostic sequential = new ModelValidator(1).validate(model);
+		Diagnostic parallel = new ModelValidator(4).validate(model);
+		assertEquals(Diagnostic.WARNING, sequential.getSeverity());
+		assertEquals(expected, messages(sequential));
+		assertEquals(expected, messages(parallel));
+	}
+
+	@Test
+	public void timesEveryConstraintItEvaluates()
+			throws InterruptedException {
+
+		ModelValidator validator = new ModelValidator(4);
+		validator.validate(model);
+
+		ModelValidator.ConstraintTiming upper = null;
+		long previous = Long.MAX_VALUE;
+		for (ModelValidator.ConstraintTiming timing : validator.getTimings()) {
+			assertTrue(timing.calls > 0);
+			assertTrue(timing.nanos <= previous);
+			previous = timing.nanos;
+			if (timing.name.equals("MultiplicityElement_validateUpperGeLower")) {
+				upper = timing;
+			}
+		}
+		// every class has one attribute, every tenth of them invalid
+		assertEquals(CLASSES, upper.calls);
+		assertEquals(CLASSES / 10, upper.failures);
+	}
+
+	@Test
+	public void acceptsAValidModel()
+			throws InterruptedException {
+
+		Model valid = UMLFactory.eINSTANCE.createModel();
+		valid.setName("valid");
+		valid.createOwnedClass("Class", false).createOwnedAttribute(
+			"attribute", null);
+		assertEquals(Diagnostic.OK,
+			new ModelValidator(2).validate(valid).getSeverity());
+	}
+}
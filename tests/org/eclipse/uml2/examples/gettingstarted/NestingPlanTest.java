@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class NestingPlanTest {
+
+	@Test
+	public void hasFanoutToTheDepthLeaves() {
+		assertEquals(1, new NestingPlan(0, 10, 1).getLeafCount());
+		assertEquals(1000, new NestingPlan(3, 10, 1000).getLeafCount());
+		assertEquals(1 << 16, new NestingPlan(NestingPlan.MAX_DEPTH, 2, 1 << 16)
+			.getLeafCount());
+	}
+
+	@Test
+	public void countsTheNamespacesBelowTheRoot() {
+		assertEquals(0, new NestingPlan(0, 10, 1).getNamespaceCount());
+		assertEquals(1110, new NestingPlan(3, 10, 1000).getNamespaceCount());
+	}
+
+	@Test
+	public void spreadsTheElementsEvenlyOverTheLeaves() {
+		NestingPlan plan = new NestingPlan(2, 3, 100);
+		int total = 100;
+		int leaf = 0;
+		for (int index = 0; index < total; index++) {
+			int next = plan.leafOf(index, total);
+			assertTrue(next == leaf || next == leaf + 1);
+			if (next != leaf) {
+				assertEquals(index, plan.firstOf(next, total));
+				leaf = next;
+			}
+		}
+		assertEquals(plan.getLeafCount() - 1, leaf);
+		assertEquals(0, plan.firstOf(0, total));
+		assertEquals(total, plan.firstOf(plan.getLeafCount(), total));
+	}
+
+	@Test
+	public void leavesSomeLeavesEmptyWhenThereAreFewerElements() {
+		NestingPlan plan = new NestingPlan(2, 10, 100);
+		int total = 7;
+		for (int leaf = 0; leaf < plan.getLeafCount(); leaf++) {
+			int first = plan.firstOf(leaf, total);
+			for (int index = first; index < plan.firstOf(leaf + 1, total); index++) {
+				assertEquals(leaf, plan.leafOf(index, total));
+			}
+		}
+	}
+
+	@Test
+	public void doesNotOverflowForLargeModels() {
+		NestingPlan plan = new NestingPlan(4, 100, Integer.MAX_VALUE);
+		int total = Integer.MAX_VALUE;
+		assertEquals(plan.getLeafCount() - 1, plan.leafOf(total - 1, total));
+		assertEquals(total, plan.firstOf(plan.getLeafCount(), total));
+	}
+
+	@Test
+	public void alternatesModelsAndPackages() {
+		NestingPlan plan = new NestingPlan(4, 2, 16);
+		assertTrue(plan.isModel(1));
+		assertFalse(plan.isModel(2));
+		assertTrue(plan.isModel(3));
+		assertEquals("namespace_2", plan.getName(null, 2));
+		assertEquals("namespace_2_0", plan.getName("namespace_2", 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesTooDeepTrees() {
+		new NestingPlan(NestingPlan.MAX_DEPTH + 1, 2, Integer.MAX_VALUE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesTooManyLeaves() {
+		new NestingPlan(8, 1000, Integer.MAX_VALUE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesMoreLeavesThanElements() {
+		new NestingPlan(8, 10, 100);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesNoFanout() {
+		new NestingPlan(2, 0, 100);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.eclipse.uml2.uml.UMLFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RelationshipIndexTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private EdgeStore store;
+
+	private RelationshipIndex index;
+
+	@Before
+	public void createIndex()
+			throws IOException {
+
+		ElementTable table = new ElementTable(8);
+		for (int i = 0; i < 5; i++) {
+			table.add(ElementKind.COMPONENT);
+		}
+		store = EdgeStore.create(folder.newFile("edges.bin"));
+		store.append(0, 1, ModelGraph.DEPENDENCY); // 0
+		store.append(0, 2, ModelGraph.DEPENDENCY); // 1
+		store.append(3, 1, ModelGraph.DEPENDENCY); // 2
+		store.append(0, 1, ModelGraph.ASSOCIATION); // 3
+		store.append(4, 1, ModelGraph.DEPENDENCY); // 4
+		store.append(2, 0, ModelGraph.GENERALIZATION); // 5
+		store.flush();
+		index = RelationshipIndex.build(ModelGraph.build(table, store));
+	}
+
+	@After
+	public void closeStore()
+			throws IOException {
+		store.close();
+	}
+
+	@Test
+	public void countsTheRelationshipsOfEachKind() {
+		assertEquals(5, index.size());
+		assertEquals(2, index.getOutDegree(0, ModelGraph.DEPENDENCY));
+		assertEquals(1, index.getOutDegree(0, ModelGraph.ASSOCIATION));
+		assertEquals(0, index.getOutDegree(0, ModelGraph.GENERALIZATION));
+		assertEquals(3, index.getInDegree(1, ModelGraph.DEPENDENCY));
+		assertEquals(1, index.getInDegree(1, ModelGraph.ASSOCIATION));
+		assertEquals(0, index.getOutDegree(1, ModelGraph.DEPENDENCY));
+		assertEquals(1, index.getInDegree(0, ModelGraph.GENERALIZATION));
+	}
+
+	@Test
+	public void listsTheRelatedElementsInOrder() {
+		assertArrayEquals(new int[]{1, 2},
+			index.getTargets(0, ModelGraph.DEPENDENCY));
+		assertArrayEquals(new int[]{0, 1},
+			index.getOutgoing(0, ModelGraph.DEPENDENCY));
+		assertArrayEquals(new int[]{0, 3, 4},
+			index.getSources(1, ModelGraph.DEPENDENCY));
+		assertArrayEquals(new int[]{0, 2, 4},
+			index.getIncoming(1, ModelGraph.DEPENDENCY));
+		assertArrayEquals(new int[]{3},
+			index.getIncoming(1, ModelGraph.ASSOCIATION));
+		assertArrayEquals(new int[0],
+			index.getSources(4, ModelGraph.DEPENDENCY));
+	}
+
+	@Test
+	public void findsTheElementWithTheMostRelationshipsToIt() {
+		assertEquals(1, index.getMostIncoming(ModelGraph.DEPENDENCY));
+		assertEquals(0, index.getMostIncoming(ModelGraph.GENERALIZATION));
+		assertEquals(-1, index.getMostIncoming(ModelGraph.DEPLOYMENT));
+	}
+
+	@Test
+	public void answersNothingForElementsNotInTheGraph() {
+		assertArrayEquals(new int[0], index.getTargets(
+			UMLFactory.eINSTANCE.createComponent(), ModelGraph.DEPENDENCY));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesElementsOutOfRange() {
+		index.getInDegree(5, ModelGraph.DEPENDENCY);
+	}
+}
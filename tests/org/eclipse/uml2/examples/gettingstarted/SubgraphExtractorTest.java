@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SubgraphExtractorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** s depends on a and b, a on b and b on c. */
+	private File file;
+
+	@Before
+	public void writeModel()
+			throws IOException {
+
+		file = folder.newFile("model.uml");
+		Writer out = new OutputStreamWriter(new FileOutputStream(file),
+			"UTF-8");
+		try {
+			out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<uml:Model xmi:version=\"20131001\""
+				+ " xmlns:xmi=\"http://www.omg.org/spec/XMI/20131001\""
+				+ " xmlns:uml=\"http://www.eclipse.org/uml2/5.0.0/UML\""
+				+ " xmi:id=\"_m\" name=\"m\">\n"
+				+ "<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_s\" name=\"s\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_a\" name=\"a\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_b\" name=\"b\">\n"
+				+ "<ownedComment xmi:id=\"_k\" annotatedElement=\"_b\"><body>asset</body></ownedComment>\n"
+				+ "</packagedElement>\n"
+				+ "<packagedElement xmi:type=\"uml:Component\" xmi:id=\"_c\" name=\"c\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_d1\" client=\"_s\" supplier=\"_a\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_d2\" client=\"_s\" supplier=\"_b\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_d3\" client=\"_a\" supplier=\"_b\"/>\n"
+				+ "<packagedElement xmi:type=\"uml:Dependency\" xmi:id=\"_d4\" client=\"_b\" supplier=\"_c\"/>\n"
+				+ "</uml:Model>\n");
+		} finally {
+			out.close();
+		}
+	}
+
+	@Test
+	public void keepsRelationshipsBetweenElementsOfTheLastHop()
+			throws IOException {
+
+		StringWriter out = new StringWriter();
+		SubgraphExtractor.Summary summary = new SubgraphExtractor(folder.getRoot()).extract(
+			file, "_s", 1, out);
+
+		String extract = out.toString();
+		assertTrue(extract, extract.contains("xmi:id=\"_d3\""));
+		assertTrue(extract, extract.contains("xmi:id=\"_k\""));
+		assertFalse(extract, extract.contains("xmi:id=\"_c\""));
+		assertFalse(extract, extract.contains("xmi:id=\"_d4\""));
+
+		assertEquals(3, summary.keptRelationships);
+		assertEquals(4, summary.relationships);
+	}
+
+	@Test
+	public void keepsOnlyTheSeedWithinNoHops()
+			throws IOException {
+
+		StringWriter out = new StringWriter();
+		SubgraphExtractor.Summary summary = new SubgraphExtractor(folder.getRoot()).extract(
+			file, "_s", 0, out);
+
+		String extract = out.toString();
+		assertTrue(extract, extract.contains("xmi:id=\"_s\""));
+		assertFalse(extract, extract.contains("xmi:id=\"_a\""));
+		assertEquals(0, summary.keptRelationships);
+	}
+
+	@Test
+	public void startsFromTheUnitThatContainsTheSeed()
+			throws IOException {
+
+		StringWriter out = new StringWriter();
+		new SubgraphExtractor(folder.getRoot()).extract(file, "_k", 1, out);
+
+		String extract = out.toString();
+		assertTrue(extract, extract.contains("xmi:id=\"_b\""));
+		assertTrue(extract, extract.contains("xmi:id=\"_c\""));
+		assertTrue(extract, extract.contains("xmi:id=\"_d4\""));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesAnUnknownSeed()
+			throws IOException {
+		new SubgraphExtractor(folder.getRoot()).extract(file, "_x", 1, new StringWriter());
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Dependency;
+import org.eclipse.uml2.uml.Element;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Node;
+import org.eclipse.uml2.uml.Relationship;
+import org.eclipse.uml2.uml.UMLFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TemplateAmplifierTest {
+
+	private org.eclipse.uml2.uml.Package template;
+
+	private Model root;
+
+	@Before
+	public void createTemplate() {
+		template = UMLFactory.eINSTANCE.createPackage();
+		template.setName("template");
+		Class general = template.createOwnedClass("General", false);
+		Class specific = template.createOwnedClass("Specific", false);
+		specific.createGeneralization(general);
+		template.createOwnedInterface("Interface");
+		template.getPackagedElements().add(UMLFactory.eINSTANCE.createNode());
+		root = UMLFactory.eINSTANCE.createModel();
+		root.setName("root");
+	}
+
+	private List<TemplateAmplifier.Copy> amplify(int count, int threads)
+			throws InterruptedException {
+
+		return new TemplateAmplifier(template, threads).amplify(root, count,
+			new GenerationMetrics(false, true));
+	}
+
+	@Test
+	public void addsTheCopiesInOrder()
+			throws InterruptedException {
+
+		List<TemplateAmplifier.Copy> copies = amplify(25, 4);
+		assertEquals(25, copies.size());
+		assertEquals(25, root.getPackagedElements().size());
+		for (int i = 0; i < copies.size(); i++) {
+			TemplateAmplifier.Copy copy = copies.get(i);
+			assertSame(copy.root, root.getPackagedElements().get(i));
+			assertEquals("template_" + i, copy.root.getName());
+			assertEquals(4, copy.dependables.size());
+			assertEquals(4, copy.classifiers.size());
+			assertEquals(1, copy.nodes.size());
+		}
+		// the template itself is left as it was
+		assertEquals(4, template.getPackagedElements().size());
+	}
+
+	@Test
+	public void refersWithinEachCopy()
+			throws InterruptedException {
+
+		for (TemplateAmplifier.Copy copy : amplify(8, 3)) {
+			Class specific = (Class) copy.root.getOwnedType("Specific");
+			Class general = (Class) copy.root.getOwnedType("General");
+			assertNotSame(template.getOwnedType("General"), general);
+			assertEquals(1, specific.getGenerals().size());
+			assertSame(general, specific.getGenerals().get(0));
+		}
+	}
+
+	@Test
+	public void linksTheCopies()
+			throws Exception {
+
+		List<TemplateAmplifier.Copy> copies = amplify(10, 2);
+		Set<EObject> copied = new HashSet<EObject>();
+		for (Iterator<EObject> i = root.eAllContents(); i.hasNext();) {
+			copied.add(i.next());
+		}
+		int before = relationships();
+
+		assertEquals(100, TemplateAmplifier.link(new GettingStartedWithUML2(),
+			copies, 100, new byte[]{ModelGraph.COMMUNICATION_PATH,
+				ModelGraph.DEPENDENCY}, new GenerationMetrics(false, true)));
+		assertEquals(before + 100, relationships());
+		for (Iterator<EObject> i = root.eAllContents(); i.hasNext();) {
+			EObject next = i.next();
+			if (next instanceof Relationship && !copied.contains(next)) {
+				for (Element related : ((Relationship) next).getRelatedElements()) {
+					assertTrue(copied.contains(related));
+					assertTrue(related instanceof Node || next instanceof Dependency);
+				}
+			}
+		}
+	}
+
+	private int relationships() {
+		int count = 0;
+		for (Iterator<EObject> i = root.eAllContents(); i.hasNext();) {
+			if (i.next() instanceof Relationship) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void loadsATemplateOfAnEarlierVersionOfUml()
+			throws IOException {
+
+		org.eclipse.uml2.uml.Package loaded = TemplateAmplifier.load(new File(
+			"models/ExtendedPO2.uml"));
+		assertNotNull(loaded);
+		assertEquals("epo2", loaded.getName());
+		assertTrue(EcoreUtil.UnresolvedProxyCrossReferencer.find(
+			loaded.eResource().getResourceSet()).isEmpty());
+	}
+}
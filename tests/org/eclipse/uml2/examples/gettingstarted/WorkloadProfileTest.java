@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *   UML2 generator contributors - initial API and implementation
+ *
+ */
+package org.eclipse.uml2.examples.gettingstarted;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WorkloadProfileTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private WorkloadProfile load(String properties)
+			throws IOException {
+
+		File file = folder.newFile();
+		Writer out = new OutputStreamWriter(new FileOutputStream(file),
+			"ISO-8859-1");
+		try {
+			out.write(properties);
+		} finally {
+			out.close();
+		}
+		return WorkloadProfile.load(file);
+	}
+
+	@Test
+	public void defaultsToTheOriginalBehaviour() {
+		WorkloadProfile profile = WorkloadProfile.DEFAULT;
+		assertEquals(-1, profile.getNodes());
+		assertEquals(4, profile.getEdgeFactor());
+		assertNull(profile.getEdgeCycle());
+		assertEquals(125, profile.getCommentRounds(1000));
+		assertTrue(profile.isExposure(0.49));
+		assertFalse(profile.isExposure(0.5));
+		for (int i = 0; i < 7; i++) {
+			assertEquals(i, profile.getCommentKind((i + 0.5) / 7));
+		}
+	}
+
+	@Test
+	public void loadsTheKnobs()
+			throws IOException {
+
+		WorkloadProfile profile = load("nodes=1000000\n" + "edgeFactor=8\n"
+			+ "comments=0.5\n" + "exposure=0.25\n"
+			+ "commentKinds=component:3,node:1\n");
+
+		assertEquals(1000000, profile.getNodes());
+		assertEquals(8, profile.getEdgeFactor());
+		assertEquals(500, profile.getCommentRounds(1000));
+		assertTrue(profile.isExposure(0.24));
+		assertFalse(profile.isExposure(0.25));
+		assertEquals(ElementKind.COMPONENT.ordinal(),
+			profile.getCommentKind(0));
+		assertEquals(ElementKind.COMPONENT.ordinal(),
+			profile.getCommentKind(0.74));
+		assertEquals(ElementKind.NODE.ordinal(), profile.getCommentKind(0.99));
+	}
+
+	@Test
+	public void cyclesThroughTheRelationshipsInProportionToTheirWeights()
+			throws IOException {
+
+		byte[] cycle = load(
+			"edges=dependency:4,generalization:1,association:2\n")
+			.getEdgeCycle();
+
+		int[] counts = new int[ModelGraph.KIND_NAMES.length];
+		for (byte kind : cycle) {
+			counts[kind]++;
+		}
+		assertEquals(cycle.length * 4 / 7.0, counts[ModelGraph.DEPENDENCY], 1);
+		assertEquals(cycle.length / 7.0, counts[ModelGraph.GENERALIZATION], 1);
+		assertEquals(cycle.length * 2 / 7.0, counts[ModelGraph.ASSOCIATION], 1);
+		assertEquals(0, counts[ModelGraph.COMMUNICATION_PATH]);
+		assertEquals(0, counts[ModelGraph.DEPLOYMENT]);
+
+		// interleaved rather than in runs of a kind
+		for (int i = 1; i < cycle.length; i++) {
+			assertFalse(cycle[i] == ModelGraph.GENERALIZATION
+				&& cycle[i - 1] == ModelGraph.GENERALIZATION);
+		}
+	}
+
+	@Test
+	public void leavesTheCommandLineOptionsFirst()
+			throws IOException {
+
+		WorkloadProfile profile = load("assoc=lite\n" + "naming=short\n");
+		GeneratorOptions options = GeneratorOptions.parse(new String[]{
+			"--naming=none"}, 0);
+		profile.applyTo(options);
+
+		assertEquals("lite", options.get("assoc", null));
+		assertEquals("none", options.get("naming", null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesAnExposureAboveOne()
+			throws IOException {
+		load("exposure=1.5\n");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesANegativeNodeCount()
+			throws IOException {
+		load("nodes=-1\n");
+	}
+
+	@Test
+	public void countsTheEdgesOfLargeEdgeFactors()
+			throws IOException {
+		assertEquals(1000000000, load("edgeFactor=1000\n").getEdges(1000000));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesMoreEdgesThanTheGeneratorsCount()
+			throws IOException {
+		load("edgeFactor=1000\n").getEdges(2000000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void refusesUnknownRelationships()
+			throws IOException {
+		load("edges=dependency:1,aggregation:1\n");
+	}
+}